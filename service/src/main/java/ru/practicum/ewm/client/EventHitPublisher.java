@@ -0,0 +1,21 @@
+package ru.practicum.ewm.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Service
+public class EventHitPublisher extends HitPublisher {
+    public EventHitPublisher(EventStatsClient eventStatsClient,
+                             @Value("${stats-server.publisher.capacity:10000}") int capacity,
+                             @Value("${stats-server.publisher.batch-size:100}") int batchSize,
+                             @Value("${stats-server.publisher.flush-interval:PT1S}") Duration flushInterval,
+                             @Value("${stats-server.publisher.overflow:DROP}") OverflowPolicy overflowPolicy,
+                             Optional<HitSpill> spill, MeterRegistry meterRegistry) {
+        super(eventStatsClient, capacity, batchSize, flushInterval, overflowPolicy, spill.orElse(null));
+        bindTo(meterRegistry);
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.ewm.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+
+@Service
+@ConditionalOnProperty(value = "stats-server.spool.enabled")
+public class EventHitSpool extends HitSpool {
+    public EventHitSpool(@Value("${stats-server.spool.dir}") Path directory,
+                         @Value("${stats-server.spool.segment-size:16777216}") int segmentSize,
+                         ObjectMapper mapper) {
+        super(directory, segmentSize, mapper);
+    }
+}
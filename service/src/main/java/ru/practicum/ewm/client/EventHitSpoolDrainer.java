@@ -0,0 +1,20 @@
+package ru.practicum.ewm.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Service
+@ConditionalOnProperty(value = "stats-server.spool.enabled")
+public class EventHitSpoolDrainer extends HitSpoolDrainer {
+    public EventHitSpoolDrainer(EventHitSpool eventHitSpool, EventStatsClient eventStatsClient,
+                                @Value("${stats-server.spool.batch-size:500}") int batchSize,
+                                @Value("${stats-server.spool.drain-interval:PT5S}") Duration interval,
+                                MeterRegistry meterRegistry) {
+        super(eventHitSpool, eventStatsClient, batchSize, interval);
+        bindTo(meterRegistry);
+    }
+}
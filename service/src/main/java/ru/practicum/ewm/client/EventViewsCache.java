@@ -0,0 +1,133 @@
+package ru.practicum.ewm.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+@Service
+@ConditionalOnProperty(value = "ewm.views.push.enabled", havingValue = "false", matchIfMissing = true)
+public class EventViewsCache implements EventViewsSource {
+    private final EventStatsClient eventStatsClient;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongSupplier nanoTime;
+    private final LinkedHashMap<Long, CachedViews> views = new LinkedHashMap<>(16, 0.75F, true);
+    private final ConcurrentHashMap<Long, CompletableFuture<Long>> loading = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Autowired
+    public EventViewsCache(EventStatsClient eventStatsClient,
+                           @Value("${ewm.views.cache.ttl:PT30S}") Duration ttl,
+                           @Value("${ewm.views.cache.max-size:10000}") int maxSize,
+                           MeterRegistry meterRegistry) {
+        this(eventStatsClient, ttl, maxSize, meterRegistry, System::nanoTime);
+    }
+
+    EventViewsCache(EventStatsClient eventStatsClient, Duration ttl, int maxSize, MeterRegistry meterRegistry,
+                    LongSupplier nanoTime) {
+        this.eventStatsClient = eventStatsClient;
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.nanoTime = nanoTime;
+        this.hits = meterRegistry.counter("ewm.views.cache.hits");
+        this.misses = meterRegistry.counter("ewm.views.cache.misses");
+        this.evictions = meterRegistry.counter("ewm.views.cache.evictions");
+        Gauge.builder("ewm.views.cache.size", this, EventViewsCache::size).register(meterRegistry);
+    }
+
+    @Override
+    public Map<Long, Long> getViewsByIds(List<Long> ids) {
+        Map<Long, Long> result = new HashMap<>();
+        Map<Long, CompletableFuture<Long>> waiting = new HashMap<>();
+        Map<Long, CompletableFuture<Long>> owned = new HashMap<>();
+        long now = nanoTime.getAsLong();
+        synchronized (views) {
+            for (Long id : new LinkedHashSet<>(ids)) {
+                CachedViews cached = views.get(id);
+                if (cached != null && cached.getExpiresAt() - now > 0) {
+                    result.put(id, cached.getViews());
+                } else {
+                    if (cached != null) {
+                        views.remove(id);
+                        evictions.increment();
+                    }
+                    CompletableFuture<Long> future = new CompletableFuture<>();
+                    CompletableFuture<Long> existing = loading.putIfAbsent(id, future);
+                    if (existing == null) {
+                        owned.put(id, future);
+                    } else {
+                        waiting.put(id, existing);
+                    }
+                }
+            }
+        }
+        hits.increment(result.size());
+        misses.increment(owned.size() + waiting.size());
+        if (!owned.isEmpty()) {
+            load(owned);
+        }
+        owned.forEach((id, future) -> result.put(id, future.join()));
+        try {
+            waiting.forEach((id, future) -> result.put(id, future.join()));
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+        return result;
+    }
+
+    public int size() {
+        synchronized (views) {
+            return views.size();
+        }
+    }
+
+    private void load(Map<Long, CompletableFuture<Long>> owned) {
+        Map<Long, Long> loaded;
+        try {
+            loaded = eventStatsClient.getViewsByIds(new ArrayList<>(owned.keySet()));
+        } catch (RuntimeException e) {
+            owned.forEach((id, future) -> {
+                loading.remove(id, future);
+                future.completeExceptionally(e);
+            });
+            throw e;
+        }
+        long expiresAt = nanoTime.getAsLong() + ttlNanos;
+        synchronized (views) {
+            owned.keySet().forEach(id -> views.put(id, new CachedViews(
+                    Objects.requireNonNullElse(loaded.get(id), 0L), expiresAt)));
+            Iterator<Long> eldest = views.keySet().iterator();
+            while (views.size() > maxSize) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+        owned.forEach((id, future) -> {
+            loading.remove(id, future);
+            future.complete(Objects.requireNonNullElse(loaded.get(id), 0L));
+        });
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedViews {
+        private final long views;
+        private final long expiresAt;
+    }
+}
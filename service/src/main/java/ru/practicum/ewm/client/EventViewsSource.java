@@ -0,0 +1,8 @@
+package ru.practicum.ewm.client;
+
+import java.util.List;
+import java.util.Map;
+
+public interface EventViewsSource {
+    Map<Long, Long> getViewsByIds(List<Long> ids);
+}
@@ -0,0 +1,21 @@
+package ru.practicum.ewm.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import ru.practicum.ewm.service.EventViewsService;
+
+import java.time.Duration;
+
+@Service
+@ConditionalOnProperty(value = "ewm.views.push.enabled")
+public class EventViewsSubscriber extends ViewsSubscriber {
+    public EventViewsSubscriber(EventStatsClient eventStatsClient, EventViewsService eventViewsService,
+                                @Value("${ewm.views.push.retry-delay:PT5S}") Duration retryDelay,
+                                MeterRegistry meterRegistry) {
+        super(eventStatsClient, EventStatsClient.VIEWS_START, EventStatsClient.EVENT_ROUTE, true, retryDelay,
+                eventViewsService::updateViews);
+        bindTo(meterRegistry);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.ewm.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import ru.practicum.ewm.service.EventViewsService;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "ewm.views.push.enabled")
+public class LocalEventViewsSource implements EventViewsSource {
+    private final EventViewsService eventViewsService;
+
+    @Override
+    public Map<Long, Long> getViewsByIds(List<Long> ids) {
+        return eventViewsService.getViews(ids);
+    }
+}
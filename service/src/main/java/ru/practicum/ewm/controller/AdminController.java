@@ -8,7 +8,9 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.ewm.dto.*;
 import ru.practicum.ewm.model.EventState;
 import ru.practicum.ewm.service.*;
+import ru.practicum.ewm.utils.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.PositiveOrZero;
@@ -54,8 +56,12 @@ public class AdminController {
             @RequestParam(value = "rangeEnd", required = false)
                 @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime rangeEnd,
             @RequestParam(value = "from", defaultValue = "0") @PositiveOrZero  Integer from,
-            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
-        return eventAdminService.getEventsAdmin(users, states, categories, rangeStart, rangeEnd, from, size);
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size,
+            @RequestParam(value = "after", required = false) PageCursor after, HttpServletResponse response) {
+        List<EventFullDto> events = eventAdminService.getEventsAdmin(users, states, categories, rangeStart, rangeEnd,
+                from, size, after);
+        PageCursor.setNextPageHeader(response, events, size, event -> PageCursor.ofId(event.getId()));
+        return events;
     }
 
     @PatchMapping("/events/{eventId}")
@@ -69,8 +75,11 @@ public class AdminController {
     @ResponseStatus(HttpStatus.OK)
     public List<UserDto> getUsers(@RequestParam(value = "ids", required = false) List<Long> ids,
             @RequestParam(value = "from", defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
-        return userAdminService.getUsers(ids, from, size);
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size,
+            @RequestParam(value = "after", required = false) PageCursor after, HttpServletResponse response) {
+        List<UserDto> users = userAdminService.getUsers(ids, from, size, after);
+        PageCursor.setNextPageHeader(response, users, size, user -> PageCursor.ofId(user.getId()));
+        return users;
     }
 
     @PostMapping("/users")
@@ -108,8 +117,11 @@ public class AdminController {
     @ResponseStatus(HttpStatus.OK)
     public List<CommentDto> getCommentsByEventId(@PathVariable("eventId") Long eventId,
             @RequestParam(value = "from", defaultValue = "0") @PositiveOrZero  Integer from,
-            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
-        return commentAdminService.getCommentsByEventId(eventId, from, size);
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size,
+            @RequestParam(value = "after", required = false) PageCursor after, HttpServletResponse response) {
+        List<CommentDto> comments = commentAdminService.getCommentsByEventId(eventId, from, size, after);
+        PageCursor.setNextPageHeader(response, comments, size, comment -> PageCursor.ofId(comment.getId()));
+        return comments;
     }
 
     @DeleteMapping("/comments/{commentId}")
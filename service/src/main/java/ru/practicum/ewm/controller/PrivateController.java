@@ -8,7 +8,9 @@ import ru.practicum.ewm.dto.*;
 import ru.practicum.ewm.service.CommentPrivateService;
 import ru.practicum.ewm.service.EventPrivateService;
 import ru.practicum.ewm.service.RequestService;
+import ru.practicum.ewm.utils.PageCursor;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.PositiveOrZero;
@@ -27,8 +29,11 @@ public class PrivateController {
     @ResponseStatus(HttpStatus.OK)
     public List<EventShortDto> getEventsByUserId(@PathVariable("userId") Long userId,
             @RequestParam(value = "from", defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
-        return eventPrivateService.getEventsByUserId(userId, from, size);
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size,
+            @RequestParam(value = "after", required = false) PageCursor after, HttpServletResponse response) {
+        List<EventShortDto> events = eventPrivateService.getEventsByUserId(userId, from, size, after);
+        PageCursor.setNextPageHeader(response, events, size, event -> PageCursor.ofId(event.getId()));
+        return events;
     }
 
     @PostMapping("/{userId}/events")
@@ -112,8 +117,11 @@ public class PrivateController {
     @ResponseStatus(HttpStatus.OK)
     public List<CommentDto> getCommentsByUserId(@PathVariable("userId") Long userId,
             @RequestParam(value = "from", defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
-        return commentPrivateService.getCommentsByUserId(userId, from, size);
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size,
+            @RequestParam(value = "after", required = false) PageCursor after, HttpServletResponse response) {
+        List<CommentDto> comments = commentPrivateService.getCommentsByUserId(userId, from, size, after);
+        PageCursor.setNextPageHeader(response, comments, size, comment -> PageCursor.ofId(comment.getId()));
+        return comments;
     }
 
     @GetMapping("/{userId}/comments/{commentId}")
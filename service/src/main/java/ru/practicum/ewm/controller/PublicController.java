@@ -9,8 +9,10 @@ import ru.practicum.ewm.dto.*;
 import ru.practicum.ewm.service.CategoryPublicService;
 import ru.practicum.ewm.service.CompilationPublicService;
 import ru.practicum.ewm.service.EventPublicService;
+import ru.practicum.ewm.utils.PageCursor;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.PositiveOrZero;
 import java.time.LocalDateTime;
@@ -28,8 +30,11 @@ public class PublicController {
     @ResponseStatus(HttpStatus.OK)
     public List<CompilationDto> getCompilations(@RequestParam(value = "pinned", required = false) Boolean pinned,
             @RequestParam(value = "from", defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(value = "size", defaultValue = "10") @Min(1)  Integer size) {
-        return compilationPublicService.getCompilations(pinned, from, size);
+            @RequestParam(value = "size", defaultValue = "10") @Min(1)  Integer size,
+            @RequestParam(value = "after", required = false) PageCursor after, HttpServletResponse response) {
+        List<CompilationDto> compilations = compilationPublicService.getCompilations(pinned, from, size, after);
+        PageCursor.setNextPageHeader(response, compilations, size, compilation -> PageCursor.ofId(compilation.getId()));
+        return compilations;
     }
 
     @GetMapping("/compilations/{compId}")
@@ -42,8 +47,11 @@ public class PublicController {
     @ResponseStatus(HttpStatus.OK)
     public List<CategoryDto> getCategories(@RequestParam(value = "from", defaultValue = "0")
                 @PositiveOrZero  Integer from,
-            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size) {
-        return categoryPublicService.getCategories(from, size);
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size,
+            @RequestParam(value = "after", required = false) PageCursor after, HttpServletResponse response) {
+        List<CategoryDto> categories = categoryPublicService.getCategories(from, size, after);
+        PageCursor.setNextPageHeader(response, categories, size, category -> PageCursor.ofId(category.getId()));
+        return categories;
     }
 
     @GetMapping("/categories/{catId}")
@@ -64,9 +72,18 @@ public class PublicController {
             @RequestParam(value = "onlyAvailable", defaultValue = "false") Boolean onlyAvailable,
             @RequestParam(value = "sort", required = false) EventSort sort,
             @RequestParam(value = "from", defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size, HttpServletRequest request) {
-        return eventPublicService.getEvents(text, categories, paid, rangeStart, rangeEnd, onlyAvailable, sort,
-                from, size, request);
+            @RequestParam(value = "size", defaultValue = "10") @Min(1) Integer size,
+            @RequestParam(value = "after", required = false) PageCursor after,
+            HttpServletRequest request, HttpServletResponse response) {
+        List<EventShortDto> events = eventPublicService.getEvents(text, categories, paid, rangeStart, rangeEnd,
+                onlyAvailable, sort, from, size, after, request);
+        if (sort == EventSort.EVENT_DATE) {
+            PageCursor.setNextPageHeader(response, events, size,
+                    event -> PageCursor.of(event.getEventDate(), event.getId()));
+        } else if (sort == null) {
+            PageCursor.setNextPageHeader(response, events, size, event -> PageCursor.ofId(event.getId()));
+        }
+        return events;
     }
 
     @GetMapping("/events/{eventId}")
@@ -0,0 +1,16 @@
+package ru.practicum.ewm.dialect;
+
+import org.hibernate.dialect.PostgreSQL10Dialect;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+public class EwmH2Dialect extends PostgreSQL10Dialect {
+    public EwmH2Dialect() {
+        super();
+        registerFunction("fts_match", new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN,
+                "(?1 LIKE ('%' || LOWER(?2) || '%'))"));
+        registerFunction("fts_rank", new SQLFunctionTemplate(StandardBasicTypes.DOUBLE,
+                "(SELECT CAST(LENGTH(?1) - LENGTH(REPLACE(?1, q.query, '')) AS DOUBLE PRECISION) / LENGTH(q.query) "
+                        + "FROM (SELECT LOWER(?2) AS query) q)"));
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.ewm.dialect;
+
+import org.hibernate.dialect.PostgreSQL10Dialect;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+public class EwmPostgreSQLDialect extends PostgreSQL10Dialect {
+    public EwmPostgreSQLDialect() {
+        super();
+        registerFunction("fts_match", new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN,
+                "(?1 @@ plainto_tsquery('russian', ?2))"));
+        registerFunction("fts_rank", new SQLFunctionTemplate(StandardBasicTypes.DOUBLE,
+                "ts_rank(?1, plainto_tsquery('russian', ?2))"));
+    }
+}
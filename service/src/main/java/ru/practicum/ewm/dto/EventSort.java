@@ -1,5 +1,5 @@
 package ru.practicum.ewm.dto;
 
 public enum EventSort {
-    EVENT_DATE, VIEWS
+    EVENT_DATE, VIEWS, RELEVANCE
 }
@@ -79,7 +79,7 @@ public class ErrorHandler {
         );
     }
 
-    @ExceptionHandler({ConstraintViolationException.class, DateRangeException.class})
+    @ExceptionHandler({ConstraintViolationException.class, DateRangeException.class, PageCursorException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ApiError handleConstraintViolationException(final RuntimeException e) {
         return new ApiError(
@@ -0,0 +1,7 @@
+package ru.practicum.ewm.exception.model;
+
+public class PageCursorException extends RuntimeException {
+    public PageCursorException(String message) {
+        super(message);
+    }
+}
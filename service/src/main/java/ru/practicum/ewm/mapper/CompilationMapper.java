@@ -25,4 +25,14 @@ public class CompilationMapper {
                 .events(eventShortDtos)
                 .build();
     }
+
+    public static CompilationDto fromCompilationToCompilationDto(Compilation compilation,
+                                                                 List<EventShortDto> eventShortDtos) {
+        return CompilationDto.builder()
+                .id(compilation.getId())
+                .title(compilation.getTitle())
+                .pinned(compilation.getPinned())
+                .events(eventShortDtos)
+                .build();
+    }
 }
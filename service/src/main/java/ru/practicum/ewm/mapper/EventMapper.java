@@ -1,9 +1,12 @@
 package ru.practicum.ewm.mapper;
 
+import ru.practicum.ewm.dto.CategoryDto;
 import ru.practicum.ewm.dto.EventFullDto;
 import ru.practicum.ewm.dto.EventShortDto;
 import ru.practicum.ewm.dto.NewEventDto;
+import ru.practicum.ewm.dto.UserShortDto;
 import ru.practicum.ewm.model.Event;
+import ru.practicum.ewm.model.EventShort;
 
 public class EventMapper {
     public static Event fromNewEventDtoToEvent(NewEventDto newEventDto) {
@@ -22,6 +25,7 @@ public class EventMapper {
         return EventFullDto.builder()
                 .annotation(event.getAnnotation())
                 .category(CategoryMapper.fromCategoryToCategoryDto(event.getCategory()))
+                .confirmedRequests(event.getConfirmedRequests())
                 .createdOn(event.getCreatedOn())
                 .description(event.getDescription())
                 .eventDate(event.getEventDate())
@@ -41,6 +45,7 @@ public class EventMapper {
         return EventShortDto.builder()
                 .annotation(event.getAnnotation())
                 .category(CategoryMapper.fromCategoryToCategoryDto(event.getCategory()))
+                .confirmedRequests(event.getConfirmedRequests())
                 .eventDate(event.getEventDate())
                 .id(event.getId())
                 .initiator(UserMapper.fromUserToUserShortDto(event.getInitiator()))
@@ -48,4 +53,23 @@ public class EventMapper {
                 .title(event.getTitle())
                 .build();
     }
+
+    public static EventShortDto fromEventShortToEventShortDto(EventShort eventShort) {
+        return EventShortDto.builder()
+                .annotation(eventShort.getAnnotation())
+                .category(CategoryDto.builder()
+                        .id(eventShort.getCategoryId())
+                        .name(eventShort.getCategoryName())
+                        .build())
+                .confirmedRequests(eventShort.getConfirmedRequests())
+                .eventDate(eventShort.getEventDate())
+                .id(eventShort.getId())
+                .initiator(UserShortDto.builder()
+                        .id(eventShort.getInitiatorId())
+                        .name(eventShort.getInitiatorName())
+                        .build())
+                .paid(eventShort.getPaid())
+                .title(eventShort.getTitle())
+                .build();
+    }
 }
@@ -0,0 +1,22 @@
+package ru.practicum.ewm.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class CompilationEvent extends EventShort {
+    private final Long compilationId;
+
+    public CompilationEvent(Long compilationId, Long id, String annotation, Long categoryId, String categoryName,
+                            Integer confirmedRequests, LocalDateTime eventDate, Long initiatorId,
+                            String initiatorName, Boolean paid, String title) {
+        super(id, annotation, categoryId, categoryName, confirmedRequests, eventDate, initiatorId, initiatorName,
+                paid, title);
+        this.compilationId = compilationId;
+    }
+}
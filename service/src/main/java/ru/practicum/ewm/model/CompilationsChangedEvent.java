@@ -0,0 +1,10 @@
+package ru.practicum.ewm.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CompilationsChangedEvent {
+    private final String reason;
+}
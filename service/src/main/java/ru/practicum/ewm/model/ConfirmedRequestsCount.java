@@ -0,0 +1,24 @@
+package ru.practicum.ewm.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+public class ConfirmedRequestsCount {
+    private Long eventId;
+    private Long count;
+
+    public ConfirmedRequestsCount(Long eventId, Long count) {
+        this.eventId = eventId;
+        this.count = count;
+    }
+
+    public ConfirmedRequestsCount(Long eventId, Integer count) {
+        this(eventId, count.longValue());
+    }
+}
@@ -14,7 +14,11 @@ import java.util.Objects;
 @Builder
 @Entity
 @Table(name = "events")
+@NamedEntityGraph(name = Event.FULL_GRAPH, attributeNodes = {@NamedAttributeNode("category"),
+        @NamedAttributeNode("initiator"), @NamedAttributeNode("location")})
 public class Event {
+    public static final String FULL_GRAPH = "Event.full";
+
     @Id
     @Column(name = "event_id")
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,6 +44,9 @@ public class Event {
     private Boolean paid;
     @Column(name = "participant_limit", nullable = false)
     private Integer participantLimit;
+    @Builder.Default
+    @Column(name = "confirmed_requests", nullable = false)
+    private Integer confirmedRequests = 0;
     @Column(name = "published_on")
     private LocalDateTime publishedOn;
     @Column(name = "request_moderation", nullable = false)
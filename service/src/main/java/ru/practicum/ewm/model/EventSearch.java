@@ -0,0 +1,30 @@
+package ru.practicum.ewm.model;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+@NoArgsConstructor
+@Getter
+@Entity
+@Immutable
+@Table(name = "events")
+public class EventSearch {
+    @Id
+    @Column(name = "event_id", insertable = false, updatable = false)
+    private Long id;
+    @Column(name = "search_vector", insertable = false, updatable = false)
+    private String searchVector;
+
+    @Override
+    public String toString() {
+        return "EventSearch{" +
+                "id=" + id +
+                '}';
+    }
+}
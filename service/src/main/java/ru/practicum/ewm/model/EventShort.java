@@ -0,0 +1,25 @@
+package ru.practicum.ewm.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class EventShort {
+    private Long id;
+    private String annotation;
+    private Long categoryId;
+    private String categoryName;
+    private Integer confirmedRequests;
+    private LocalDateTime eventDate;
+    private Long initiatorId;
+    private String initiatorName;
+    private Boolean paid;
+    private String title;
+}
@@ -0,0 +1,49 @@
+package ru.practicum.ewm.model;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@Entity
+@Table(name = "event_views")
+public class EventViews {
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+    @Column(name = "views", nullable = false)
+    private Long views;
+    @Column(name = "updated_on")
+    private LocalDateTime updatedOn;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EventViews that = (EventViews) o;
+        return Objects.equals(eventId, that.eventId) && Objects.equals(views, that.views);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventId, views);
+    }
+
+    @Override
+    public String toString() {
+        return "EventViews{" +
+                "eventId=" + eventId +
+                ", views=" + views +
+                ", updatedOn=" + updatedOn +
+                '}';
+    }
+}
@@ -1,8 +1,15 @@
 package ru.practicum.ewm.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.ewm.model.Category;
 
+import java.util.List;
+
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     boolean existsCategoryByName(String name);
+
+    @Query("SELECT c FROM Category c WHERE (?1 IS NULL OR c.id > ?1)")
+    List<Category> getCategories(Long afterId, Pageable pageable);
 }
@@ -8,11 +8,11 @@ import ru.practicum.ewm.model.Comment;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    @Query("SELECT c FROM Comment c WHERE c.user.id = ?1")
-    List<Comment> getCommentsByUserId(Long userId, Pageable pageable);
+    @Query("SELECT c FROM Comment c WHERE c.user.id = ?1 AND (?2 IS NULL OR c.id > ?2)")
+    List<Comment> getCommentsByUserId(Long userId, Long afterId, Pageable pageable);
 
-    @Query("SELECT c FROM Comment c WHERE c.event.id = ?1")
-    List<Comment> getCommentsByEventId(Long eventId, Pageable pageable);
+    @Query("SELECT c FROM Comment c WHERE c.event.id = ?1 AND (?2 IS NULL OR c.id > ?2)")
+    List<Comment> getCommentsByEventId(Long eventId, Long afterId, Pageable pageable);
 
     @Query("SELECT c FROM Comment c WHERE c.event.id = ?1")
     List<Comment> getCommentsByEventIdWithoutPagination(Long eventId);
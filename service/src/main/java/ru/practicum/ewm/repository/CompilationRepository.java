@@ -4,10 +4,18 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.ewm.model.Compilation;
+import ru.practicum.ewm.model.CompilationEvent;
 
 import java.util.List;
 
 public interface CompilationRepository extends JpaRepository<Compilation, Long> {
-    @Query("SELECT c FROM Compilation c WHERE ((c.pinned = ?1) OR ?1 IS NULL)")
-    List<Compilation> getCompilations(Boolean pinned, Pageable pageable);
+    @Query("SELECT c FROM Compilation c WHERE ((c.pinned = ?1) OR ?1 IS NULL) AND (?2 IS NULL OR c.id > ?2)")
+    List<Compilation> getCompilations(Boolean pinned, Long afterId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.ewm.model.CompilationEvent(comp.id, e.id, e.annotation, c.id, c.name, "
+            + "e.confirmedRequests, e.eventDate, u.id, u.name, e.paid, e.title) "
+            + "FROM Compilation comp JOIN comp.events e JOIN e.category c JOIN e.initiator u "
+            + "WHERE comp.id IN ?1 "
+            + "ORDER BY comp.id, e.id")
+    List<CompilationEvent> getCompilationEvents(List<Long> compilationIds);
 }
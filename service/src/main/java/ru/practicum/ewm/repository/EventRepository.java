@@ -1,33 +1,93 @@
 package ru.practicum.ewm.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.ewm.model.ConfirmedRequestsCount;
 import ru.practicum.ewm.model.Event;
+import ru.practicum.ewm.model.EventShort;
 import ru.practicum.ewm.model.EventState;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface EventRepository extends JpaRepository<Event, Long> {
+    @EntityGraph(Event.FULL_GRAPH)
+    @Query("SELECT e FROM Event e WHERE e.id IN ?1")
+    List<Event> getEventsByIdIn(Collection<Long> eventIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = ?1")
+    Optional<Event> getEventByIdForUpdate(Long eventId);
+
+    @Query("SELECT new ru.practicum.ewm.model.ConfirmedRequestsCount(e.id, e.confirmedRequests) FROM Event e "
+            + "WHERE e.id > ?1 ORDER BY e.id")
+    List<ConfirmedRequestsCount> getConfirmedRequestsAfterId(Long eventId, Pageable pageable);
+
     @Query("SELECT COUNT(e) FROM Event e WHERE e.category.id = ?1")
     Long getCountEventsByCategoryId(Long catId);
 
-    @Query("SELECT e FROM Event e WHERE e.initiator.id = ?1")
-    List<Event> getEventsByUserId(Long userId, Pageable pageable);
+    @Query("SELECT e.id FROM Event e WHERE e.state = 'PUBLISHED' AND e.id > ?1 ORDER BY e.id")
+    List<Long> getPublishedEventIdsAfterId(Long eventId, Pageable pageable);
 
+    @Query("SELECT new ru.practicum.ewm.model.EventShort(e.id, e.annotation, c.id, c.name, e.confirmedRequests, "
+            + "e.eventDate, u.id, u.name, e.paid, e.title) "
+            + "FROM Event e JOIN e.category c JOIN e.initiator u "
+            + "WHERE u.id = ?1 AND (?2 IS NULL OR e.id > ?2)")
+    List<EventShort> getEventsByUserId(Long userId, Long afterId, Pageable pageable);
+
+    @EntityGraph(Event.FULL_GRAPH)
     @Query("SELECT e FROM Event e WHERE ((e.initiator.id IN ?1) OR ?1 IS NULL) AND ((e.state IN ?2) OR ?2 IS NULL) "
             + "AND ((e.category.id IN ?3) OR ?3 IS NULL) AND ((e.eventDate >= ?4) OR cast(?4 as timestamp) IS NULL) "
-            + "AND ((e.eventDate <= ?5) OR cast(?5 as timestamp) IS NULL)")
+            + "AND ((e.eventDate <= ?5) OR cast(?5 as timestamp) IS NULL) "
+            + "AND (?6 IS NULL OR e.id > ?6)")
     List<Event> getEventsAdmin(List<Long> users, List<EventState> states, List<Long> categories,
-            LocalDateTime rangeStart, LocalDateTime rangeEnd, Pageable pageable);
+            LocalDateTime rangeStart, LocalDateTime rangeEnd, Long afterId, Pageable pageable);
 
-    @Query("SELECT e FROM Event e "
-            + "WHERE ((UPPER(e.annotation) LIKE UPPER(?1)) OR (UPPER(e.description) LIKE UPPER(?1)) OR ?1 IS NULL) "
-            + "AND ((e.category.id IN ?2) OR ?2 IS NULL) AND ((e.paid = ?3) OR ?3 IS NULL) "
+    @Query("SELECT new ru.practicum.ewm.model.EventShort(e.id, e.annotation, c.id, c.name, e.confirmedRequests, "
+            + "e.eventDate, u.id, u.name, e.paid, e.title) "
+            + "FROM Event e JOIN e.category c JOIN e.initiator u JOIN EventSearch s ON s.id = e.id "
+            + "WHERE (?1 IS NULL OR fts_match(s.searchVector, ?1) = true) "
+            + "AND ((c.id IN ?2) OR ?2 IS NULL) AND ((e.paid = ?3) OR ?3 IS NULL) "
             + "AND ((e.eventDate >= ?4) OR cast(?4 as timestamp) IS NULL) "
             + "AND ((e.eventDate <= ?5) OR cast(?5 as timestamp) IS NULL) "
+            + "AND (?6 = false OR e.participantLimit = 0 OR e.confirmedRequests < e.participantLimit) "
+            + "AND (?8 IS NULL OR (cast(?7 as timestamp) IS NULL AND e.id > ?8) "
+            + "OR e.eventDate > ?7 OR (e.eventDate = ?7 AND e.id > ?8)) "
             + "AND e.state = 'PUBLISHED'")
-    List<Event> getEvents(String text, List<Long> categories, Boolean paid,
-            LocalDateTime rangeStart, LocalDateTime rangeEnd, Pageable pageable);
+    List<EventShort> getEvents(String text, List<Long> categories, Boolean paid,
+            LocalDateTime rangeStart, LocalDateTime rangeEnd, Boolean onlyAvailable,
+            LocalDateTime afterEventDate, Long afterId, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.ewm.model.EventShort(e.id, e.annotation, c.id, c.name, e.confirmedRequests, "
+            + "e.eventDate, u.id, u.name, e.paid, e.title) "
+            + "FROM Event e JOIN e.category c JOIN e.initiator u JOIN EventSearch s ON s.id = e.id "
+            + "LEFT JOIN EventViews v ON v.eventId = e.id "
+            + "WHERE (?1 IS NULL OR fts_match(s.searchVector, ?1) = true) "
+            + "AND ((c.id IN ?2) OR ?2 IS NULL) AND ((e.paid = ?3) OR ?3 IS NULL) "
+            + "AND ((e.eventDate >= ?4) OR cast(?4 as timestamp) IS NULL) "
+            + "AND ((e.eventDate <= ?5) OR cast(?5 as timestamp) IS NULL) "
+            + "AND (?6 = false OR e.participantLimit = 0 OR e.confirmedRequests < e.participantLimit) "
+            + "AND e.state = 'PUBLISHED' "
+            + "ORDER BY COALESCE(v.views, 0) DESC, e.id")
+    List<EventShort> getEventsOrderByViews(String text, List<Long> categories, Boolean paid,
+            LocalDateTime rangeStart, LocalDateTime rangeEnd, Boolean onlyAvailable, Pageable pageable);
+
+    @Query("SELECT new ru.practicum.ewm.model.EventShort(e.id, e.annotation, c.id, c.name, e.confirmedRequests, "
+            + "e.eventDate, u.id, u.name, e.paid, e.title) "
+            + "FROM Event e JOIN e.category c JOIN e.initiator u JOIN EventSearch s ON s.id = e.id "
+            + "WHERE fts_match(s.searchVector, ?1) = true "
+            + "AND ((c.id IN ?2) OR ?2 IS NULL) AND ((e.paid = ?3) OR ?3 IS NULL) "
+            + "AND ((e.eventDate >= ?4) OR cast(?4 as timestamp) IS NULL) "
+            + "AND ((e.eventDate <= ?5) OR cast(?5 as timestamp) IS NULL) "
+            + "AND (?6 = false OR e.participantLimit = 0 OR e.confirmedRequests < e.participantLimit) "
+            + "AND e.state = 'PUBLISHED' "
+            + "ORDER BY fts_rank(s.searchVector, ?1) DESC, e.id")
+    List<EventShort> getEventsOrderByRelevance(String text, List<Long> categories, Boolean paid,
+            LocalDateTime rangeStart, LocalDateTime rangeEnd, Boolean onlyAvailable, Pageable pageable);
 }
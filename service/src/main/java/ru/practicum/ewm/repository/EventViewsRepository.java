@@ -0,0 +1,16 @@
+package ru.practicum.ewm.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.ewm.model.EventViews;
+
+import javax.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+
+public interface EventViewsRepository extends JpaRepository<EventViews, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM EventViews v WHERE v.eventId IN ?1 ORDER BY v.eventId")
+    List<EventViews> getViewsForUpdate(Collection<Long> eventIds);
+}
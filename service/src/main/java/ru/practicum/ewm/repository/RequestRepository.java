@@ -2,9 +2,11 @@ package ru.practicum.ewm.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.ewm.model.ConfirmedRequestsCount;
 import ru.practicum.ewm.model.EventRequestStatus;
 import ru.practicum.ewm.model.Request;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
@@ -14,14 +16,19 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
     @Query("SELECT COUNT(r) FROM Request r WHERE r.event = ?1 AND r.status = 'CONFIRMED'")
     Integer getCountApprovedRequestsByEventId(Long eventId);
 
+    @Query("SELECT new ru.practicum.ewm.model.ConfirmedRequestsCount(r.event, COUNT(r)) FROM Request r "
+            + "WHERE r.event IN ?1 AND r.status = 'CONFIRMED' "
+            + "GROUP BY r.event")
+    List<ConfirmedRequestsCount> getCountConfirmedRequestsByEventIds(Collection<Long> eventIds);
+
     @Query("SELECT r FROM Request r WHERE r.requester = ?1")
     List<Request> getRequestsByUserId(Long userId);
 
     @Query("SELECT r FROM Request r WHERE r.event = ?1")
     List<Request> getRequestsByEventId(Long eventId);
 
-    @Query("SELECT r FROM Request r WHERE r.id IN ?1")
-    List<Request> getRequestsByRequestIds(List<Long> requestIds);
+    @Query("SELECT r FROM Request r WHERE r.event = ?1 AND r.id IN ?2")
+    List<Request> getRequestsByEventIdAndRequestIds(Long eventId, List<Long> requestIds);
 
     @Query("SELECT r FROM Request r WHERE r.event = ?1 AND r.status = ?2")
     List<Request> getRequestsByEventIdAndStatus(Long eventId, EventRequestStatus status);
@@ -8,6 +8,6 @@ import ru.practicum.ewm.model.User;
 import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-    @Query("SELECT u FROM User u WHERE ((u.id IN ?1) OR ?1 IS NULL)")
-    List<User> getUsers(List<Long> ids, Pageable pageable);
+    @Query("SELECT u FROM User u WHERE ((u.id IN ?1) OR ?1 IS NULL) AND (?2 IS NULL OR u.id > ?2)")
+    List<User> getUsers(List<Long> ids, Long afterId, Pageable pageable);
 }
@@ -0,0 +1,48 @@
+package ru.practicum.ewm.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.model.ConfirmedRequestsCount;
+import ru.practicum.ewm.service.ConfirmedRequestsService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "ewm.confirmed-requests.reconcile.enabled", matchIfMissing = true)
+public class ConfirmedRequestsReconciler {
+    private final ConfirmedRequestsService confirmedRequestsService;
+    @Value("${ewm.confirmed-requests.reconcile.chunk-size:500}")
+    private Integer chunkSize;
+
+    @Scheduled(initialDelayString = "${ewm.confirmed-requests.reconcile.initial-delay:PT10S}",
+            fixedDelayString = "${ewm.confirmed-requests.reconcile.delay:PT1H}")
+    public void reconcile() {
+        long repaired = 0;
+        Long afterEventId = 0L;
+        List<ConfirmedRequestsCount> storedCounts;
+        do {
+            storedCounts = confirmedRequestsService.getStoredConfirmedRequests(afterEventId, chunkSize);
+            if (storedCounts.isEmpty()) {
+                break;
+            }
+            Map<Long, Integer> actualCounts = confirmedRequestsService.getConfirmedRequests(storedCounts.stream()
+                    .map(ConfirmedRequestsCount::getEventId).collect(Collectors.toList()));
+            for (ConfirmedRequestsCount storedCount : storedCounts) {
+                if (storedCount.getCount().intValue() != actualCounts.get(storedCount.getEventId())) {
+                    confirmedRequestsService.repairConfirmedRequests(storedCount.getEventId());
+                    repaired++;
+                }
+            }
+            afterEventId = storedCounts.get(storedCounts.size() - 1).getEventId();
+        } while (storedCounts.size() == chunkSize);
+        log.debug("Сверка подтвержденных заявок завершена, исправлено событий: {}", repaired);
+    }
+}
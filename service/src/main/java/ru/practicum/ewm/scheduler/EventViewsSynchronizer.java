@@ -0,0 +1,51 @@
+package ru.practicum.ewm.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.client.EventStatsClient;
+import ru.practicum.ewm.service.EventViewsService;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "ewm.views.sync.enabled", matchIfMissing = true)
+public class EventViewsSynchronizer {
+    private final EventViewsService eventViewsService;
+    private final EventStatsClient eventStatsClient;
+    @Value("${ewm.views.sync.chunk-size:100}")
+    private Integer chunkSize;
+
+    @Scheduled(initialDelayString = "${ewm.views.sync.initial-delay:PT10S}",
+            fixedDelayString = "${ewm.views.sync.delay:PT5M}")
+    public void synchronize() {
+        long synchronizedEvents = 0;
+        Long afterEventId = 0L;
+        List<Long> eventIds;
+        do {
+            eventIds = eventViewsService.getPublishedEventIds(afterEventId, chunkSize);
+            if (eventIds.isEmpty()) {
+                break;
+            }
+            LocalDateTime snapshotTime = LocalDateTime.now();
+            Map<Long, Long> statsViews = eventStatsClient.getViewsByIds(eventIds);
+            Map<Long, Long> views = new HashMap<>();
+            for (Long eventId : eventIds) {
+                views.put(eventId, Objects.requireNonNullElse(statsViews.get(eventId), 0L));
+            }
+            eventViewsService.saveViews(views, snapshotTime);
+            synchronizedEvents += eventIds.size();
+            afterEventId = eventIds.get(eventIds.size() - 1);
+        } while (eventIds.size() == chunkSize);
+        log.debug("Синхронизация просмотров завершена, обновлено событий: {}", synchronizedEvents);
+    }
+}
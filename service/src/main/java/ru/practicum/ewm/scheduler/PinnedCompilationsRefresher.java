@@ -0,0 +1,23 @@
+package ru.practicum.ewm.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.service.CompilationPublicService;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "ewm.compilations.cache.refresh.enabled", matchIfMissing = true)
+public class PinnedCompilationsRefresher {
+    private final CompilationPublicService compilationPublicService;
+
+    @Scheduled(initialDelayString = "${ewm.compilations.cache.refresh.initial-delay:PT10S}",
+            fixedDelayString = "${ewm.compilations.cache.refresh.delay:PT10S}")
+    public void refresh() {
+        int refreshed = compilationPublicService.refreshPinnedCompilations();
+        log.debug("Обновление кэша закрепленных подборок завершено, обновлено страниц: {}", refreshed);
+    }
+}
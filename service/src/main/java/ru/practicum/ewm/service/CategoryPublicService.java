@@ -1,11 +1,12 @@
 package ru.practicum.ewm.service;
 
 import ru.practicum.ewm.dto.CategoryDto;
+import ru.practicum.ewm.utils.PageCursor;
 
 import java.util.List;
 
 public interface CategoryPublicService {
-    List<CategoryDto> getCategories(Integer from, Integer size);
+    List<CategoryDto> getCategories(Integer from, Integer size, PageCursor after);
 
     CategoryDto getCategoryById(Long catId);
 }
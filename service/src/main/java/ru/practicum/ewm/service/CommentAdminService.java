@@ -1,11 +1,12 @@
 package ru.practicum.ewm.service;
 
 import ru.practicum.ewm.dto.CommentDto;
+import ru.practicum.ewm.utils.PageCursor;
 
 import java.util.List;
 
 public interface CommentAdminService {
-    List<CommentDto> getCommentsByEventId(Long eventId, Integer from, Integer size);
+    List<CommentDto> getCommentsByEventId(Long eventId, Integer from, Integer size, PageCursor after);
 
     void deleteCommentByAdmin(Long commentId);
 
@@ -1,6 +1,7 @@
 package ru.practicum.ewm.service;
 
 import ru.practicum.ewm.dto.CommentDto;
+import ru.practicum.ewm.utils.PageCursor;
 
 import java.util.List;
 
@@ -11,7 +12,7 @@ public interface CommentPrivateService {
 
     void deleteComment(Long userId, Long commentId);
 
-    List<CommentDto> getCommentsByUserId(Long userId, Integer from, Integer size);
+    List<CommentDto> getCommentsByUserId(Long userId, Integer from, Integer size, PageCursor after);
 
     CommentDto getCommentByUserIdAndCommentId(Long userId, Long commentId);
 }
@@ -1,11 +1,14 @@
 package ru.practicum.ewm.service;
 
 import ru.practicum.ewm.dto.CompilationDto;
+import ru.practicum.ewm.utils.PageCursor;
 
 import java.util.List;
 
 public interface CompilationPublicService {
-    List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size);
+    List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size, PageCursor after);
 
     CompilationDto getCompilationById(Long compId);
+
+    int refreshPinnedCompilations();
 }
@@ -0,0 +1,15 @@
+package ru.practicum.ewm.service;
+
+import ru.practicum.ewm.model.ConfirmedRequestsCount;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ConfirmedRequestsService {
+    Map<Long, Integer> getConfirmedRequests(Collection<Long> eventIds);
+
+    List<ConfirmedRequestsCount> getStoredConfirmedRequests(Long afterEventId, Integer size);
+
+    void repairConfirmedRequests(Long eventId);
+}
@@ -4,6 +4,7 @@ import ru.practicum.ewm.dto.EventFullDto;
 import ru.practicum.ewm.dto.EventShortDto;
 import ru.practicum.ewm.dto.NewEventDto;
 import ru.practicum.ewm.dto.UpdateEventUserRequest;
+import ru.practicum.ewm.utils.PageCursor;
 
 import java.util.List;
 
@@ -13,7 +14,7 @@ public interface EventPrivateService {
     EventFullDto updateEventByUserIdAndEventId(Long userId, Long eventId,
             UpdateEventUserRequest updateEventUserRequest);
 
-    List<EventShortDto> getEventsByUserId(Long userId, Integer from, Integer size);
+    List<EventShortDto> getEventsByUserId(Long userId, Integer from, Integer size, PageCursor after);
 
     EventFullDto getEventByUserIdAndEventId(Long userId, Long eventId);
 }
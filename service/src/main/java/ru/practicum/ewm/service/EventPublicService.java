@@ -3,6 +3,7 @@ package ru.practicum.ewm.service;
 import ru.practicum.ewm.dto.EventFullDto;
 import ru.practicum.ewm.dto.EventShortDto;
 import ru.practicum.ewm.dto.EventSort;
+import ru.practicum.ewm.utils.PageCursor;
 
 import javax.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
@@ -11,7 +12,7 @@ import java.util.List;
 public interface EventPublicService {
     List<EventShortDto> getEvents(String text, List<Long> categories, Boolean paid,
             LocalDateTime rangeStart, LocalDateTime rangeEnd, Boolean onlyAvailable, EventSort sort,
-            Integer from, Integer size, HttpServletRequest request);
+            Integer from, Integer size, PageCursor after, HttpServletRequest request);
 
     EventFullDto getEventById(Long eventId, HttpServletRequest request);
 }
@@ -0,0 +1,15 @@
+package ru.practicum.ewm.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public interface EventViewsService {
+    List<Long> getPublishedEventIds(Long afterEventId, Integer size);
+
+    void saveViews(Map<Long, Long> views, LocalDateTime snapshotTime);
+
+    Map<Long, Long> getViews(List<Long> eventIds);
+
+    void updateViews(Map<Long, Long> views);
+}
@@ -2,6 +2,7 @@ package ru.practicum.ewm.service;
 
 import ru.practicum.ewm.dto.NewUserRequest;
 import ru.practicum.ewm.dto.UserDto;
+import ru.practicum.ewm.utils.PageCursor;
 
 import java.util.List;
 
@@ -10,5 +11,5 @@ public interface UserAdminService {
 
     void  deleteUser(Long userId);
 
-    List<UserDto> getUsers(List<Long> ids, Integer from, Integer size);
+    List<UserDto> getUsers(List<Long> ids, Integer from, Integer size, PageCursor after);
 }
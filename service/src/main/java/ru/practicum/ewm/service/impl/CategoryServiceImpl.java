@@ -3,6 +3,7 @@ package ru.practicum.ewm.service.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.dto.CategoryDto;
@@ -16,6 +17,7 @@ import ru.practicum.ewm.repository.EventRepository;
 import ru.practicum.ewm.service.CategoryAdminService;
 import ru.practicum.ewm.service.CategoryPublicService;
 import ru.practicum.ewm.utils.OffsetPageRequest;
+import ru.practicum.ewm.utils.PageCursor;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -72,8 +74,9 @@ public class CategoryServiceImpl implements CategoryAdminService, CategoryPublic
 
     @Override
     @Transactional(readOnly = true)
-    public List<CategoryDto> getCategories(Integer from, Integer size) {
-        return categoryRepository.findAll(new OffsetPageRequest(from, size)).stream()
+    public List<CategoryDto> getCategories(Integer from, Integer size, PageCursor after) {
+        return categoryRepository.getCategories(PageCursor.getId(after),
+                        OffsetPageRequest.of(from, size, after, Sort.by("id"))).stream()
                 .map(CategoryMapper::fromCategoryToCategoryDto).collect(Collectors.toList());
     }
 
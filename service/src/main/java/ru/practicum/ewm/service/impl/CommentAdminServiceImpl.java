@@ -2,6 +2,7 @@ package ru.practicum.ewm.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.dto.CommentDto;
@@ -13,6 +14,7 @@ import ru.practicum.ewm.repository.CommentRepository;
 import ru.practicum.ewm.repository.EventRepository;
 import ru.practicum.ewm.service.CommentAdminService;
 import ru.practicum.ewm.utils.OffsetPageRequest;
+import ru.practicum.ewm.utils.PageCursor;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -27,11 +29,12 @@ public class CommentAdminServiceImpl implements CommentAdminService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<CommentDto> getCommentsByEventId(Long eventId, Integer from, Integer size) {
+    public List<CommentDto> getCommentsByEventId(Long eventId, Integer from, Integer size, PageCursor after) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new NotFoundException("Событие не найдено.",
                         String.format("Событие с ID = %d не существует.", eventId)));
-        return commentRepository.getCommentsByEventId(event.getId(), new OffsetPageRequest(from, size)).stream()
+        return commentRepository.getCommentsByEventId(event.getId(), PageCursor.getId(after),
+                        OffsetPageRequest.of(from, size, after, Sort.by("id"))).stream()
                 .map(CommentMapper::fromCommentToCommentDto).collect(Collectors.toList());
     }
 
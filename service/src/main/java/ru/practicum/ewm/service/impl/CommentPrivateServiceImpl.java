@@ -2,6 +2,7 @@ package ru.practicum.ewm.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.dto.CommentDto;
@@ -17,6 +18,7 @@ import ru.practicum.ewm.repository.EventRepository;
 import ru.practicum.ewm.repository.UserRepository;
 import ru.practicum.ewm.service.CommentPrivateService;
 import ru.practicum.ewm.utils.OffsetPageRequest;
+import ru.practicum.ewm.utils.PageCursor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -77,10 +79,11 @@ public class CommentPrivateServiceImpl implements CommentPrivateService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<CommentDto> getCommentsByUserId(Long userId, Integer from, Integer size) {
+    public List<CommentDto> getCommentsByUserId(Long userId, Integer from, Integer size, PageCursor after) {
         User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден.",
                 String.format("Пользователя с ID = %d не существует.", userId)));
-        return commentRepository.getCommentsByUserId(user.getId(), new OffsetPageRequest(from, size)).stream()
+        return commentRepository.getCommentsByUserId(user.getId(), PageCursor.getId(after),
+                        OffsetPageRequest.of(from, size, after, Sort.by("id"))).stream()
                 .map(CommentMapper::fromCommentToCommentDto).collect(Collectors.toList());
     }
 
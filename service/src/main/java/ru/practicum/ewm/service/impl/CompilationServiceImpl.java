@@ -2,10 +2,12 @@ package ru.practicum.ewm.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.ewm.client.EventStatsClient;
+import ru.practicum.ewm.client.EventViewsSource;
 import ru.practicum.ewm.dto.CompilationDto;
 import ru.practicum.ewm.dto.EventShortDto;
 import ru.practicum.ewm.dto.NewCompilationDto;
@@ -13,19 +15,26 @@ import ru.practicum.ewm.dto.UpdateCompilationRequest;
 import ru.practicum.ewm.exception.model.AlreadyExistException;
 import ru.practicum.ewm.exception.model.NotFoundException;
 import ru.practicum.ewm.mapper.CompilationMapper;
+import ru.practicum.ewm.mapper.EventMapper;
 import ru.practicum.ewm.model.Compilation;
+import ru.practicum.ewm.model.CompilationEvent;
+import ru.practicum.ewm.model.CompilationsChangedEvent;
 import ru.practicum.ewm.model.Event;
 import ru.practicum.ewm.repository.CompilationRepository;
 import ru.practicum.ewm.repository.EventRepository;
-import ru.practicum.ewm.repository.RequestRepository;
 import ru.practicum.ewm.service.CompilationAdminService;
 import ru.practicum.ewm.service.CompilationPublicService;
 import ru.practicum.ewm.utils.OffsetPageRequest;
+import ru.practicum.ewm.utils.PageCursor;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,19 +44,15 @@ import java.util.stream.Collectors;
 public class CompilationServiceImpl implements CompilationAdminService, CompilationPublicService {
     private final CompilationRepository compilationRepository;
     private final EventRepository eventRepository;
-    private final RequestRepository requestRepository;
-    private final EventStatsClient eventStatsClient;
+    private final EventViewsSource eventViewsSource;
+    private final PinnedCompilationsCache pinnedCompilationsCache;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Override
     public CompilationDto createCompilation(NewCompilationDto newCompilationDto) {
         List<Event> events = new ArrayList<>();
         if (newCompilationDto.getEvents() != null) {
-            for (Long eventId : newCompilationDto.getEvents()) {
-                Event event = eventRepository.findById(eventId)
-                        .orElseThrow(() -> new NotFoundException("Событие не найдено.",
-                                String.format("Событие с ID = %d не существует.", eventId)));
-                events.add(event);
-            }
+            events = getEventsByIds(newCompilationDto.getEvents());
         }
         Compilation compilation = Compilation.builder()
                 .events(events)
@@ -61,8 +66,9 @@ public class CompilationServiceImpl implements CompilationAdminService, Compilat
                     "Подборка с таким title уже существует!");
         }
         log.debug("Создана подборка: " + compilation);
+        applicationEventPublisher.publishEvent(new CompilationsChangedEvent(
+                String.format("создана подборка с ID = %d", compilation.getId())));
         CompilationDto compilationDto = CompilationMapper.fromCompilationToCompilationDto(compilation);
-        setConfirmedRequest(compilationDto);
         setViews(compilationDto);
         return compilationDto;
     }
@@ -73,6 +79,8 @@ public class CompilationServiceImpl implements CompilationAdminService, Compilat
                 .orElseThrow(() -> new NotFoundException("Подборка не найдена.",
                         String.format("Подборки с ID = %d не существует.", compId)));
         compilationRepository.deleteById(compilation.getId());
+        applicationEventPublisher.publishEvent(new CompilationsChangedEvent(
+                String.format("удалена подборка с ID = %d", compId)));
     }
 
     @Override
@@ -81,14 +89,7 @@ public class CompilationServiceImpl implements CompilationAdminService, Compilat
                 .orElseThrow(() -> new NotFoundException("Подборка не найдена.",
                         String.format("Подборки с ID = %d не существует.", compId)));
         if (updateCompilationRequest.getEvents() != null) {
-            List<Event> events = new ArrayList<>();
-            for (Long eventId : updateCompilationRequest.getEvents()) {
-                Event event = eventRepository.findById(eventId)
-                        .orElseThrow(() -> new NotFoundException("Событие не найдено.",
-                                String.format("Событие с ID = %d не существует.", eventId)));
-                events.add(event);
-            }
-            compilation.setEvents(events);
+            compilation.setEvents(getEventsByIds(updateCompilationRequest.getEvents()));
         }
         if (updateCompilationRequest.getPinned() != null) {
             compilation.setPinned(updateCompilationRequest.getPinned());
@@ -98,18 +99,29 @@ public class CompilationServiceImpl implements CompilationAdminService, Compilat
         }
         CompilationDto compilationDto = CompilationMapper.fromCompilationToCompilationDto(compilationRepository
                 .save(compilation));
-        setConfirmedRequest(compilationDto);
+        applicationEventPublisher.publishEvent(new CompilationsChangedEvent(
+                String.format("обновлена подборка с ID = %d", compId)));
         setViews(compilationDto);
         return compilationDto;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size) {
-        List<Compilation> compilations = compilationRepository.getCompilations(pinned,
-                new OffsetPageRequest(from, size));
-        return compilations.stream().map(CompilationMapper::fromCompilationToCompilationDto)
-                .peek(this::setConfirmedRequest).peek(this::setViews).collect(Collectors.toList());
+    public List<CompilationDto> getCompilations(Boolean pinned, Integer from, Integer size, PageCursor after) {
+        if (Boolean.TRUE.equals(pinned)) {
+            PinnedCompilationsCache.Page page = new PinnedCompilationsCache.Page(after == null ? from : 0, size,
+                    PageCursor.getId(after));
+            List<CompilationDto> compilationDtos = pinnedCompilationsCache.get(page);
+            if (compilationDtos == null) {
+                long generation = pinnedCompilationsCache.getGeneration();
+                compilationDtos = getPinnedCompilations(page);
+                pinnedCompilationsCache.put(page, generation, compilationDtos);
+            }
+            return compilationDtos;
+        }
+        List<Compilation> compilations = compilationRepository.getCompilations(pinned, PageCursor.getId(after),
+                OffsetPageRequest.of(from, size, after, Sort.by("id")));
+        return toCompilationDtos(compilations);
     }
 
     @Override
@@ -118,31 +130,79 @@ public class CompilationServiceImpl implements CompilationAdminService, Compilat
         Compilation compilation = compilationRepository.findById(compId)
                 .orElseThrow(() -> new NotFoundException("Подборка не найдена.",
                         String.format("Подборки с ID = %d не существует.", compId)));
-        CompilationDto compilationDto = CompilationMapper.fromCompilationToCompilationDto(compilation);
-        setConfirmedRequest(compilationDto);
-        setViews(compilationDto);
-        return compilationDto;
+        return toCompilationDtos(List.of(compilation)).get(0);
     }
 
-    private void setConfirmedRequest(CompilationDto compilationDto) {
-        if (!compilationDto.getEvents().isEmpty()) {
-            for (EventShortDto eventShortDto : compilationDto.getEvents()) {
-                eventShortDto.setConfirmedRequests(getConfirmedRequest(eventShortDto.getId()));
+    @Override
+    @Transactional(readOnly = true)
+    public int refreshPinnedCompilations() {
+        long generation = pinnedCompilationsCache.getGeneration();
+        int refreshed = 0;
+        for (PinnedCompilationsCache.Page page : pinnedCompilationsCache.getPages()) {
+            if (!pinnedCompilationsCache.put(page, generation, getPinnedCompilations(page))) {
+                break;
             }
+            refreshed++;
         }
+        return refreshed;
     }
 
-    private Integer getConfirmedRequest(Long eventId) {
-        Integer confirmedRequest = requestRepository.getCountApprovedRequestsByEventId(eventId);
-        if (confirmedRequest == null) {
-            confirmedRequest = 0;
+    private List<Event> getEventsByIds(List<Long> eventIds) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(eventIds);
+        if (uniqueIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Event> eventsById = eventRepository.getEventsByIdIn(uniqueIds).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        List<Long> missingIds = uniqueIds.stream()
+                .filter(eventId -> !eventsById.containsKey(eventId))
+                .collect(Collectors.toList());
+        if (missingIds.size() == 1) {
+            throw new NotFoundException("Событие не найдено.",
+                    String.format("Событие с ID = %d не существует.", missingIds.get(0)));
+        }
+        if (!missingIds.isEmpty()) {
+            throw new NotFoundException("События не найдены.",
+                    String.format("События с ID = %s не существуют.", missingIds));
+        }
+        return uniqueIds.stream().map(eventsById::get).collect(Collectors.toList());
+    }
+
+    private List<CompilationDto> getPinnedCompilations(PinnedCompilationsCache.Page page) {
+        return toCompilationDtos(compilationRepository.getCompilations(true, page.getAfterId(),
+                new OffsetPageRequest(page.getFrom(), page.getSize(), Sort.by("id"))));
+    }
+
+    private List<CompilationDto> toCompilationDtos(List<Compilation> compilations) {
+        if (compilations.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, List<EventShortDto>> eventsByCompilation = new HashMap<>();
+        Map<Long, EventShortDto> eventsById = new HashMap<>();
+        for (CompilationEvent compilationEvent : compilationRepository.getCompilationEvents(compilations.stream()
+                .map(Compilation::getId).collect(Collectors.toList()))) {
+            EventShortDto eventShortDto = EventMapper.fromEventShortToEventShortDto(compilationEvent);
+            eventsByCompilation.computeIfAbsent(compilationEvent.getCompilationId(), key -> new ArrayList<>())
+                    .add(eventShortDto);
+            eventsById.putIfAbsent(eventShortDto.getId(), eventShortDto);
+        }
+        if (!eventsById.isEmpty()) {
+            Map<Long, Long> views = eventViewsSource.getViewsByIds(new ArrayList<>(eventsById.keySet()));
+            for (List<EventShortDto> eventShortDtos : eventsByCompilation.values()) {
+                for (EventShortDto eventShortDto : eventShortDtos) {
+                    eventShortDto.setViews(Objects.requireNonNullElse(views.get(eventShortDto.getId()), 0L));
+                }
+            }
         }
-        return confirmedRequest;
+        return compilations.stream()
+                .map(compilation -> CompilationMapper.fromCompilationToCompilationDto(compilation,
+                        eventsByCompilation.getOrDefault(compilation.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
     }
 
     private void setViews(CompilationDto compilationDto) {
         if (!compilationDto.getEvents().isEmpty()) {
-            Map<Long, Long> views = eventStatsClient.getViewsByIds(
+            Map<Long, Long> views = eventViewsSource.getViewsByIds(
                     compilationDto.getEvents().stream().map(EventShortDto::getId)
                             .collect(Collectors.toList()));
             for (EventShortDto eventShortDto : compilationDto.getEvents()) {
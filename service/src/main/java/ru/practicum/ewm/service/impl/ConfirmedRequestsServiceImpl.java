@@ -0,0 +1,58 @@
+package ru.practicum.ewm.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.model.ConfirmedRequestsCount;
+import ru.practicum.ewm.model.Event;
+import ru.practicum.ewm.repository.EventRepository;
+import ru.practicum.ewm.repository.RequestRepository;
+import ru.practicum.ewm.service.ConfirmedRequestsService;
+import ru.practicum.ewm.utils.OffsetPageRequest;
+
+import java.util.*;
+
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ConfirmedRequestsServiceImpl implements ConfirmedRequestsService {
+    private final RequestRepository requestRepository;
+    private final EventRepository eventRepository;
+
+    @Override
+    public Map<Long, Integer> getConfirmedRequests(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, Integer> confirmedRequests = new HashMap<>();
+        for (Long eventId : eventIds) {
+            confirmedRequests.put(eventId, 0);
+        }
+        for (ConfirmedRequestsCount count : requestRepository.getCountConfirmedRequestsByEventIds(eventIds)) {
+            confirmedRequests.put(count.getEventId(), count.getCount().intValue());
+        }
+        return confirmedRequests;
+    }
+
+    @Override
+    public List<ConfirmedRequestsCount> getStoredConfirmedRequests(Long afterEventId, Integer size) {
+        return eventRepository.getConfirmedRequestsAfterId(afterEventId, new OffsetPageRequest(0, size));
+    }
+
+    @Override
+    @Transactional
+    public void repairConfirmedRequests(Long eventId) {
+        Optional<Event> event = eventRepository.getEventByIdForUpdate(eventId);
+        if (event.isEmpty()) {
+            return;
+        }
+        Integer confirmedRequests = requestRepository.getCountApprovedRequestsByEventId(eventId);
+        if (!confirmedRequests.equals(event.get().getConfirmedRequests())) {
+            log.info("Исправлено количество подтвержденных заявок события с ID = {}: {} -> {}", eventId,
+                    event.get().getConfirmedRequests(), confirmedRequests);
+            event.get().setConfirmedRequests(confirmedRequests);
+        }
+    }
+}
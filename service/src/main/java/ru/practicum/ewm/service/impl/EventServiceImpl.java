@@ -2,14 +2,18 @@ package ru.practicum.ewm.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.ewm.client.EventStatsClient;
+import ru.practicum.ewm.client.EventHitPublisher;
+import ru.practicum.ewm.client.EventViewsSource;
 import ru.practicum.ewm.dto.*;
 import ru.practicum.ewm.exception.model.DateRangeException;
 import ru.practicum.ewm.exception.model.EventDateException;
 import ru.practicum.ewm.exception.model.EventStateException;
 import ru.practicum.ewm.exception.model.NotFoundException;
+import ru.practicum.ewm.exception.model.PageCursorException;
 import ru.practicum.ewm.mapper.CommentMapper;
 import ru.practicum.ewm.mapper.EventMapper;
 import ru.practicum.ewm.model.*;
@@ -18,6 +22,7 @@ import ru.practicum.ewm.service.EventAdminService;
 import ru.practicum.ewm.service.EventPrivateService;
 import ru.practicum.ewm.service.EventPublicService;
 import ru.practicum.ewm.utils.OffsetPageRequest;
+import ru.practicum.ewm.utils.PageCursor;
 
 import javax.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
@@ -35,9 +40,11 @@ public class EventServiceImpl implements EventPrivateService, EventAdminService,
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final LocationRepository locationRepository;
-    private final RequestRepository requestRepository;
-    private final EventStatsClient eventStatsClient;
+    private final EventViewsSource eventViewsSource;
+    private final EventHitPublisher eventHitPublisher;
     private final CommentRepository commentRepository;
+    private final EventViewsRepository eventViewsRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Override
     public EventFullDto createEvent(Long userId, NewEventDto newEventDto) {
@@ -63,7 +70,9 @@ public class EventServiceImpl implements EventPrivateService, EventAdminService,
         event.setLocation(location);
         event.setState(EventState.PENDING);
         log.debug("Создание события: " + event);
-        return EventMapper.fromEventToEventFullDto(eventRepository.save(event));
+        event = eventRepository.save(event);
+        eventViewsRepository.save(EventViews.builder().eventId(event.getId()).views(0L).build());
+        return EventMapper.fromEventToEventFullDto(event);
     }
 
     @Override
@@ -71,7 +80,7 @@ public class EventServiceImpl implements EventPrivateService, EventAdminService,
             UpdateEventUserRequest updateEventUserRequest) {
         User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден.",
                 String.format("Пользователя с ID = %d не существует.", userId)));
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.getEventByIdForUpdate(eventId)
                 .orElseThrow(() -> new NotFoundException("Событие не найдено.",
                         String.format("Событие с ID = %d не существует.", eventId)));
         if (!event.getInitiator().getId().equals(user.getId())) {
@@ -122,22 +131,22 @@ public class EventServiceImpl implements EventPrivateService, EventAdminService,
             } else {
                 event.setState(EventState.CANCELED);
             }
+            applicationEventPublisher.publishEvent(new CompilationsChangedEvent(
+                    String.format("изменено состояние события с ID = %d", eventId)));
         }
         EventFullDto eventFullDto = EventMapper.fromEventToEventFullDto(eventRepository.save(event));
-        eventFullDto.setConfirmedRequests(getConfirmedRequest(eventFullDto.getId()));
         setViewsEventFullDto(List.of(eventFullDto));
         return eventFullDto;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<EventShortDto> getEventsByUserId(Long userId, Integer from, Integer size) {
+    public List<EventShortDto> getEventsByUserId(Long userId, Integer from, Integer size, PageCursor after) {
         User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден.",
                 String.format("Пользователя с ID = %d не существует.", userId)));
-        List<EventShortDto> eventShortDtos = eventRepository.getEventsByUserId(user.getId(),
-                        new OffsetPageRequest(from, size))
-                .stream().map(EventMapper::fromEventToEventShortDto)
-                .peek(e -> e.setConfirmedRequests(getConfirmedRequest(e.getId())))
+        List<EventShortDto> eventShortDtos = eventRepository.getEventsByUserId(user.getId(), PageCursor.getId(after),
+                        OffsetPageRequest.of(from, size, after, Sort.by("id")))
+                .stream().map(EventMapper::fromEventShortToEventShortDto)
                 .collect(Collectors.toList());
         setViewsEventShortDto(eventShortDtos);
         return eventShortDtos;
@@ -156,7 +165,6 @@ public class EventServiceImpl implements EventPrivateService, EventAdminService,
                     String.format("Событие с ID = %d не существует.", eventId));
         }
         EventFullDto eventFullDto = EventMapper.fromEventToEventFullDto(event);
-        eventFullDto.setConfirmedRequests(getConfirmedRequest(eventFullDto.getId()));
         setViewsEventFullDto(List.of(eventFullDto));
         setComments(eventFullDto);
         return eventFullDto;
@@ -164,7 +172,7 @@ public class EventServiceImpl implements EventPrivateService, EventAdminService,
 
     @Override
     public EventFullDto updateEventAdmin(Long eventId, UpdateEventAdminRequest updateEventAdminRequest) {
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.getEventByIdForUpdate(eventId)
                 .orElseThrow(() -> new NotFoundException("Событие не найдено.",
                         String.format("Событие с ID = %d не существует.", eventId)));
         if (updateEventAdminRequest.getEventDate() != null) {
@@ -216,9 +224,10 @@ public class EventServiceImpl implements EventPrivateService, EventAdminService,
                 }
                 event.setState(EventState.CANCELED);
             }
+            applicationEventPublisher.publishEvent(new CompilationsChangedEvent(
+                    String.format("изменено состояние события с ID = %d", eventId)));
         }
         EventFullDto eventFullDto = EventMapper.fromEventToEventFullDto(eventRepository.save(event));
-        eventFullDto.setConfirmedRequests(getConfirmedRequest(eventFullDto.getId()));
         setViewsEventFullDto(List.of(eventFullDto));
         return eventFullDto;
     }
@@ -226,11 +235,10 @@ public class EventServiceImpl implements EventPrivateService, EventAdminService,
     @Override
     @Transactional(readOnly = true)
     public List<EventFullDto> getEventsAdmin(List<Long> users, List<EventState> states, List<Long> categories,
-            LocalDateTime rangeStart, LocalDateTime rangeEnd, Integer from, Integer size) {
+            LocalDateTime rangeStart, LocalDateTime rangeEnd, Integer from, Integer size, PageCursor after) {
         List<EventFullDto> eventFullDtos = eventRepository.getEventsAdmin(users, states, categories, rangeStart,
-                        rangeEnd, new OffsetPageRequest(from, size))
+                        rangeEnd, PageCursor.getId(after), OffsetPageRequest.of(from, size, after, Sort.by("id")))
                 .stream().map(EventMapper::fromEventToEventFullDto)
-                .peek(e -> e.setConfirmedRequests(getConfirmedRequest(e.getId())))
                 .collect(Collectors.toList());
         setViewsEventFullDto(eventFullDtos);
         return eventFullDtos;
@@ -240,38 +248,37 @@ public class EventServiceImpl implements EventPrivateService, EventAdminService,
     @Transactional(readOnly = true)
     public List<EventShortDto> getEvents(String text, List<Long> categories, Boolean paid, LocalDateTime rangeStart,
             LocalDateTime rangeEnd, Boolean onlyAvailable, EventSort sort, Integer from, Integer size,
-            HttpServletRequest request) {
+            PageCursor after, HttpServletRequest request) {
         if (rangeStart != null && rangeEnd != null && rangeStart.isAfter(rangeEnd)) {
             throw new DateRangeException("rangeStart позже rangeEnd");
         }
-        List<Event> events;
         if (rangeStart == null && rangeEnd == null) {
-            events = eventRepository.getEvents(text, categories, paid, LocalDateTime.now(), null,
-                    new OffsetPageRequest(from, size));
-        } else {
-            events = eventRepository.getEvents(text, categories, paid, rangeStart, rangeEnd,
-                    new OffsetPageRequest(from, size));
-        }
-        List<EventShortDto> eventShortDtos = new ArrayList<>();
-        for (Event event : events) {
-            Integer confirmedRequest = getConfirmedRequest(event.getId());
-            if (onlyAvailable && confirmedRequest.equals(event.getParticipantLimit())) {
-                continue;
-            }
-            EventShortDto eventShortDto = EventMapper.fromEventToEventShortDto(event);
-            eventShortDto.setConfirmedRequests(confirmedRequest);
-            eventShortDtos.add(eventShortDto);
+            rangeStart = LocalDateTime.now();
         }
-        setViewsEventShortDto(eventShortDtos);
-        if (sort != null && sort.equals(EventSort.EVENT_DATE)) {
-            eventShortDtos = eventShortDtos.stream().sorted(Comparator.comparing(EventShortDto::getEventDate))
-                    .collect(Collectors.toList());
+        List<EventShort> events;
+        if (after != null && (EventSort.VIEWS.equals(sort) || EventSort.RELEVANCE.equals(sort))) {
+            throw new PageCursorException("Параметр after не поддерживается для сортировки " + sort + ".");
         }
         if (sort != null && sort.equals(EventSort.VIEWS)) {
-            eventShortDtos = eventShortDtos.stream().sorted(Comparator.comparing(EventShortDto::getViews))
-                    .collect(Collectors.toList());
+            events = eventRepository.getEventsOrderByViews(text, categories, paid, rangeStart, rangeEnd,
+                    onlyAvailable, new OffsetPageRequest(from, size));
+        } else if (sort != null && sort.equals(EventSort.RELEVANCE) && text != null) {
+            events = eventRepository.getEventsOrderByRelevance(text, categories, paid, rangeStart, rangeEnd,
+                    onlyAvailable, new OffsetPageRequest(from, size));
+        } else {
+            boolean byEventDate = sort != null && sort.equals(EventSort.EVENT_DATE);
+            if (after != null && after.hasDateKey() != byEventDate) {
+                throw new PageCursorException("Параметр after не соответствует сортировке " + sort + ".");
+            }
+            Sort order = byEventDate ? Sort.by("eventDate", "id") : Sort.by("id");
+            events = eventRepository.getEvents(text, categories, paid, rangeStart, rangeEnd, onlyAvailable,
+                    PageCursor.getDateKey(after), PageCursor.getId(after),
+                    OffsetPageRequest.of(from, size, after, order));
         }
-        eventStatsClient.saveHit(EndpointHitDto.builder()
+        List<EventShortDto> eventShortDtos = events.stream().map(EventMapper::fromEventShortToEventShortDto)
+                .collect(Collectors.toList());
+        setViewsEventShortDto(eventShortDtos);
+        eventHitPublisher.publish(EndpointHitDto.builder()
                 .app(APP_NAME)
                 .ip(request.getRemoteAddr())
                 .uri(request.getRequestURI())
@@ -291,11 +298,10 @@ public class EventServiceImpl implements EventPrivateService, EventAdminService,
                     String.format("Событие с ID = %d не существует.", event.getId()));
         }
         EventFullDto eventFullDto = EventMapper.fromEventToEventFullDto(event);
-        eventFullDto.setConfirmedRequests(getConfirmedRequest(event.getId()));
         setComments(eventFullDto);
         setViewsEventFullDto(List.of(eventFullDto));
         eventFullDto.setViews(eventFullDto.getViews() + 1L);
-        eventStatsClient.saveHit(EndpointHitDto.builder()
+        eventHitPublisher.publish(EndpointHitDto.builder()
                 .app(APP_NAME)
                 .ip(request.getRemoteAddr())
                 .uri(request.getRequestURI())
@@ -319,17 +325,9 @@ public class EventServiceImpl implements EventPrivateService, EventAdminService,
         event.setLocation(location);
     }
 
-    private Integer getConfirmedRequest(Long eventId) {
-        Integer confirmedRequest = requestRepository.getCountApprovedRequestsByEventId(eventId);
-        if (confirmedRequest == null) {
-            confirmedRequest = 0;
-        }
-        return confirmedRequest;
-    }
-
     private void setViewsEventShortDto(List<EventShortDto> eventShortDtos) {
         if (!eventShortDtos.isEmpty()) {
-            Map<Long, Long> views = eventStatsClient.getViewsByIds(eventShortDtos.stream().map(EventShortDto::getId)
+            Map<Long, Long> views = eventViewsSource.getViewsByIds(eventShortDtos.stream().map(EventShortDto::getId)
                     .collect(Collectors.toList()));
             for (EventShortDto eventShortDto : eventShortDtos) {
                 Long view = views.get(eventShortDto.getId());
@@ -340,7 +338,7 @@ public class EventServiceImpl implements EventPrivateService, EventAdminService,
 
     private void setViewsEventFullDto(List<EventFullDto> eventFullDtos) {
         if (!eventFullDtos.isEmpty()) {
-            Map<Long, Long> views = eventStatsClient.getViewsByIds(eventFullDtos.stream().map(EventFullDto::getId)
+            Map<Long, Long> views = eventViewsSource.getViewsByIds(eventFullDtos.stream().map(EventFullDto::getId)
                     .collect(Collectors.toList()));
             for (EventFullDto eventFullDto : eventFullDtos) {
                 Long view = views.get(eventFullDto.getId());
@@ -0,0 +1,63 @@
+package ru.practicum.ewm.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.model.EventViews;
+import ru.practicum.ewm.repository.EventRepository;
+import ru.practicum.ewm.repository.EventViewsRepository;
+import ru.practicum.ewm.service.EventViewsService;
+import ru.practicum.ewm.utils.OffsetPageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class EventViewsServiceImpl implements EventViewsService {
+    private final EventRepository eventRepository;
+    private final EventViewsRepository eventViewsRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> getPublishedEventIds(Long afterEventId, Integer size) {
+        return eventRepository.getPublishedEventIdsAfterId(afterEventId, new OffsetPageRequest(0, size));
+    }
+
+    @Override
+    public void saveViews(Map<Long, Long> views, LocalDateTime snapshotTime) {
+        List<EventViews> existingViews = eventViewsRepository.getViewsForUpdate(views.keySet());
+        for (EventViews eventViews : existingViews) {
+            if (eventViews.getUpdatedOn() == null || !eventViews.getUpdatedOn().isAfter(snapshotTime)) {
+                eventViews.setViews(views.get(eventViews.getEventId()));
+                eventViews.setUpdatedOn(snapshotTime);
+            }
+        }
+        Set<Long> existingIds = existingViews.stream().map(EventViews::getEventId).collect(Collectors.toSet());
+        eventViewsRepository.saveAll(views.entrySet().stream()
+                .filter(entry -> !existingIds.contains(entry.getKey()))
+                .map(entry -> EventViews.builder().eventId(entry.getKey()).views(entry.getValue())
+                        .updatedOn(snapshotTime).build())
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Long> getViews(List<Long> eventIds) {
+        return eventViewsRepository.findAllById(eventIds).stream()
+                .collect(Collectors.toMap(EventViews::getEventId, EventViews::getViews));
+    }
+
+    @Override
+    public void updateViews(Map<Long, Long> views) {
+        LocalDateTime updatedOn = LocalDateTime.now();
+        for (EventViews eventViews : eventViewsRepository.getViewsForUpdate(views.keySet())) {
+            eventViews.setViews(views.get(eventViews.getEventId()));
+            eventViews.setUpdatedOn(updatedOn);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.ewm.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.ewm.dto.CategoryDto;
+import ru.practicum.ewm.dto.CompilationDto;
+import ru.practicum.ewm.dto.EventShortDto;
+import ru.practicum.ewm.dto.UserShortDto;
+import ru.practicum.ewm.model.CompilationsChangedEvent;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class PinnedCompilationsCache {
+    private final int maxSize;
+    private final LinkedHashMap<Page, List<CompilationDto>> pages = new LinkedHashMap<>(16, 0.75F, true);
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+    private final Counter evictions;
+    private long generation;
+
+    public PinnedCompilationsCache(@Value("${ewm.compilations.cache.max-size:100}") int maxSize,
+                                   MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.hits = meterRegistry.counter("ewm.compilations.cache.hits");
+        this.misses = meterRegistry.counter("ewm.compilations.cache.misses");
+        this.invalidations = meterRegistry.counter("ewm.compilations.cache.invalidations");
+        this.evictions = meterRegistry.counter("ewm.compilations.cache.evictions");
+        Gauge.builder("ewm.compilations.cache.size", this, PinnedCompilationsCache::size).register(meterRegistry);
+    }
+
+    public synchronized List<CompilationDto> get(Page page) {
+        List<CompilationDto> compilationDtos = pages.get(page);
+        if (compilationDtos == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copyCompilations(compilationDtos);
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    public synchronized List<Page> getPages() {
+        return new ArrayList<>(pages.keySet());
+    }
+
+    public synchronized boolean put(Page page, long loadedGeneration, List<CompilationDto> compilationDtos) {
+        if (loadedGeneration != generation) {
+            return false;
+        }
+        pages.put(page, List.copyOf(copyCompilations(compilationDtos)));
+        Iterator<Page> eldest = pages.keySet().iterator();
+        while (pages.size() > maxSize) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+        return true;
+    }
+
+    public synchronized void invalidate() {
+        generation++;
+        pages.clear();
+        invalidations.increment();
+    }
+
+    public synchronized int size() {
+        return pages.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCompilationsChanged(CompilationsChangedEvent event) {
+        invalidate();
+        log.debug("Кэш закрепленных подборок сброшен: {}", event.getReason());
+    }
+
+    private List<CompilationDto> copyCompilations(List<CompilationDto> compilationDtos) {
+        return compilationDtos.stream()
+                .map(compilationDto -> CompilationDto.builder()
+                        .id(compilationDto.getId())
+                        .pinned(compilationDto.getPinned())
+                        .title(compilationDto.getTitle())
+                        .events(compilationDto.getEvents() == null ? null : compilationDto.getEvents().stream()
+                                .map(this::copyEvent).collect(Collectors.toList()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private EventShortDto copyEvent(EventShortDto eventShortDto) {
+        return EventShortDto.builder()
+                .annotation(eventShortDto.getAnnotation())
+                .category(eventShortDto.getCategory() == null ? null : CategoryDto.builder()
+                        .id(eventShortDto.getCategory().getId())
+                        .name(eventShortDto.getCategory().getName())
+                        .build())
+                .confirmedRequests(eventShortDto.getConfirmedRequests())
+                .eventDate(eventShortDto.getEventDate())
+                .id(eventShortDto.getId())
+                .initiator(eventShortDto.getInitiator() == null ? null : UserShortDto.builder()
+                        .id(eventShortDto.getInitiator().getId())
+                        .name(eventShortDto.getInitiator().getName())
+                        .build())
+                .paid(eventShortDto.getPaid())
+                .title(eventShortDto.getTitle())
+                .views(eventShortDto.getViews())
+                .build();
+    }
+
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    public static class Page {
+        private final Integer from;
+        private final Integer size;
+        private final Long afterId;
+    }
+}
@@ -37,7 +37,7 @@ public class RequestServiceImpl implements RequestService {
     public ParticipationRequestDto createRequest(Long userId, Long eventId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден.",
                 String.format("Пользователя с ID = %d не существует.", userId)));
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.getEventByIdForUpdate(eventId)
                 .orElseThrow(() -> new NotFoundException("Событие не найдено.",
                         String.format("Событие с ID = %d не существует.", eventId)));
         if (!event.getState().equals(EventState.PUBLISHED)) {
@@ -52,7 +52,7 @@ public class RequestServiceImpl implements RequestService {
                             user.getId(), event.getId()));
         }
         Integer participantLimit = event.getParticipantLimit();
-        Integer confirmedRequests = requestRepository.getCountApprovedRequestsByEventId(event.getId());
+        Integer confirmedRequests = event.getConfirmedRequests();
         if (!participantLimit.equals(0) && !(confirmedRequests < participantLimit)) {
             throw new RequestException("Невозможно создать запрос.", "Достигнут лимит запросов на участие.");
         }
@@ -63,6 +63,9 @@ public class RequestServiceImpl implements RequestService {
                 .status(!event.getRequestModeration() || event.getParticipantLimit() == 0
                         ? EventRequestStatus.CONFIRMED : EventRequestStatus.PENDING)
                 .build();
+        if (request.getStatus().equals(EventRequestStatus.CONFIRMED)) {
+            event.setConfirmedRequests(confirmedRequests + 1);
+        }
         return RequestMapper.fromRequestToParticipationRequestDto(requestRepository.save(request));
     }
 
@@ -77,6 +80,10 @@ public class RequestServiceImpl implements RequestService {
             throw new NotFoundException("Запрос не найден.",
                     String.format("Запрос с ID = %d не существует.", requestId));
         }
+        if (request.getStatus().equals(EventRequestStatus.CONFIRMED)) {
+            eventRepository.getEventByIdForUpdate(request.getEvent())
+                    .ifPresent(event -> event.setConfirmedRequests(event.getConfirmedRequests() - 1));
+        }
         request.setStatus(EventRequestStatus.CANCELED);
         return RequestMapper.fromRequestToParticipationRequestDto(requestRepository.save(request));
     }
@@ -111,7 +118,7 @@ public class RequestServiceImpl implements RequestService {
             EventRequestStatusUpdateRequest eventRequestStatusUpdateRequest) {
         User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("Пользователь не найден.",
                 String.format("Пользователя с ID = %d не существует.", userId)));
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.getEventByIdForUpdate(eventId)
                 .orElseThrow(() -> new NotFoundException("Событие не найдено.",
                         String.format("Событие с ID = %d не существует.", eventId)));
         if (!event.getInitiator().getId().equals(user.getId())) {
@@ -125,8 +132,8 @@ public class RequestServiceImpl implements RequestService {
         Integer participantLimit = event.getParticipantLimit();
         int remainingRequestLimit = -1;
         boolean isConfirming = eventRequestUpdateStatus.equals(EventRequestUpdateStatus.CONFIRMED);
+        Integer confirmedRequests = event.getConfirmedRequests();
         if (isConfirming) {
-            Integer confirmedRequests = requestRepository.getCountApprovedRequestsByEventId(event.getId());
             if (!participantLimit.equals(0)) {
                 if (!(confirmedRequests < participantLimit)) {
                     throw new RequestException("Невозможно подтвердить запросы.",
@@ -139,7 +146,8 @@ public class RequestServiceImpl implements RequestService {
                 }
             }
         }
-        List<Request> changeableRequests = requestRepository.getRequestsByRequestIds(requestIds);
+        List<Request> changeableRequests = requestRepository.getRequestsByEventIdAndRequestIds(event.getId(),
+                requestIds);
         if (changeableRequests.size() < requestIds.size()) {
             List<Long> changeableRequestIds = changeableRequests.stream()
                     .map(Request::getId).collect(Collectors.toList());
@@ -159,6 +167,9 @@ public class RequestServiceImpl implements RequestService {
                 remainingRequestLimit--;
             }
         }
+        if (isConfirming) {
+            event.setConfirmedRequests(confirmedRequests + changeableRequests.size());
+        }
         if (remainingRequestLimit == 0) {
             List<Request> pendingRequests = requestRepository.getRequestsByEventIdAndStatus(event.getId(),
                     EventRequestStatus.PENDING);
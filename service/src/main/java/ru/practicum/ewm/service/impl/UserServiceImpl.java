@@ -3,6 +3,7 @@ package ru.practicum.ewm.service.impl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.dto.NewUserRequest;
@@ -14,6 +15,7 @@ import ru.practicum.ewm.model.User;
 import ru.practicum.ewm.repository.UserRepository;
 import ru.practicum.ewm.service.UserAdminService;
 import ru.practicum.ewm.utils.OffsetPageRequest;
+import ru.practicum.ewm.utils.PageCursor;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -48,9 +50,10 @@ public class UserServiceImpl implements UserAdminService {
 
     @Transactional(readOnly = true)
     @Override
-    public List<UserDto> getUsers(List<Long> ids, Integer from, Integer size) {
-        log.debug("Получение пользователей по параметрам ids={}, from={}, size={}.", ids, from, size);
-        return userRepository.getUsers(ids, new OffsetPageRequest(from, size)).stream()
+    public List<UserDto> getUsers(List<Long> ids, Integer from, Integer size, PageCursor after) {
+        log.debug("Получение пользователей по параметрам ids={}, from={}, size={}, after={}.", ids, from, size, after);
+        return userRepository.getUsers(ids, PageCursor.getId(after),
+                        OffsetPageRequest.of(from, size, after, Sort.by("id"))).stream()
                 .map(UserMapper::fromUserToUserDto).collect(Collectors.toList());
     }
 }
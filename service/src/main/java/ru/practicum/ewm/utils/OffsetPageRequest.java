@@ -27,6 +27,10 @@ public class OffsetPageRequest implements Pageable {
         this(offset, limit, Sort.unsorted());
     }
 
+    public static OffsetPageRequest of(int offset, int limit, PageCursor after, Sort sort) {
+        return new OffsetPageRequest(after == null ? offset : 0, limit, sort);
+    }
+
     @Override
     public int getPageNumber() {
         return offset / limit;
@@ -0,0 +1,88 @@
+package ru.practicum.ewm.utils;
+
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+public class PageCursor {
+    public static final String NEXT_PAGE_HEADER = "X-Next-After";
+    private static final String SEPARATOR = "|";
+    private final LocalDateTime dateKey;
+    private final Long id;
+
+    private PageCursor(LocalDateTime dateKey, Long id) {
+        this.dateKey = dateKey;
+        this.id = id;
+    }
+
+    public static PageCursor ofId(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor of(LocalDateTime dateKey, Long id) {
+        return new PageCursor(dateKey, id);
+    }
+
+    public static PageCursor valueOf(String token) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Некорректный курсор страницы: " + token, e);
+        }
+        int separator = decoded.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Некорректный курсор страницы: " + token);
+        }
+        try {
+            String dateKey = decoded.substring(0, separator);
+            return new PageCursor(dateKey.isEmpty() ? null : LocalDateTime.parse(dateKey),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Некорректный курсор страницы: " + token, e);
+        }
+    }
+
+    public static Long getId(PageCursor cursor) {
+        return cursor == null ? null : cursor.id;
+    }
+
+    public static LocalDateTime getDateKey(PageCursor cursor) {
+        return cursor == null ? null : cursor.dateKey;
+    }
+
+    public static <T> void setNextPageHeader(HttpServletResponse response, List<T> page, Integer size,
+            Function<T, PageCursor> cursor) {
+        if (!page.isEmpty() && page.size() == size) {
+            response.setHeader(NEXT_PAGE_HEADER, cursor.apply(page.get(page.size() - 1)).toString());
+        }
+    }
+
+    public boolean hasDateKey() {
+        return dateKey != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PageCursor that = (PageCursor) o;
+        return Objects.equals(dateKey, that.dateKey) && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dateKey, id);
+    }
+
+    @Override
+    public String toString() {
+        String value = (dateKey == null ? "" : dateKey.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,15 @@
+CREATE INDEX IF NOT EXISTS IX_REQUESTS_EVENT_STATUS ON requests (event_id, status);
+
+CREATE INDEX IF NOT EXISTS IX_REQUESTS_REQUESTER ON requests (requester);
+
+CREATE INDEX IF NOT EXISTS IX_EVENTS_INITIATOR ON events (initiator_id);
+
+CREATE INDEX IF NOT EXISTS IX_EVENTS_CATEGORY ON events (category_id);
+
+CREATE INDEX IF NOT EXISTS IX_COMMENTS_EVENT ON comments (event_id);
+
+CREATE INDEX IF NOT EXISTS IX_COMMENTS_USER ON comments (user_id);
+
+CREATE INDEX IF NOT EXISTS IX_LOCATIONS_LAT_LON ON locations (lat, lon);
+
+CREATE INDEX IF NOT EXISTS IX_COMPILATION_EVENTS_COMPILATION ON compilation_events (compilation_id);
@@ -0,0 +1,5 @@
+ALTER TABLE events ADD COLUMN IF NOT EXISTS confirmed_requests INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE events e SET confirmed_requests = (
+    SELECT COUNT(*) FROM requests r WHERE r.event_id = e.event_id AND r.status = 'CONFIRMED'
+);
@@ -0,0 +1,3 @@
+INSERT INTO event_views (event_id, views)
+SELECT e.event_id, 0 FROM events e
+WHERE NOT EXISTS (SELECT 1 FROM event_views v WHERE v.event_id = e.event_id);
@@ -0,0 +1 @@
+ALTER TABLE event_views ADD COLUMN IF NOT EXISTS updated_on TIMESTAMP WITHOUT TIME ZONE;
@@ -0,0 +1,2 @@
+ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector VARCHAR(9001)
+    GENERATED ALWAYS AS (LOWER(annotation || ' ' || description));
@@ -0,0 +1,5 @@
+ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('russian', annotation), 'A') || setweight(to_tsvector('russian', description), 'B')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS IX_EVENTS_SEARCH_VECTOR ON events USING GIN (search_vector);
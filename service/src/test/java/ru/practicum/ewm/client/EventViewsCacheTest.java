@@ -0,0 +1,116 @@
+package ru.practicum.ewm.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventViewsCacheTest {
+    @Mock
+    private EventStatsClient eventStatsClient;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void getViewsByIdsTest_whenSomeIdsCached_thenOnlyMissesLoadedInOneCall() {
+        EventViewsCache cache = new EventViewsCache(eventStatsClient, Duration.ofSeconds(30), 100, registry,
+                now::get);
+        when(eventStatsClient.getViewsByIds(List.of(1L, 2L))).thenReturn(Map.of(1L, 5L));
+        when(eventStatsClient.getViewsByIds(List.of(3L))).thenReturn(Map.of(3L, 7L));
+
+        assertEquals(Map.of(1L, 5L, 2L, 0L), cache.getViewsByIds(List.of(1L, 2L)));
+        assertEquals(Map.of(1L, 5L, 2L, 0L, 3L, 7L), cache.getViewsByIds(List.of(1L, 2L, 3L)));
+
+        verify(eventStatsClient).getViewsByIds(List.of(1L, 2L));
+        verify(eventStatsClient).getViewsByIds(List.of(3L));
+        assertEquals(2.0, registry.get("ewm.views.cache.hits").counter().count());
+        assertEquals(3.0, registry.get("ewm.views.cache.misses").counter().count());
+    }
+
+    @Test
+    void getViewsByIdsTest_whenTtlExpired_thenViewsReloaded() {
+        EventViewsCache cache = new EventViewsCache(eventStatsClient, Duration.ofSeconds(30), 100, registry,
+                now::get);
+        when(eventStatsClient.getViewsByIds(List.of(1L))).thenReturn(Map.of(1L, 5L), Map.of(1L, 6L));
+
+        assertEquals(5L, cache.getViewsByIds(List.of(1L)).get(1L));
+        now.addAndGet(Duration.ofSeconds(29).toNanos());
+        assertEquals(5L, cache.getViewsByIds(List.of(1L)).get(1L));
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+        assertEquals(6L, cache.getViewsByIds(List.of(1L)).get(1L));
+
+        verify(eventStatsClient, times(2)).getViewsByIds(List.of(1L));
+        assertEquals(1.0, registry.get("ewm.views.cache.evictions").counter().count());
+    }
+
+    @Test
+    void getViewsByIdsTest_whenSizeExceeded_thenLeastRecentlyUsedEvicted() {
+        EventViewsCache cache = new EventViewsCache(eventStatsClient, Duration.ofSeconds(30), 2, registry,
+                now::get);
+        when(eventStatsClient.getViewsByIds(anyList())).thenReturn(Map.of());
+
+        cache.getViewsByIds(List.of(1L, 2L));
+        cache.getViewsByIds(List.of(1L));
+        cache.getViewsByIds(List.of(3L));
+        cache.getViewsByIds(List.of(1L, 3L));
+        cache.getViewsByIds(List.of(2L));
+
+        assertEquals(2, cache.size());
+        verify(eventStatsClient).getViewsByIds(List.of(2L));
+        verify(eventStatsClient, never()).getViewsByIds(List.of(1L));
+        assertEquals(2.0, registry.get("ewm.views.cache.evictions").counter().count());
+        assertEquals(2.0, registry.get("ewm.views.cache.size").gauge().value());
+    }
+
+    @Test
+    void getViewsByIdsTest_whenConcurrentMisses_thenLoadedOnce() throws Exception {
+        EventViewsCache cache = new EventViewsCache(eventStatsClient, Duration.ofSeconds(30), 100, registry,
+                now::get);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(eventStatsClient.getViewsByIds(List.of(1L))).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return Map.of(1L, 5L);
+        });
+
+        CompletableFuture<Map<Long, Long>> first = CompletableFuture.supplyAsync(
+                () -> cache.getViewsByIds(List.of(1L)));
+        assertTrue(loading.await(1, TimeUnit.SECONDS));
+        CompletableFuture<Map<Long, Long>> second = CompletableFuture.supplyAsync(
+                () -> cache.getViewsByIds(List.of(1L)));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertEquals(Map.of(1L, 5L), first.get(1, TimeUnit.SECONDS));
+        assertEquals(Map.of(1L, 5L), second.get(1, TimeUnit.SECONDS));
+        verify(eventStatsClient, times(1)).getViewsByIds(anyList());
+    }
+
+    @Test
+    void getViewsByIdsTest_whenLoadFails_thenNothingCached() {
+        EventViewsCache cache = new EventViewsCache(eventStatsClient, Duration.ofSeconds(30), 100, registry,
+                now::get);
+        when(eventStatsClient.getViewsByIds(List.of(1L)))
+                .thenThrow(new IllegalStateException("stats"))
+                .thenReturn(Map.of(1L, 5L));
+
+        assertThrows(IllegalStateException.class, () -> cache.getViewsByIds(List.of(1L)));
+        assertEquals(Map.of(1L, 5L), cache.getViewsByIds(List.of(1L)));
+        assertEquals(1, cache.size());
+    }
+}
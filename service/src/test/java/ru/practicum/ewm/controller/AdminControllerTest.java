@@ -11,6 +11,7 @@ import ru.practicum.ewm.dto.*;
 import ru.practicum.ewm.exception.model.AlreadyExistException;
 import ru.practicum.ewm.exception.model.NotFoundException;
 import ru.practicum.ewm.service.*;
+import ru.practicum.ewm.utils.PageCursor;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -19,9 +20,11 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -109,7 +112,7 @@ class AdminControllerTest {
     @Test
     void getUsersTest_whenIdsSizeIs1AndFrom0AndSize1_thenStatusIsOk() throws Exception {
         UserDto userDto = UserDto.builder().id(1L).email("test@test.com").name("test").build();
-        when(userAdminService.getUsers(any(), any(), any())).thenReturn(List.of(userDto));
+        when(userAdminService.getUsers(any(), any(), any(), any())).thenReturn(List.of(userDto));
 
         mockMvc.perform(get("/admin/users")
                 .param("ids", "1")
@@ -122,10 +125,35 @@ class AdminControllerTest {
                 .andExpect(jsonPath("$[0].email", is(userDto.getEmail())));
     }
 
+    @Test
+    void getUsersTest_whenPageIsFull_thenNextPageCursorInHeader() throws Exception {
+        UserDto userDto = UserDto.builder().id(5L).email("test@test.com").name("test").build();
+        PageCursor after = PageCursor.ofId(4L);
+        when(userAdminService.getUsers(any(), any(), any(), eq(after))).thenReturn(List.of(userDto));
+
+        mockMvc.perform(get("/admin/users")
+                        .param("size", "1")
+                        .param("after", after.toString())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.NEXT_PAGE_HEADER, PageCursor.ofId(5L).toString()))
+                .andExpect(jsonPath("$[0].id", is(5)));
+    }
+
+    @Test
+    void getUsersTest_whenAfterIsMalformed_thenStatusIsBadRequest() throws Exception {
+        mockMvc.perform(get("/admin/users")
+                        .param("after", "not-a-cursor")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getUsersTest_whenIdsSizeIsNullAndFrom0AndSize1_thenStatusIsOk() throws Exception {
         UserDto userDto = UserDto.builder().id(1L).email("test@test.com").name("test").build();
-        when(userAdminService.getUsers(any(), any(), any())).thenReturn(List.of(userDto));
+        when(userAdminService.getUsers(any(), any(), any(), any())).thenReturn(List.of(userDto));
 
         mockMvc.perform(get("/admin/users")
                         .param("from", "0")
@@ -330,7 +358,7 @@ class AdminControllerTest {
                 .requestModeration(false)
                 .title("Сплав на байдарках")
                 .build();
-        when(eventAdminService.getEventsAdmin(any(), any(), any(), any(), any(), any(), any()))
+        when(eventAdminService.getEventsAdmin(any(), any(), any(), any(), any(), any(), any(), any()))
                 .thenReturn(List.of(eventFullDto));
 
         mockMvc.perform(get("/admin/events")
@@ -381,7 +409,7 @@ class AdminControllerTest {
     @Test
     void getCommentsByEventIdTest_whenUpdate_thenStatusIsOk() throws Exception {
         CommentDto commentDto = CommentDto.builder().text("test123").build();
-        when(commentAdminService.getCommentsByEventId(any(), any(), any())).thenReturn(List.of(commentDto));
+        when(commentAdminService.getCommentsByEventId(any(), any(), any(), any())).thenReturn(List.of(commentDto));
 
         mockMvc.perform(get("/admin/events/1/comments")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -207,7 +207,7 @@ class PrivateControllerTest {
 
     @Test
     void getEventsByUserIdTest_whenSuccess_thenStatusIsOk() throws Exception {
-        when(eventPrivateService.getEventsByUserId(any(), any(), any())).thenReturn(Collections.emptyList());
+        when(eventPrivateService.getEventsByUserId(any(), any(), any(), any())).thenReturn(Collections.emptyList());
 
         mockMvc.perform(get("/users/1/events")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -319,7 +319,7 @@ class PrivateControllerTest {
     @Test
     void getCommentsByUserIdTest_whenSuccess_thenStatusIsOk() throws Exception {
         CommentDto commentDto = CommentDto.builder().text("test123").build();
-        when(commentPrivateService.getCommentsByUserId(any(), any(), any())).thenReturn(List.of(commentDto));
+        when(commentPrivateService.getCommentsByUserId(any(), any(), any(), any())).thenReturn(List.of(commentDto));
 
         mockMvc.perform(get("/users/1/comments")
                         .characterEncoding(StandardCharsets.UTF_8)
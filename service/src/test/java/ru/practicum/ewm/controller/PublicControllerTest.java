@@ -37,7 +37,7 @@ class PublicControllerTest {
     @Test
     void getCompilationsTest_whenSuccess_thenStatusIsOk() throws Exception {
         CompilationDto compilationDto = CompilationDto.builder().title("title").pinned(true).build();
-        when(compilationPublicService.getCompilations(any(), any(), any())).thenReturn(List.of(compilationDto));
+        when(compilationPublicService.getCompilations(any(), any(), any(), any())).thenReturn(List.of(compilationDto));
 
         mockMvc.perform(get("/compilations")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -59,7 +59,7 @@ class PublicControllerTest {
     @Test
     void getCategoriesTest_whenSuccess_thenStatusIsOk() throws Exception {
         CategoryDto categoryDto = CategoryDto.builder().id(1L).name("test").build();
-        when(categoryPublicService.getCategories(any(), any())).thenReturn(List.of(categoryDto));
+        when(categoryPublicService.getCategories(any(), any(), any())).thenReturn(List.of(categoryDto));
 
         mockMvc.perform(get("/categories")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -89,7 +89,7 @@ class PublicControllerTest {
                 .paid(true)
                 .title("test")
                 .build();
-        when(eventPublicService.getEvents(any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+        when(eventPublicService.getEvents(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
                 .thenReturn(List.of(eventShortDto));
 
         mockMvc.perform(get("/events")
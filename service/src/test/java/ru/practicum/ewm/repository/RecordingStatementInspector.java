@@ -0,0 +1,25 @@
+package ru.practicum.ewm.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class RecordingStatementInspector implements StatementInspector {
+    private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+    public static List<String> getStatements() {
+        return new ArrayList<>(STATEMENTS);
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+}
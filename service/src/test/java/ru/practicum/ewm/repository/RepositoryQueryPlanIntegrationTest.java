@@ -0,0 +1,180 @@
+package ru.practicum.ewm.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.model.EventRequestStatus;
+import ru.practicum.ewm.model.EventShort;
+import ru.practicum.ewm.model.EventState;
+import ru.practicum.ewm.utils.OffsetPageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.ewm.repository.RecordingStatementInspector")
+@ActiveProfiles("integrationtest")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class RepositoryQueryPlanIntegrationTest {
+    private static final int USERS = 1000;
+    private static final int EVENTS = 5000;
+    private static final int REQUESTS = 20000;
+    private static final int COMMENTS = 5000;
+    private final JdbcTemplate jdbcTemplate;
+    private final EventRepository eventRepository;
+    private final RequestRepository requestRepository;
+    private final CommentRepository commentRepository;
+    private final LocationRepository locationRepository;
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final CompilationRepository compilationRepository;
+    private Long userId;
+    private Long categoryId;
+    private Long eventId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO users (user_name, email) "
+                + "SELECT 'user' || X, 'user' || X || '@email.com' FROM SYSTEM_RANGE(1, ?)", USERS);
+        jdbcTemplate.update("INSERT INTO categories (category_name) SELECT 'category' || X FROM SYSTEM_RANGE(1, 50)");
+        jdbcTemplate.update("INSERT INTO locations (lat, lon) SELECT X, X FROM SYSTEM_RANGE(1, ?)", EVENTS);
+        userId = jdbcTemplate.queryForObject("SELECT MIN(user_id) FROM users", Long.class);
+        categoryId = jdbcTemplate.queryForObject("SELECT MIN(category_id) FROM categories", Long.class);
+        Long locationId = jdbcTemplate.queryForObject("SELECT MIN(location_id) FROM locations", Long.class);
+        jdbcTemplate.update("INSERT INTO events (title, annotation, category_id, created_on, description, event_date, "
+                + "initiator_id, location_id, paid, participant_limit, published_on, request_moderation, state) "
+                + "SELECT 'title', 'annotation' || X, ? + MOD(X, 50), NOW(), 'description' || X, "
+                + "DATEADD('HOUR', X, NOW()), ? + MOD(X, ?), ? + X - 1, FALSE, 0, NOW(), FALSE, "
+                + "CASE WHEN MOD(X, 10) = 0 THEN 'PUBLISHED' ELSE 'PENDING' END FROM SYSTEM_RANGE(1, ?)",
+                categoryId, userId, USERS, locationId, EVENTS);
+        eventId = jdbcTemplate.queryForObject("SELECT MIN(event_id) FROM events", Long.class);
+        jdbcTemplate.update("INSERT INTO requests (event_id, requester, status, created) "
+                + "SELECT ? + MOD(X, ?), ? + MOD(X + X / ?, ?), "
+                + "CASE WHEN MOD(X, 3) = 0 THEN 'CONFIRMED' ELSE 'PENDING' END, NOW() FROM SYSTEM_RANGE(1, ?)",
+                eventId, EVENTS, userId, EVENTS, USERS, REQUESTS);
+        jdbcTemplate.update("INSERT INTO comments (event_id, user_id, comments_text, created) "
+                + "SELECT ? + MOD(X, ?), ? + MOD(X, ?), 'comment' || X, NOW() FROM SYSTEM_RANGE(1, ?)",
+                eventId, EVENTS, userId, USERS, COMMENTS);
+    }
+
+    @Test
+    void requestRepositoryTest_whenLargeFixture_thenQueriesDoNotScanTable() {
+        assertNoTableScan(() -> requestRepository.getRequestByUserIdAndEventId(userId, eventId));
+        assertNoTableScan(() -> requestRepository.getCountApprovedRequestsByEventId(eventId));
+        assertNoTableScan(() -> requestRepository.getCountConfirmedRequestsByEventIds(List.of(eventId, eventId + 1)));
+        assertNoTableScan(() -> requestRepository.getRequestsByUserId(userId));
+        assertNoTableScan(() -> requestRepository.getRequestsByEventId(eventId));
+        assertNoTableScan(() -> requestRepository.getRequestsByEventIdAndRequestIds(eventId,
+                List.of(1L, 2L)));
+        assertNoTableScan(() -> requestRepository.getRequestsByEventIdAndStatus(eventId,
+                EventRequestStatus.PENDING));
+    }
+
+    @Test
+    void eventRepositoryTest_whenLargeFixture_thenQueriesDoNotScanTable() {
+        LocalDateTime now = LocalDateTime.now();
+        assertNoTableScan(() -> eventRepository.getEventByIdForUpdate(eventId));
+        assertNoTableScan(() -> eventRepository.getCountEventsByCategoryId(categoryId));
+        assertNoTableScan(() -> eventRepository.getEventsByUserId(userId, null, new OffsetPageRequest(0, 10)));
+        assertNoTableScan(() -> eventRepository.getEvents(null, null, null, now, null, false, null, null,
+                new OffsetPageRequest(0, 10)));
+        assertNoTableScan(() -> eventRepository.getConfirmedRequestsAfterId(eventId, new OffsetPageRequest(0, 10)));
+        assertNoTableScan(() -> eventRepository.getPublishedEventIdsAfterId(eventId, new OffsetPageRequest(0, 10)));
+        assertNoTableScan(() -> eventRepository.getEventsByIdIn(List.of(eventId, eventId + 1)));
+        assertNoTableScan(() -> eventRepository.getEventsAdmin(List.of(userId), null, null, null, null, null,
+                new OffsetPageRequest(0, 10, Sort.by("id"))));
+        assertNoTableScan(() -> eventRepository.getEventsAdmin(null, List.of(EventState.PUBLISHED), null, now,
+                null, null, new OffsetPageRequest(0, 10, Sort.by("id"))));
+        assertNoTableScan(() -> eventRepository.getEventsAdmin(null, null, null, null, null, eventId,
+                new OffsetPageRequest(0, 10, Sort.by("id"))));
+        assertNoTableScan(() -> eventRepository.getEventsOrderByViews(null, null, null, now, null, false,
+                new OffsetPageRequest(0, 10)));
+        assertNoTableScan(() -> eventRepository.getEventsOrderByRelevance("annotation1", null, null, now, null,
+                false, new OffsetPageRequest(0, 10)));
+    }
+
+    @Test
+    void userAndCategoryRepositoryTest_whenLargeFixture_thenQueriesDoNotScanTable() {
+        assertNoTableScan(() -> userRepository.getUsers(List.of(userId, userId + 1), null,
+                new OffsetPageRequest(0, 10, Sort.by("id"))));
+        assertNoTableScan(() -> userRepository.getUsers(null, userId, new OffsetPageRequest(0, 10, Sort.by("id"))));
+        assertNoTableScan(() -> categoryRepository.existsCategoryByName("category1"));
+        assertNoTableScan(() -> categoryRepository.getCategories(categoryId,
+                new OffsetPageRequest(0, 10, Sort.by("id"))));
+    }
+
+    @Test
+    void compilationRepositoryTest_whenLargeFixture_thenQueriesDoNotScanTable() {
+        jdbcTemplate.update("INSERT INTO compilations (pinned, title) "
+                + "SELECT MOD(X, 2) = 0, 'compilation' || X FROM SYSTEM_RANGE(1, 500)");
+        Long compilationId = jdbcTemplate.queryForObject("SELECT MIN(compilation_id) FROM compilations", Long.class);
+        jdbcTemplate.update("INSERT INTO compilation_events (compilation_id, event_id) "
+                + "SELECT ? + MOD(X, 500), ? + X - 1 FROM SYSTEM_RANGE(1, ?)", compilationId, eventId, EVENTS);
+
+        assertNoTableScan(() -> compilationRepository.getCompilations(true, compilationId,
+                new OffsetPageRequest(0, 10, Sort.by("id"))));
+        assertNoTableScan(() -> compilationRepository.getCompilationEvents(List.of(compilationId,
+                compilationId + 1)));
+    }
+
+    @Test
+    void eventRepositoryTest_whenShortListing_thenOnlyShortColumnsSelected() {
+        RecordingStatementInspector.clear();
+        List<EventShort> events = eventRepository.getEvents(null, null, null, LocalDateTime.now(), null, false, null,
+                null, new OffsetPageRequest(0, 10));
+        List<String> statements = RecordingStatementInspector.getStatements();
+        String selectList = statements.get(0).substring(0, statements.get(0).indexOf(" from "));
+
+        assertEquals(10, events.size());
+        assertNotNull(events.get(0).getCategoryName());
+        assertNotNull(events.get(0).getInitiatorName());
+        assertEquals(1, statements.size());
+        assertFalse(selectList.contains("description"), selectList);
+        assertFalse(selectList.contains("search_vector"), selectList);
+    }
+
+    @Test
+    void eventRepositoryTest_whenLoadEntity_thenSearchVectorNotSelected() {
+        RecordingStatementInspector.clear();
+        eventRepository.findById(eventId);
+        eventRepository.getEventsAdmin(null, null, null, null, null, null, new OffsetPageRequest(0, 10));
+        List<String> statements = RecordingStatementInspector.getStatements();
+
+        assertEquals(2, statements.size());
+        for (String statement : statements) {
+            assertFalse(statement.contains("search_vector"), statement);
+        }
+    }
+
+    @Test
+    void commentRepositoryTest_whenLargeFixture_thenQueriesDoNotScanTable() {
+        assertNoTableScan(() -> commentRepository.getCommentsByUserId(userId, null, new OffsetPageRequest(0, 10)));
+        assertNoTableScan(() -> commentRepository.getCommentsByEventId(eventId, null, new OffsetPageRequest(0, 10)));
+        assertNoTableScan(() -> commentRepository.getCommentsByEventIdWithoutPagination(eventId));
+    }
+
+    @Test
+    void locationRepositoryTest_whenLargeFixture_thenQueriesDoNotScanTable() {
+        assertNoTableScan(() -> locationRepository.getLocationByLatAndLon(1F, 1F));
+    }
+
+    private void assertNoTableScan(Runnable query) {
+        RecordingStatementInspector.clear();
+        query.run();
+        List<String> statements = RecordingStatementInspector.getStatements();
+        assertFalse(statements.isEmpty());
+        for (String statement : statements) {
+            String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + statement, String.class));
+            assertFalse(plan.contains("tableScan"), plan);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.ewm.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigrationTest {
+    private final SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+            "jdbc:h2:mem:baseline;DB_CLOSE_DELAY=-1", "test", "test", true);
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Test
+    void migrateTest_whenBaselineSchemaExists_thenConfirmedRequestsAndViewsBackfilled() {
+        jdbcTemplate.execute("RUNSCRIPT FROM 'classpath:db/baseline/schema.sql'");
+        jdbcTemplate.update("INSERT INTO users (user_id, user_name, email) VALUES (1, 'user', 'user@email.com')");
+        jdbcTemplate.update("INSERT INTO categories (category_id, category_name) VALUES (1, 'category')");
+        jdbcTemplate.update("INSERT INTO locations (location_id, lat, lon) VALUES (1, 55.75, 37.62)");
+        jdbcTemplate.update("INSERT INTO events (event_id, title, annotation, category_id, created_on, description, "
+                + "event_date, initiator_id, location_id, paid, participant_limit, request_moderation, state) "
+                + "VALUES (1, 'title', 'annotation', 1, NOW(), 'description', NOW(), 1, 1, FALSE, 0, FALSE, "
+                + "'PUBLISHED'), (2, 'title', 'annotation', 1, NOW(), 'description', NOW(), 1, 1, FALSE, 0, "
+                + "FALSE, 'PUBLISHED')");
+        jdbcTemplate.update("INSERT INTO requests (event_id, requester, status, created) VALUES "
+                + "(1, 1, 'CONFIRMED', NOW()), (1, 1, 'CONFIRMED', NOW()), (1, 1, 'PENDING', NOW())");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT confirmed_requests FROM events WHERE event_id = 1", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT confirmed_requests FROM events WHERE event_id = 2", Integer.class));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_views WHERE views = 0",
+                Integer.class));
+    }
+}
@@ -130,7 +130,7 @@ class CategoryServiceImplIntegrationTest {
         Category category = Category.builder().name("test").build();
         entityManager.persist(category);
 
-        List<CategoryDto> categoryDtos = categoryService.getCategories(0, 10);
+        List<CategoryDto> categoryDtos = categoryService.getCategories(0, 10, null);
 
         assertFalse(categoryDtos.isEmpty());
         assertEquals(1, categoryDtos.size());
@@ -56,7 +56,7 @@ class CommentAdminServiceImplIntegrationTest {
                 .created(LocalDateTime.now()).text("test123").build();
         entityManager.persist(comment);
 
-        List<CommentDto> commentDtos = commentService.getCommentsByEventId(event.getId(), 0, 10);
+        List<CommentDto> commentDtos = commentService.getCommentsByEventId(event.getId(), 0, 10, null);
 
         assertFalse(commentDtos.isEmpty());
         assertEquals(1, commentDtos.size());
@@ -170,7 +170,7 @@ class CommentPrivateServiceImplIntegrationTest {
                 .created(LocalDateTime.now()).text("test123").build();
         entityManager.persist(comment);
 
-        List<CommentDto> commentDtos = commentService.getCommentsByUserId(user2.getId(), 0, 10);
+        List<CommentDto> commentDtos = commentService.getCommentsByUserId(user2.getId(), 0, 10, null);
 
         assertFalse(commentDtos.isEmpty());
         assertEquals(1, commentDtos.size());
@@ -1,23 +1,40 @@
 package ru.practicum.ewm.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.client.EventHitPublisher;
+import ru.practicum.ewm.client.EventStatsClient;
 import ru.practicum.ewm.dto.CompilationDto;
 import ru.practicum.ewm.dto.NewCompilationDto;
 import ru.practicum.ewm.dto.UpdateCompilationRequest;
 import ru.practicum.ewm.exception.model.NotFoundException;
+import ru.practicum.ewm.model.Category;
 import ru.practicum.ewm.model.Compilation;
+import ru.practicum.ewm.model.Event;
+import ru.practicum.ewm.model.EventState;
+import ru.practicum.ewm.model.Location;
+import ru.practicum.ewm.model.User;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @Transactional
 @SpringBootTest
@@ -25,7 +42,12 @@ import static org.junit.jupiter.api.Assertions.*;
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class CompilationServiceImplIntegrationTest {
     private final EntityManager entityManager;
+    @MockBean
+    private final EventStatsClient eventStatsClient;
+    @MockBean
+    private final EventHitPublisher eventHitPublisher;
     private final CompilationServiceImpl compilationService;
+    private final PinnedCompilationsCache pinnedCompilationsCache;
 
     @Test
     void createCompilationTest_whenOnlyTitle_thenCompilationDto() {
@@ -80,7 +102,7 @@ class CompilationServiceImplIntegrationTest {
 
     @Test
     void getCompilationsTest_whenCompilationsNotFound_thenReturnEmptyList() {
-        List<CompilationDto> compilationDtos = compilationService.getCompilations(null, 0, 10);
+        List<CompilationDto> compilationDtos = compilationService.getCompilations(null, 0, 10, null);
 
         assertTrue(compilationDtos.isEmpty());
     }
@@ -90,7 +112,7 @@ class CompilationServiceImplIntegrationTest {
         Compilation compilation = Compilation.builder().title("test").pinned(false).build();
         entityManager.persist(compilation);
 
-        List<CompilationDto> compilationDtos = compilationService.getCompilations(null, 0, 10);
+        List<CompilationDto> compilationDtos = compilationService.getCompilations(null, 0, 10, null);
 
         assertFalse(compilationDtos.isEmpty());
         assertEquals(1, compilationDtos.size());
@@ -108,4 +130,167 @@ class CompilationServiceImplIntegrationTest {
         assertEquals(compilation.getTitle(), compilationDto.getTitle());
         assertEquals(compilation.getPinned(), compilationDto.getPinned());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCompilationsTest_whenCompilationsHaveEvents_thenFixedStatementsAndOneStatsCall() {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            User user = User.builder().name("user" + i).email("user" + i + "@email.com").build();
+            entityManager.persist(user);
+            Category category = Category.builder().name("category" + i).build();
+            entityManager.persist(category);
+            Location location = Location.builder().lat(55.754167F + i).lon(37.62F).build();
+            entityManager.persist(location);
+            Event event = Event.builder()
+                    .annotation("Сплав на байдарках похож на полет.")
+                    .category(category)
+                    .createdOn(LocalDateTime.now().minusDays(2))
+                    .description("Сплав на байдарках похож на полет.")
+                    .eventDate(LocalDateTime.now().plusHours(20 + i))
+                    .initiator(user)
+                    .location(location)
+                    .paid(false)
+                    .participantLimit(10)
+                    .confirmedRequests(i)
+                    .requestModeration(false)
+                    .state(EventState.PUBLISHED)
+                    .title("Сплав на байдарках")
+                    .build();
+            entityManager.persist(event);
+            events.add(event);
+        }
+        for (int i = 0; i < 3; i++) {
+            entityManager.persist(Compilation.builder()
+                    .title("test" + i)
+                    .pinned(false)
+                    .events(i == 0 ? List.of(events.get(0), events.get(1))
+                            : List.of(events.get(i * 2), events.get(i * 2 + 1), events.get(0)))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        when(eventStatsClient.getViewsByIds(anyList())).thenReturn(Map.of(events.get(0).getId(), 5L));
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+
+        statistics.clear();
+        List<CompilationDto> compilationDtos = compilationService.getCompilations(null, 0, 10, null);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(3, compilationDtos.size());
+        assertEquals(2, compilationDtos.get(0).getEvents().size());
+        assertEquals(3, compilationDtos.get(2).getEvents().size());
+        assertEquals("category5", compilationDtos.get(2).getEvents().get(2).getCategory().getName());
+        assertEquals("user5", compilationDtos.get(2).getEvents().get(2).getInitiator().getName());
+        assertEquals(5, compilationDtos.get(2).getEvents().get(2).getConfirmedRequests());
+        assertEquals(5L, compilationDtos.get(2).getEvents().get(0).getViews());
+        assertEquals(0L, compilationDtos.get(2).getEvents().get(1).getViews());
+        assertEquals(2, statements);
+        verify(eventStatsClient, times(1)).getViewsByIds(anyList());
+    }
+
+    @Test
+    void getCompilationsTest_whenPinnedPageCached_thenServedWithoutStatementsUntilRefresh() {
+        pinnedCompilationsCache.invalidate();
+        Compilation compilation = Compilation.builder().title("test").pinned(true).build();
+        entityManager.persist(compilation);
+        entityManager.flush();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+
+        List<CompilationDto> firstPage = compilationService.getCompilations(true, 0, 10, null);
+        entityManager.persist(Compilation.builder().title("test2").pinned(true).build());
+        entityManager.flush();
+        statistics.clear();
+        List<CompilationDto> cachedPage = compilationService.getCompilations(true, 0, 10, null);
+        long cachedStatements = statistics.getPrepareStatementCount();
+        int refreshed = compilationService.refreshPinnedCompilations();
+        List<CompilationDto> refreshedPage = compilationService.getCompilations(true, 0, 10, null);
+        pinnedCompilationsCache.invalidate();
+
+        assertEquals(1, firstPage.size());
+        assertEquals(firstPage, cachedPage);
+        assertEquals(0, cachedStatements);
+        assertEquals(1, refreshed);
+        assertEquals(2, refreshedPage.size());
+    }
+
+    @Test
+    void createCompilationTest_whenSeveralEventsAreNotExists_thenNotFoundExceptionWithAllIds() {
+        NewCompilationDto newCompilationDto = NewCompilationDto.builder()
+                .events(List.of(createEvents(1).get(0).getId(), 998L, 999L))
+                .title("test")
+                .build();
+
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> compilationService.createCompilation(newCompilationDto));
+
+        assertEquals("События с ID = [998, 999] не существуют.", exception.getReason());
+    }
+
+    @Test
+    void createCompilationTest_whenCompilationIsLarge_thenEventsResolvedInOneQuery() {
+        List<Long> eventIds = new ArrayList<>();
+        for (Event event : createEvents(500)) {
+            eventIds.add(event.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+
+        statistics.clear();
+        CompilationDto smallCompilation = compilationService.createCompilation(NewCompilationDto.builder()
+                .events(eventIds.subList(0, 5)).title("small").build());
+        long smallStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        statistics.clear();
+        CompilationDto largeCompilation = compilationService.createCompilation(NewCompilationDto.builder()
+                .events(eventIds).title("large").build());
+        long largeStatements = statistics.getPrepareStatementCount();
+        long largeQueries = statistics.getQueryExecutionCount();
+        entityManager.clear();
+        statistics.clear();
+        CompilationDto updatedCompilation = compilationService.updateCompilation(smallCompilation.getId(),
+                UpdateCompilationRequest.builder().events(eventIds).build());
+        long updateQueries = statistics.getQueryExecutionCount();
+
+        assertEquals(5, smallCompilation.getEvents().size());
+        assertEquals(500, largeCompilation.getEvents().size());
+        assertEquals(eventIds.get(499), largeCompilation.getEvents().get(499).getId());
+        assertEquals("user", largeCompilation.getEvents().get(499).getInitiator().getName());
+        assertEquals(500, updatedCompilation.getEvents().size());
+        assertEquals(smallStatements, largeStatements);
+        assertEquals(1, largeQueries);
+        assertEquals(1, updateQueries);
+    }
+
+    private List<Event> createEvents(int count) {
+        User user = User.builder().name("user").email("user@email.com").build();
+        entityManager.persist(user);
+        Category category = Category.builder().name("category").build();
+        entityManager.persist(category);
+        Location location = Location.builder().lat(55.754167F).lon(37.62F).build();
+        entityManager.persist(location);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Event event = Event.builder()
+                    .annotation("Сплав на байдарках похож на полет.")
+                    .category(category)
+                    .createdOn(LocalDateTime.now().minusDays(2))
+                    .description("Сплав на байдарках похож на полет.")
+                    .eventDate(LocalDateTime.now().plusHours(20))
+                    .initiator(user)
+                    .location(location)
+                    .paid(false)
+                    .participantLimit(10)
+                    .requestModeration(false)
+                    .state(EventState.PUBLISHED)
+                    .title("Сплав на байдарках")
+                    .build();
+            entityManager.persist(event);
+            events.add(event);
+        }
+        return events;
+    }
+}
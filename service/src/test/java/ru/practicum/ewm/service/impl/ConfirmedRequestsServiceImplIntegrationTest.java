@@ -0,0 +1,101 @@
+package ru.practicum.ewm.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.model.*;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+@ActiveProfiles("integrationtest")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ConfirmedRequestsServiceImplIntegrationTest {
+    private final EntityManager entityManager;
+    private final ConfirmedRequestsServiceImpl confirmedRequestsService;
+
+    @Test
+    void getConfirmedRequestsTest_whenSomeEventsHaveNoRequests_thenReturnZeroForThem() {
+        User user = User.builder().name("test").email("test@email.com").build();
+        entityManager.persist(user);
+        User requester = User.builder().name("requester").email("requester@email.com").build();
+        entityManager.persist(requester);
+        Category category = Category.builder().name("test").build();
+        entityManager.persist(category);
+        Event event1 = createEvent(user, category, 0);
+        Event event2 = createEvent(user, category, 0);
+        entityManager.persist(Request.builder()
+                .created(LocalDateTime.now().minusDays(1))
+                .status(EventRequestStatus.CONFIRMED)
+                .event(event1.getId())
+                .requester(requester.getId())
+                .build());
+        entityManager.persist(Request.builder()
+                .created(LocalDateTime.now().minusDays(1))
+                .status(EventRequestStatus.PENDING)
+                .event(event2.getId())
+                .requester(requester.getId())
+                .build());
+
+        Map<Long, Integer> confirmedRequests = confirmedRequestsService.getConfirmedRequests(
+                List.of(event1.getId(), event2.getId()));
+
+        assertEquals(1, confirmedRequests.get(event1.getId()));
+        assertEquals(0, confirmedRequests.get(event2.getId()));
+    }
+
+    @Test
+    void repairConfirmedRequestsTest_whenCounterDrifted_thenCounterIsRecalculated() {
+        User user = User.builder().name("test").email("test@email.com").build();
+        entityManager.persist(user);
+        User requester = User.builder().name("requester").email("requester@email.com").build();
+        entityManager.persist(requester);
+        Category category = Category.builder().name("test").build();
+        entityManager.persist(category);
+        Event event = createEvent(user, category, 5);
+        entityManager.persist(Request.builder()
+                .created(LocalDateTime.now().minusDays(1))
+                .status(EventRequestStatus.CONFIRMED)
+                .event(event.getId())
+                .requester(requester.getId())
+                .build());
+
+        List<ConfirmedRequestsCount> storedCounts = confirmedRequestsService.getStoredConfirmedRequests(0L, 10);
+        confirmedRequestsService.repairConfirmedRequests(event.getId());
+
+        assertEquals(1, storedCounts.size());
+        assertEquals(5L, storedCounts.get(0).getCount());
+        assertEquals(1, event.getConfirmedRequests());
+    }
+
+    private Event createEvent(User user, Category category, Integer confirmedRequests) {
+        Location location = Location.builder().lat(55.754167F).lon(37.62F).build();
+        entityManager.persist(location);
+        Event event = Event.builder()
+                .annotation("Сплав на байдарках похож на полет.")
+                .category(category)
+                .createdOn(LocalDateTime.now().minusDays(2))
+                .description("Сплав на байдарках похож на полет.")
+                .eventDate(LocalDateTime.now().plusHours(20))
+                .initiator(user)
+                .location(location)
+                .paid(false)
+                .participantLimit(10)
+                .confirmedRequests(confirmedRequests)
+                .requestModeration(true)
+                .state(EventState.PUBLISHED)
+                .title("Сплав на байдарках")
+                .build();
+        entityManager.persist(event);
+        return event;
+    }
+}
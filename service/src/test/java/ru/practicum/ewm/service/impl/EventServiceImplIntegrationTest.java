@@ -1,6 +1,8 @@
 package ru.practicum.ewm.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -8,12 +10,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.client.EventHitPublisher;
 import ru.practicum.ewm.client.EventStatsClient;
 import ru.practicum.ewm.dto.*;
 import ru.practicum.ewm.exception.model.EventDateException;
 import ru.practicum.ewm.exception.model.EventStateException;
 import ru.practicum.ewm.exception.model.NotFoundException;
+import ru.practicum.ewm.exception.model.PageCursorException;
 import ru.practicum.ewm.model.*;
+import ru.practicum.ewm.utils.PageCursor;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -22,6 +27,8 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @Transactional
@@ -32,6 +39,8 @@ class EventServiceImplIntegrationTest {
     private final EntityManager entityManager;
     @MockBean
     private final EventStatsClient eventStatsClient;
+    @MockBean
+    private final EventHitPublisher eventHitPublisher;
     private final EventServiceImpl eventService;
 
     @Test
@@ -540,7 +549,7 @@ class EventServiceImplIntegrationTest {
                 .build();
         entityManager.persist(event);
 
-        List<EventShortDto> eventShortDtos = eventService.getEventsByUserId(user.getId(), 0, 10);
+        List<EventShortDto> eventShortDtos = eventService.getEventsByUserId(user.getId(), 0, 10, null);
 
         assertEquals(1, eventShortDtos.size());
         assertEquals(event.getId(), eventShortDtos.get(0).getId());
@@ -625,7 +634,7 @@ class EventServiceImplIntegrationTest {
         entityManager.persist(event2);
 
         List<EventFullDto> eventFullDtos = eventService.getEventsAdmin(null, null, null,
-                now.plusHours(15), null, 0, 10);
+                now.plusHours(15), null, 0, 10, null);
 
         assertEquals(1, eventFullDtos.size());
         assertEquals(event2.getId(), eventFullDtos.get(0).getId());
@@ -659,12 +668,333 @@ class EventServiceImplIntegrationTest {
         MockHttpServletRequest request = new MockHttpServletRequest();
         request.setRequestURI("test");
         request.setRemoteAddr("test");
-        when(eventStatsClient.saveHit(any())).thenReturn(null);
+        when(eventHitPublisher.publish(any())).thenReturn(true);
 
         EventFullDto eventFullDto = eventService.getEventById(event.getId(), request);
 
         assertNotNull(eventFullDto);
         assertEquals(event.getId(), eventFullDto.getId());
         assertEquals(0, eventFullDto.getConfirmedRequests());
+        verify(eventStatsClient, never()).saveHit(any());
+        verify(eventHitPublisher).publish(any());
+    }
+
+    @Test
+    void getEventsAdminTest_whenPageSizeGrows_thenStatementCountIsConstant() {
+        User user = User.builder().name("test").email("test@email.com").build();
+        entityManager.persist(user);
+        User requester = User.builder().name("requester").email("requester@email.com").build();
+        entityManager.persist(requester);
+        Category category = Category.builder().name("test").build();
+        entityManager.persist(category);
+        Location location = Location.builder().lat(55.754167F).lon(37.62F).build();
+        entityManager.persist(location);
+        for (int i = 0; i < 20; i++) {
+            Event event = Event.builder()
+                    .annotation("Сплав на байдарках похож на полет.")
+                    .category(category)
+                    .createdOn(LocalDateTime.now().minusDays(2))
+                    .description("Сплав на байдарках похож на полет.")
+                    .eventDate(LocalDateTime.now().plusHours(20))
+                    .initiator(user)
+                    .location(location)
+                    .paid(false)
+                    .participantLimit(10)
+                    .confirmedRequests(1)
+                    .requestModeration(false)
+                    .state(EventState.PUBLISHED)
+                    .title("Сплав на байдарках")
+                    .build();
+            entityManager.persist(event);
+            entityManager.persist(Request.builder()
+                    .created(LocalDateTime.now().minusDays(1))
+                    .status(EventRequestStatus.CONFIRMED)
+                    .event(event.getId())
+                    .requester(requester.getId())
+                    .build());
+        }
+        entityManager.flush();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+
+        statistics.clear();
+        List<EventFullDto> smallPage = eventService.getEventsAdmin(null, null, null, null, null, 0, 2, null);
+        long smallPageStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        List<EventFullDto> largePage = eventService.getEventsAdmin(null, null, null, null, null, 0, 20, null);
+        long largePageStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(2, smallPage.size());
+        assertEquals(20, largePage.size());
+        assertEquals(1, largePage.get(19).getConfirmedRequests());
+        assertEquals(smallPageStatements, largePageStatements);
+        assertEquals(1, largePageStatements);
+    }
+
+    @Test
+    void getEventListsTest_whenAssociationsAreNotLoaded_thenOneStatementPerPage() {
+        User user = null;
+        for (int i = 0; i < 10; i++) {
+            user = User.builder().name("user" + i).email("user" + i + "@email.com").build();
+            entityManager.persist(user);
+            Category category = Category.builder().name("category" + i).build();
+            entityManager.persist(category);
+            Location location = Location.builder().lat(55.754167F + i).lon(37.62F).build();
+            entityManager.persist(location);
+            entityManager.persist(Event.builder()
+                    .annotation("Сплав на байдарках похож на полет.")
+                    .category(category)
+                    .createdOn(LocalDateTime.now().minusDays(2))
+                    .description("Сплав на байдарках похож на полет.")
+                    .eventDate(LocalDateTime.now().plusHours(20 + i))
+                    .initiator(user)
+                    .location(location)
+                    .paid(false)
+                    .participantLimit(10)
+                    .requestModeration(false)
+                    .state(EventState.PUBLISHED)
+                    .title("Сплав на байдарках")
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+
+        statistics.clear();
+        List<EventFullDto> adminPage = eventService.getEventsAdmin(null, null, null, null, null, 0, 10, null);
+        long adminStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        statistics.clear();
+        List<EventShortDto> publicPage = eventService.getEvents(null, null, null, null, null, false, null, 0, 10,
+                null, new MockHttpServletRequest());
+        long publicStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        statistics.clear();
+        List<EventShortDto> userPage = eventService.getEventsByUserId(user.getId(), 0, 10, null);
+        long userStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(10, adminPage.size());
+        assertEquals("category9", adminPage.get(9).getCategory().getName());
+        assertEquals(55.754167F + 9, adminPage.get(9).getLocation().getLat());
+        assertEquals(1, adminStatements);
+        assertEquals(10, publicPage.size());
+        assertEquals("user9", publicPage.get(9).getInitiator().getName());
+        assertEquals(1, publicStatements);
+        assertEquals(1, userPage.size());
+        assertEquals("category9", userPage.get(0).getCategory().getName());
+        assertEquals(2, userStatements);
+    }
+
+    @Test
+    void getEventsTest_whenOnlyAvailable_thenFullEventsAreFilteredBeforePagination() {
+        User user = User.builder().name("test").email("test@email.com").build();
+        entityManager.persist(user);
+        Category category = Category.builder().name("test").build();
+        entityManager.persist(category);
+        Location location = Location.builder().lat(55.754167F).lon(37.62F).build();
+        entityManager.persist(location);
+        int[][] limits = {{1, 1}, {0, 3}, {5, 1}};
+        Event[] events = new Event[limits.length];
+        for (int i = 0; i < limits.length; i++) {
+            events[i] = Event.builder()
+                    .annotation("Сплав на байдарках похож на полет.")
+                    .category(category)
+                    .createdOn(LocalDateTime.now().minusDays(2))
+                    .description("Сплав на байдарках похож на полет.")
+                    .eventDate(LocalDateTime.now().plusHours(20 + i))
+                    .initiator(user)
+                    .location(location)
+                    .paid(false)
+                    .participantLimit(limits[i][0])
+                    .confirmedRequests(limits[i][1])
+                    .requestModeration(false)
+                    .state(EventState.PUBLISHED)
+                    .title("Сплав на байдарках")
+                    .build();
+            entityManager.persist(events[i]);
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI("/events");
+        request.setRemoteAddr("test");
+
+        List<EventShortDto> eventShortDtos = eventService.getEvents(null, null, null, null, null, true, null,
+                0, 2, null, request);
+
+        assertEquals(2, eventShortDtos.size());
+        assertEquals(events[1].getId(), eventShortDtos.get(0).getId());
+        assertEquals(events[2].getId(), eventShortDtos.get(1).getId());
+    }
+
+    @Test
+    void getEventsTest_whenSortByViews_thenOrderedByLocalViewsDescending() {
+        User user = User.builder().name("test").email("test@email.com").build();
+        entityManager.persist(user);
+        Category category = Category.builder().name("test").build();
+        entityManager.persist(category);
+        Location location = Location.builder().lat(55.754167F).lon(37.62F).build();
+        entityManager.persist(location);
+        long[] views = {5L, 50L, 20L};
+        Event[] events = new Event[views.length];
+        for (int i = 0; i < views.length; i++) {
+            events[i] = Event.builder()
+                    .annotation("Сплав на байдарках похож на полет.")
+                    .category(category)
+                    .createdOn(LocalDateTime.now().minusDays(2))
+                    .description("Сплав на байдарках похож на полет.")
+                    .eventDate(LocalDateTime.now().plusHours(20 - i))
+                    .initiator(user)
+                    .location(location)
+                    .paid(false)
+                    .participantLimit(0)
+                    .requestModeration(false)
+                    .state(EventState.PUBLISHED)
+                    .title("Сплав на байдарках")
+                    .build();
+            entityManager.persist(events[i]);
+            entityManager.persist(EventViews.builder().eventId(events[i].getId()).views(views[i]).build());
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI("/events");
+        request.setRemoteAddr("test");
+
+        List<EventShortDto> byViews = eventService.getEvents(null, null, null, null, null, false,
+                EventSort.VIEWS, 0, 2, null, request);
+        List<EventShortDto> byEventDate = eventService.getEvents(null, null, null, null, null, false,
+                EventSort.EVENT_DATE, 0, 2, null, request);
+
+        assertEquals(2, byViews.size());
+        assertEquals(events[1].getId(), byViews.get(0).getId());
+        assertEquals(events[2].getId(), byViews.get(1).getId());
+        assertEquals(2, byEventDate.size());
+        assertEquals(events[2].getId(), byEventDate.get(0).getId());
+        assertEquals(events[1].getId(), byEventDate.get(1).getId());
+    }
+
+    @Test
+    void getEventsTest_whenSortByViewsAndViewsRowIsMissing_thenEventIsReturnedWithZeroViews() {
+        User user = User.builder().name("test").email("test@email.com").build();
+        entityManager.persist(user);
+        Category category = Category.builder().name("test").build();
+        entityManager.persist(category);
+        Location location = Location.builder().lat(55.754167F).lon(37.62F).build();
+        entityManager.persist(location);
+        Event[] events = new Event[2];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = Event.builder()
+                    .annotation("Сплав на байдарках похож на полет.")
+                    .category(category)
+                    .createdOn(LocalDateTime.now().minusDays(2))
+                    .description("Сплав на байдарках похож на полет.")
+                    .eventDate(LocalDateTime.now().plusHours(20))
+                    .initiator(user)
+                    .location(location)
+                    .paid(false)
+                    .participantLimit(0)
+                    .requestModeration(false)
+                    .state(EventState.PUBLISHED)
+                    .title("Сплав на байдарках")
+                    .build();
+            entityManager.persist(events[i]);
+        }
+        entityManager.persist(EventViews.builder().eventId(events[1].getId()).views(10L).build());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI("/events");
+        request.setRemoteAddr("test");
+
+        List<EventShortDto> byViews = eventService.getEvents(null, null, null, null, null, false,
+                EventSort.VIEWS, 0, 10, null, request);
+
+        assertEquals(2, byViews.size());
+        assertEquals(events[1].getId(), byViews.get(0).getId());
+        assertEquals(events[0].getId(), byViews.get(1).getId());
+    }
+
+    @Test
+    void getEventsTest_whenAfterCursorByEventDate_thenNextPageStartsAfterCursor() {
+        User user = User.builder().name("test").email("test@email.com").build();
+        entityManager.persist(user);
+        Category category = Category.builder().name("test").build();
+        entityManager.persist(category);
+        Location location = Location.builder().lat(55.754167F).lon(37.62F).build();
+        entityManager.persist(location);
+        LocalDateTime eventDate = LocalDateTime.now().plusHours(20).withNano(0);
+        int[] hours = {2, 0, 0, 1};
+        Event[] events = new Event[hours.length];
+        for (int i = 0; i < hours.length; i++) {
+            events[i] = Event.builder()
+                    .annotation("Сплав на байдарках похож на полет.")
+                    .category(category)
+                    .createdOn(LocalDateTime.now().minusDays(2))
+                    .description("Сплав на байдарках похож на полет.")
+                    .eventDate(eventDate.plusHours(hours[i]))
+                    .initiator(user)
+                    .location(location)
+                    .paid(false)
+                    .participantLimit(0)
+                    .requestModeration(false)
+                    .state(EventState.PUBLISHED)
+                    .title("Сплав на байдарках")
+                    .build();
+            entityManager.persist(events[i]);
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI("/events");
+        request.setRemoteAddr("test");
+
+        List<EventShortDto> firstPage = eventService.getEvents(null, null, null, null, null, false,
+                EventSort.EVENT_DATE, 0, 2, null, request);
+        EventShortDto last = firstPage.get(firstPage.size() - 1);
+        List<EventShortDto> secondPage = eventService.getEvents(null, null, null, null, null, false,
+                EventSort.EVENT_DATE, 0, 2, PageCursor.of(last.getEventDate(), last.getId()), request);
+
+        assertEquals(2, firstPage.size());
+        assertEquals(events[1].getId(), firstPage.get(0).getId());
+        assertEquals(events[2].getId(), firstPage.get(1).getId());
+        assertEquals(2, secondPage.size());
+        assertEquals(events[3].getId(), secondPage.get(0).getId());
+        assertEquals(events[0].getId(), secondPage.get(1).getId());
+        assertThrows(PageCursorException.class, () -> eventService.getEvents(null, null, null, null, null,
+                false, EventSort.VIEWS, 0, 2, PageCursor.ofId(last.getId()), request));
+    }
+
+    @Test
+    void getEventsTest_whenSortByRelevance_thenMatchingEventsOrderedByRank() {
+        User user = User.builder().name("test").email("test@email.com").build();
+        entityManager.persist(user);
+        Category category = Category.builder().name("test").build();
+        entityManager.persist(category);
+        Location location = Location.builder().lat(55.754167F).lon(37.62F).build();
+        entityManager.persist(location);
+        String[] descriptions = {"Сплав по реке.", "Байдарки, байдарки и еще раз байдарки.", "Поход на байдарках."};
+        Event[] events = new Event[descriptions.length];
+        for (int i = 0; i < descriptions.length; i++) {
+            events[i] = Event.builder()
+                    .annotation("Летний выезд за город.")
+                    .category(category)
+                    .createdOn(LocalDateTime.now().minusDays(2))
+                    .description(descriptions[i])
+                    .eventDate(LocalDateTime.now().plusHours(20))
+                    .initiator(user)
+                    .location(location)
+                    .paid(false)
+                    .participantLimit(0)
+                    .requestModeration(false)
+                    .state(EventState.PUBLISHED)
+                    .title("Сплав на байдарках")
+                    .build();
+            entityManager.persist(events[i]);
+        }
+        entityManager.flush();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRequestURI("/events");
+        request.setRemoteAddr("test");
+
+        List<EventShortDto> eventShortDtos = eventService.getEvents("байдарк", null, null, null, null, false,
+                EventSort.RELEVANCE, 0, 10, null, request);
+
+        assertEquals(2, eventShortDtos.size());
+        assertEquals(events[1].getId(), eventShortDtos.get(0).getId());
+        assertEquals(events[2].getId(), eventShortDtos.get(1).getId());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package ru.practicum.ewm.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.model.*;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Transactional
+@SpringBootTest
+@ActiveProfiles("integrationtest")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class EventViewsServiceImplIntegrationTest {
+    private final EntityManager entityManager;
+    private final EventViewsServiceImpl eventViewsService;
+
+    @Test
+    void updateViewsTest_whenPushedViewsContainUnknownEvent_thenOnlyExistingViewsUpdated() {
+        Event event1 = createEvent();
+        Event event2 = createEvent();
+        entityManager.persist(EventViews.builder().eventId(event1.getId()).views(1L).build());
+        entityManager.persist(EventViews.builder().eventId(event2.getId()).views(2L).build());
+        Long unknownEventId = event2.getId() + 1000;
+
+        eventViewsService.updateViews(Map.of(event1.getId(), 10L, unknownEventId, 7L));
+        entityManager.flush();
+        entityManager.clear();
+        Map<Long, Long> views = eventViewsService.getViews(List.of(event1.getId(), event2.getId(), unknownEventId));
+
+        assertEquals(Map.of(event1.getId(), 10L, event2.getId(), 2L), views);
+    }
+
+    @Test
+    void saveViewsTest_whenViewsPushedAfterSnapshot_thenPushedViewsKept() {
+        Event event1 = createEvent();
+        Event event2 = createEvent();
+        entityManager.persist(EventViews.builder().eventId(event1.getId()).views(1L).build());
+        entityManager.persist(EventViews.builder().eventId(event2.getId()).views(2L).build());
+        LocalDateTime snapshotTime = LocalDateTime.now().minusSeconds(1);
+
+        eventViewsService.updateViews(Map.of(event1.getId(), 10L));
+        eventViewsService.saveViews(Map.of(event1.getId(), 5L, event2.getId(), 5L), snapshotTime);
+        entityManager.flush();
+        entityManager.clear();
+        Map<Long, Long> views = eventViewsService.getViews(List.of(event1.getId(), event2.getId()));
+
+        assertEquals(Map.of(event1.getId(), 10L, event2.getId(), 5L), views);
+    }
+
+    private Event createEvent() {
+        User user = User.builder().name("test").email("test" + System.nanoTime() + "@email.com").build();
+        entityManager.persist(user);
+        Category category = Category.builder().name("test" + System.nanoTime()).build();
+        entityManager.persist(category);
+        Location location = Location.builder().lat(55.754167F).lon(37.62F).build();
+        entityManager.persist(location);
+        Event event = Event.builder()
+                .annotation("Сплав на байдарках похож на полет.")
+                .category(category)
+                .createdOn(LocalDateTime.now().minusDays(2))
+                .description("Сплав на байдарках похож на полет.")
+                .eventDate(LocalDateTime.now().plusHours(20))
+                .initiator(user)
+                .location(location)
+                .paid(false)
+                .participantLimit(10)
+                .confirmedRequests(0)
+                .requestModeration(true)
+                .state(EventState.PUBLISHED)
+                .title("Сплав на байдарках")
+                .build();
+        entityManager.persist(event);
+        return event;
+    }
+}
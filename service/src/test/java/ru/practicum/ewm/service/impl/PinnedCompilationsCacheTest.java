@@ -0,0 +1,83 @@
+package ru.practicum.ewm.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.ewm.dto.CategoryDto;
+import ru.practicum.ewm.dto.CompilationDto;
+import ru.practicum.ewm.dto.EventShortDto;
+import ru.practicum.ewm.model.CompilationsChangedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PinnedCompilationsCacheTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PinnedCompilationsCache cache = new PinnedCompilationsCache(2, registry);
+    private final List<CompilationDto> compilationDtos = List.of(CompilationDto.builder().id(1L).title("test")
+            .pinned(true).events(List.of()).build());
+
+    @Test
+    void getTest_whenPagePut_thenReturnCachedPage() {
+        PinnedCompilationsCache.Page page = new PinnedCompilationsCache.Page(0, 10, null);
+
+        assertNull(cache.get(page));
+        assertTrue(cache.put(page, cache.getGeneration(), compilationDtos));
+
+        assertEquals(compilationDtos, cache.get(new PinnedCompilationsCache.Page(0, 10, null)));
+        assertEquals(1.0, registry.get("ewm.compilations.cache.hits").counter().count());
+        assertEquals(1.0, registry.get("ewm.compilations.cache.misses").counter().count());
+    }
+
+    @Test
+    void putTest_whenInvalidatedWhileLoading_thenStalePageRejected() {
+        PinnedCompilationsCache.Page page = new PinnedCompilationsCache.Page(0, 10, null);
+        long generation = cache.getGeneration();
+
+        cache.onCompilationsChanged(new CompilationsChangedEvent("test"));
+
+        assertFalse(cache.put(page, generation, compilationDtos));
+        assertNull(cache.get(page));
+        assertTrue(cache.put(page, cache.getGeneration(), compilationDtos));
+    }
+
+    @Test
+    void putTest_whenCacheIsFull_thenLeastRecentlyUsedPageEvicted() {
+        long generation = cache.getGeneration();
+        PinnedCompilationsCache.Page page1 = new PinnedCompilationsCache.Page(0, 10, null);
+        PinnedCompilationsCache.Page page2 = new PinnedCompilationsCache.Page(10, 10, null);
+        PinnedCompilationsCache.Page page3 = new PinnedCompilationsCache.Page(20, 10, null);
+
+        assertTrue(cache.put(page1, generation, compilationDtos));
+        assertTrue(cache.put(page2, generation, compilationDtos));
+        assertNotNull(cache.get(page1));
+        assertTrue(cache.put(page3, generation, compilationDtos));
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(page1));
+        assertNull(cache.get(page2));
+        assertNotNull(cache.get(page3));
+        assertEquals(1.0, registry.get("ewm.compilations.cache.evictions").counter().count());
+    }
+
+    @Test
+    void getTest_whenReturnedPageModified_thenCachedPageUnchanged() {
+        PinnedCompilationsCache.Page page = new PinnedCompilationsCache.Page(0, 10, null);
+        EventShortDto eventShortDto = EventShortDto.builder().id(1L).title("test").views(1L)
+                .category(CategoryDto.builder().id(1L).name("test").build()).build();
+        List<CompilationDto> loaded = List.of(CompilationDto.builder().id(1L).title("test").pinned(true)
+                .events(new ArrayList<>(List.of(eventShortDto))).build());
+        cache.put(page, cache.getGeneration(), loaded);
+
+        eventShortDto.setViews(100L);
+        List<CompilationDto> cached = cache.get(page);
+        cached.get(0).setTitle("changed");
+        cached.get(0).getEvents().get(0).getCategory().setName("changed");
+
+        CompilationDto compilationDto = cache.get(page).get(0);
+        assertEquals("test", compilationDto.getTitle());
+        assertEquals(1L, compilationDto.getEvents().get(0).getViews());
+        assertEquals("test", compilationDto.getEvents().get(0).getCategory().getName());
+    }
+}
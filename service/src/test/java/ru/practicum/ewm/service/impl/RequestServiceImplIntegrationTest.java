@@ -62,6 +62,7 @@ class RequestServiceImplIntegrationTest {
         ParticipationRequestDto requestDto = requestService.createRequest(requester.getId(), event.getId());
 
         assertEquals(EventRequestStatus.CONFIRMED, requestDto.getStatus());
+        assertEquals(1, event.getConfirmedRequests());
     }
 
     @Test
@@ -220,6 +221,7 @@ class RequestServiceImplIntegrationTest {
                 .location(location)
                 .paid(false)
                 .participantLimit(1)
+                .confirmedRequests(1)
                 .requestModeration(true)
                 .state(EventState.PUBLISHED)
                 .title("Сплав на байдарках")
@@ -258,6 +260,7 @@ class RequestServiceImplIntegrationTest {
                 .location(location)
                 .paid(false)
                 .participantLimit(1)
+                .confirmedRequests(1)
                 .requestModeration(true)
                 .state(EventState.PUBLISHED)
                 .title("Сплав на байдарках")
@@ -275,6 +278,7 @@ class RequestServiceImplIntegrationTest {
                 request.getId());
 
         assertEquals(EventRequestStatus.CANCELED, participationRequestDto.getStatus());
+        assertEquals(0, event.getConfirmedRequests());
     }
 
     @Test
@@ -299,6 +303,7 @@ class RequestServiceImplIntegrationTest {
                 .location(location)
                 .paid(false)
                 .participantLimit(1)
+                .confirmedRequests(1)
                 .requestModeration(true)
                 .state(EventState.PUBLISHED)
                 .title("Сплав на байдарках")
@@ -343,6 +348,7 @@ class RequestServiceImplIntegrationTest {
                 .location(location)
                 .paid(false)
                 .participantLimit(1)
+                .confirmedRequests(1)
                 .requestModeration(true)
                 .state(EventState.PUBLISHED)
                 .title("Сплав на байдарках")
@@ -461,6 +467,7 @@ class RequestServiceImplIntegrationTest {
                 .location(location)
                 .paid(false)
                 .participantLimit(1)
+                .confirmedRequests(1)
                 .requestModeration(true)
                 .state(EventState.PUBLISHED)
                 .title("Сплав на байдарках")
@@ -515,6 +522,7 @@ class RequestServiceImplIntegrationTest {
                 .location(location)
                 .paid(false)
                 .participantLimit(2)
+                .confirmedRequests(1)
                 .requestModeration(true)
                 .state(EventState.PUBLISHED)
                 .title("Сплав на байдарках")
@@ -576,6 +584,7 @@ class RequestServiceImplIntegrationTest {
                 .location(location)
                 .paid(false)
                 .participantLimit(5)
+                .confirmedRequests(1)
                 .requestModeration(true)
                 .state(EventState.PUBLISHED)
                 .title("Сплав на байдарках")
@@ -611,6 +620,52 @@ class RequestServiceImplIntegrationTest {
                 event.getId(), eventRequestStatusUpdateRequest));
     }
 
+    @Test
+    void changeEventRequestsStatusTest_whenRequestBelongsToOtherEvent_thenNotFoundException() {
+        User user = User.builder().name("test").email("test@email.com").build();
+        entityManager.persist(user);
+        User requester = User.builder().name("requester").email("requester@email.com").build();
+        entityManager.persist(requester);
+        Category category = Category.builder().name("test").build();
+        entityManager.persist(category);
+        Location location = Location.builder().lat(55.754167F).lon(37.62F).build();
+        entityManager.persist(location);
+        Event[] events = new Event[2];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = Event.builder()
+                    .annotation("Сплав на байдарках похож на полет.")
+                    .category(category)
+                    .createdOn(LocalDateTime.now().minusDays(2))
+                    .description("Сплав на байдарках похож на полет. На спокойной воде — это парение.")
+                    .eventDate(LocalDateTime.now().plusHours(20))
+                    .initiator(user)
+                    .location(location)
+                    .paid(false)
+                    .participantLimit(5)
+                    .requestModeration(true)
+                    .state(EventState.PUBLISHED)
+                    .title("Сплав на байдарках")
+                    .build();
+            entityManager.persist(events[i]);
+        }
+        Request request = Request.builder()
+                .created(LocalDateTime.now().minusDays(1))
+                .status(EventRequestStatus.PENDING)
+                .event(events[1].getId())
+                .requester(requester.getId())
+                .build();
+        entityManager.persist(request);
+        EventRequestStatusUpdateRequest eventRequestStatusUpdateRequest = EventRequestStatusUpdateRequest.builder()
+                .requestIds(List.of(request.getId()))
+                .status(EventRequestUpdateStatus.CONFIRMED)
+                .build();
+
+        assertThrows(NotFoundException.class, () -> requestService.changeEventRequestsStatus(user.getId(),
+                events[0].getId(), eventRequestStatusUpdateRequest));
+        assertEquals(EventRequestStatus.PENDING, request.getStatus());
+        assertEquals(0, events[0].getConfirmedRequests());
+    }
+
     @Test
     void changeEventRequestsStatusTest_whenWhenRequestIsNotPending_thenNotFoundException() {
         User user = User.builder().name("test").email("test@email.com").build();
@@ -637,6 +692,7 @@ class RequestServiceImplIntegrationTest {
                 .location(location)
                 .paid(false)
                 .participantLimit(5)
+                .confirmedRequests(1)
                 .requestModeration(true)
                 .state(EventState.PUBLISHED)
                 .title("Сплав на байдарках")
@@ -698,6 +754,7 @@ class RequestServiceImplIntegrationTest {
                 .location(location)
                 .paid(false)
                 .participantLimit(2)
+                .confirmedRequests(1)
                 .requestModeration(true)
                 .state(EventState.PUBLISHED)
                 .title("Сплав на байдарках")
@@ -763,6 +820,7 @@ class RequestServiceImplIntegrationTest {
                 .location(location)
                 .paid(false)
                 .participantLimit(3)
+                .confirmedRequests(1)
                 .requestModeration(true)
                 .state(EventState.PUBLISHED)
                 .title("Сплав на байдарках")
@@ -799,5 +857,6 @@ class RequestServiceImplIntegrationTest {
 
         assertEquals(3, result.getConfirmedRequests().size());
         assertTrue(result.getRejectedRequests().isEmpty());
+        assertEquals(3, event.getConfirmedRequests());
     }
 }
\ No newline at end of file
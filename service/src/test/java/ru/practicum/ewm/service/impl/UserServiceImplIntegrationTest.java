@@ -76,7 +76,7 @@ class UserServiceImplIntegrationTest {
         User user3 = User.builder().name("test3").email("test3@test.com").build();
         entityManager.persist(user3);
 
-        List<UserDto> userDtos = userService.getUsers(List.of(user2.getId(), user3.getId()), 0, 10);
+        List<UserDto> userDtos = userService.getUsers(List.of(user2.getId(), user3.getId()), 0, 10, null);
 
         assertEquals(2, userDtos.size());
         assertEquals(user2.getId(), userDtos.get(0).getId());
@@ -92,7 +92,7 @@ class UserServiceImplIntegrationTest {
         User user3 = User.builder().name("test3").email("test3@test.com").build();
         entityManager.persist(user3);
 
-        List<UserDto> userDtos = userService.getUsers(null, 1, 2);
+        List<UserDto> userDtos = userService.getUsers(null, 1, 2, null);
 
         assertEquals(2, userDtos.size());
         assertEquals(user2.getId(), userDtos.get(0).getId());
@@ -0,0 +1,178 @@
+package ru.practicum.ewm.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.ewm.dto.EndpointHitDto;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class HitPublisher implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(HitPublisher.class);
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private final StatsClient statsClient;
+    private final BlockingQueue<EndpointHitDto> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final HitSpill spill;
+    private final Thread flusher;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile boolean running = true;
+
+    public HitPublisher(StatsClient statsClient, int capacity, int batchSize, Duration flushInterval,
+                        OverflowPolicy overflowPolicy, HitSpill spill) {
+        if (overflowPolicy == OverflowPolicy.SPILL && spill == null) {
+            throw new IllegalArgumentException("Для политики SPILL не задано хранилище.");
+        }
+        this.statsClient = statsClient;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.spill = spill;
+        this.flusher = new Thread(this::run, "stats-hit-publisher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public boolean publish(EndpointHitDto endpointHitDto) {
+        if (queue.offer(endpointHitDto)) {
+            return true;
+        }
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    queue.put(endpointHitDto);
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.incrementAndGet();
+                    return false;
+                }
+            case SPILL:
+                return spill(List.of(endpointHitDto));
+            default:
+                dropped.incrementAndGet();
+                return false;
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getSpilled() {
+        return spilled.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("stats.publisher.queue.depth", queue, BlockingQueue::size).register(registry);
+        FunctionCounter.builder("stats.publisher.sent", sent, AtomicLong::get).register(registry);
+        FunctionCounter.builder("stats.publisher.dropped", dropped, AtomicLong::get).register(registry);
+        FunctionCounter.builder("stats.publisher.spilled", spilled, AtomicLong::get).register(registry);
+        FunctionCounter.builder("stats.publisher.failed", failed, AtomicLong::get).register(registry);
+        FunctionCounter.builder("stats.publisher.rejected", rejected, AtomicLong::get).register(registry);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        flusher.join();
+    }
+
+    private void run() {
+        List<EndpointHitDto> batch = new ArrayList<>(batchSize);
+        while (running) {
+            long deadline = System.nanoTime() + flushIntervalNanos;
+            try {
+                long timeout = deadline - System.nanoTime();
+                while (running && batch.size() < batchSize && timeout > 0) {
+                    EndpointHitDto endpointHitDto = queue.poll(Math.min(timeout, POLL_NANOS), TimeUnit.NANOSECONDS);
+                    if (endpointHitDto != null) {
+                        batch.add(endpointHitDto);
+                        queue.drainTo(batch, batchSize - batch.size());
+                    }
+                    timeout = deadline - System.nanoTime();
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            flush(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+        queue.drainTo(batch);
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            flush(batch.subList(from, Math.min(from + batchSize, batch.size())));
+        }
+    }
+
+    private void flush(List<EndpointHitDto> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            ResponseEntity<Object> response = statsClient.saveHits(batch);
+            if (response.getStatusCode().is2xxSuccessful()) {
+                sent.addAndGet(batch.size());
+                return;
+            }
+            if (response.getStatusCode().is4xxClientError()) {
+                log.warn("Сервер статистики отклонил пакет из {} просмотров, пакет пропущен: {}", batch.size(),
+                        response.getStatusCode());
+                rejected.addAndGet(batch.size());
+                return;
+            }
+            log.warn("Сервер статистики не принял пакет из {} просмотров: {}", batch.size(),
+                    response.getStatusCode());
+        } catch (RuntimeException e) {
+            log.warn("Не удалось отправить пакет из {} просмотров: {}", batch.size(), e.getMessage());
+        }
+        failed.addAndGet(batch.size());
+        if (overflowPolicy == OverflowPolicy.SPILL) {
+            spill(batch);
+        }
+    }
+
+    private boolean spill(List<EndpointHitDto> endpointHitDtos) {
+        try {
+            if (spill.spill(endpointHitDtos)) {
+                spilled.addAndGet(endpointHitDtos.size());
+                return true;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Не удалось сохранить {} просмотров в хранилище: {}", endpointHitDtos.size(), e.getMessage());
+        }
+        dropped.addAndGet(endpointHitDtos.size());
+        return false;
+    }
+}
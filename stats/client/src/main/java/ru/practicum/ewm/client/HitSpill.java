@@ -0,0 +1,9 @@
+package ru.practicum.ewm.client;
+
+import ru.practicum.ewm.dto.EndpointHitDto;
+
+import java.util.List;
+
+public interface HitSpill {
+    boolean spill(List<EndpointHitDto> endpointHitDtos);
+}
@@ -0,0 +1,216 @@
+package ru.practicum.ewm.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import ru.practicum.ewm.dto.EndpointHitDto;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+public class HitSpool implements HitSpill, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(HitSpool.class);
+    private static final String SEGMENT_SUFFIX = ".spool";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int HEADER_SIZE = 8;
+    private final Path directory;
+    private final int segmentSize;
+    private final ObjectMapper mapper;
+    private final TreeSet<Long> segmentIds;
+    private long writeSegmentId;
+    private MappedByteBuffer writeBuffer;
+    private int writePosition;
+    private long readSegmentId;
+    private int readPosition;
+    private long pendingSegmentId;
+    private int pendingPosition;
+    private boolean closed;
+
+    public HitSpool(Path directory, int segmentSize, ObjectMapper mapper) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.mapper = mapper;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                segmentIds = files.map(file -> file.getFileName().toString())
+                        .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                        .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                        .collect(Collectors.toCollection(TreeSet::new));
+            }
+            if (segmentIds.isEmpty()) {
+                segmentIds.add(0L);
+            }
+            writeSegmentId = segmentIds.last();
+            writeBuffer = map(writeSegmentId, FileChannel.MapMode.READ_WRITE);
+            writePosition = recover(writeBuffer);
+            readCheckpoint();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось открыть журнал просмотров " + directory, e);
+        }
+    }
+
+    @Override
+    public synchronized boolean spill(List<EndpointHitDto> endpointHitDtos) {
+        if (closed) {
+            return false;
+        }
+        try {
+            for (EndpointHitDto endpointHitDto : endpointHitDtos) {
+                byte[] payload = mapper.writeValueAsBytes(endpointHitDto);
+                if (HEADER_SIZE + payload.length > segmentSize) {
+                    log.warn("Просмотр не помещается в сегмент журнала: {}", endpointHitDto);
+                    continue;
+                }
+                if (writePosition + HEADER_SIZE + payload.length > segmentSize) {
+                    rollSegment();
+                }
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                writeBuffer.putInt(writePosition + 4, (int) crc.getValue());
+                writeBuffer.duplicate().position(writePosition + HEADER_SIZE).put(payload);
+                writeBuffer.putInt(writePosition, payload.length);
+                writePosition += HEADER_SIZE + payload.length;
+            }
+            writeBuffer.force();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось записать просмотры в журнал " + directory, e);
+        }
+    }
+
+    public synchronized List<EndpointHitDto> peek(int limit) {
+        List<EndpointHitDto> endpointHitDtos = new ArrayList<>();
+        long segmentId = readSegmentId;
+        int position = readPosition;
+        try {
+            while (endpointHitDtos.size() < limit) {
+                ByteBuffer buffer = segmentId == writeSegmentId ? writeBuffer
+                        : map(segmentId, FileChannel.MapMode.READ_ONLY);
+                int end = segmentId == writeSegmentId ? writePosition : segmentSize;
+                byte[] payload = readRecord(buffer, position, end);
+                if (payload != null) {
+                    endpointHitDtos.add(mapper.readValue(payload, EndpointHitDto.class));
+                    position += HEADER_SIZE + payload.length;
+                } else if (segmentId < writeSegmentId) {
+                    segmentId = segmentIds.higher(segmentId);
+                    position = 0;
+                } else {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать журнал просмотров " + directory, e);
+        }
+        pendingSegmentId = segmentId;
+        pendingPosition = position;
+        return endpointHitDtos;
+    }
+
+    public synchronized void commit() {
+        try {
+            while (segmentIds.first() < pendingSegmentId) {
+                Files.deleteIfExists(segmentPath(segmentIds.pollFirst()));
+            }
+            readSegmentId = pendingSegmentId;
+            readPosition = pendingPosition;
+            Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            Files.write(temp, ByteBuffer.allocate(12).putLong(readSegmentId).putInt(readPosition).array());
+            Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось сохранить позицию журнала просмотров " + directory, e);
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return readSegmentId == writeSegmentId && readPosition >= writePosition;
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        writeBuffer.force();
+    }
+
+    private void rollSegment() throws IOException {
+        writeBuffer.force();
+        writeSegmentId++;
+        segmentIds.add(writeSegmentId);
+        writeBuffer = map(writeSegmentId, FileChannel.MapMode.READ_WRITE);
+        writePosition = 0;
+    }
+
+    private int recover(MappedByteBuffer buffer) {
+        int position = 0;
+        byte[] payload;
+        while ((payload = readRecord(buffer, position, segmentSize)) != null) {
+            position += HEADER_SIZE + payload.length;
+        }
+        for (int i = position; i < segmentSize; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.force();
+        return position;
+    }
+
+    private void readCheckpoint() throws IOException {
+        readSegmentId = segmentIds.first();
+        readPosition = 0;
+        Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+        if (Files.exists(checkpoint)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(checkpoint));
+            long segmentId = buffer.getLong();
+            if (segmentIds.contains(segmentId)) {
+                readSegmentId = segmentId;
+                readPosition = buffer.getInt();
+            }
+        }
+    }
+
+    private byte[] readRecord(ByteBuffer buffer, int position, int end) {
+        if (position + HEADER_SIZE > end) {
+            return null;
+        }
+        int length = buffer.getInt(position);
+        if (length <= 0 || position + HEADER_SIZE + length > end) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.duplicate().position(position + HEADER_SIZE).get(payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+            log.warn("Повреждённая запись в журнале просмотров, позиция {}", position);
+            return null;
+        }
+        return payload;
+    }
+
+    private MappedByteBuffer map(long segmentId, FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[] {StandardOpenOption.READ}
+                : new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE};
+        try (FileChannel channel = FileChannel.open(segmentPath(segmentId), options)) {
+            return channel.map(mode, 0, mode == FileChannel.MapMode.READ_ONLY ? channel.size() : segmentSize);
+        }
+    }
+
+    private Path segmentPath(long segmentId) {
+        return directory.resolve(String.format("%020d%s", segmentId, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.ewm.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.ewm.dto.EndpointHitDto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class HitSpoolDrainer implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(HitSpoolDrainer.class);
+    private final HitSpool spool;
+    private final StatsClient statsClient;
+    private final int batchSize;
+    private final ScheduledExecutorService executor;
+    private final AtomicLong drained = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public HitSpoolDrainer(HitSpool spool, StatsClient statsClient, int batchSize, Duration interval) {
+        this.spool = spool;
+        this.statsClient = statsClient;
+        this.batchSize = batchSize;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-hit-spool-drainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::drain, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public long getDrained() {
+        return drained.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("stats.spool.drained", drained, AtomicLong::get).register(registry);
+        FunctionCounter.builder("stats.spool.rejected", rejected, AtomicLong::get).register(registry);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    void drain() {
+        try {
+            List<EndpointHitDto> batch;
+            while (!executor.isShutdown() && !(batch = spool.peek(batchSize)).isEmpty()) {
+                ResponseEntity<Object> response = statsClient.saveHits(batch);
+                if (response.getStatusCode().is4xxClientError()) {
+                    log.warn("Сервер статистики отклонил пакет из {} просмотров, пакет пропущен: {}",
+                            batch.size(), response.getStatusCode());
+                    spool.commit();
+                    rejected.addAndGet(batch.size());
+                    continue;
+                }
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    log.debug("Сервер статистики недоступен, в журнале остаются просмотры: {}",
+                            response.getStatusCode());
+                    return;
+                }
+                spool.commit();
+                drained.addAndGet(batch.size());
+            }
+        } catch (RuntimeException e) {
+            log.debug("Не удалось выгрузить журнал просмотров: {}", e.getMessage());
+        }
+    }
+}
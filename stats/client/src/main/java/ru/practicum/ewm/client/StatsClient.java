@@ -1,5 +1,7 @@
 package ru.practicum.ewm.client;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.web.client.HttpStatusCodeException;
@@ -7,13 +9,23 @@ import org.springframework.web.client.RestTemplate;
 import ru.practicum.ewm.dto.EndpointHitDto;
 import ru.practicum.ewm.dto.ViewStatsDto;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 public class StatsClient {
+    private static final String VIEWS_EVENT = "views";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<Long, Long>> VIEWS_TYPE = new TypeReference<>() {};
     private final RestTemplate restTemplate;
 
     public StatsClient(RestTemplate restTemplate) {
@@ -21,26 +33,11 @@ public class StatsClient {
     }
 
     public ResponseEntity<Object> saveHit(EndpointHitDto endpointHitDto) {
-        HttpEntity<EndpointHitDto> requestEntity = new HttpEntity<>(endpointHitDto, makeHeaders());
-
-        ResponseEntity<Object> response;
-        try {
-            response = restTemplate.exchange("/hit", HttpMethod.POST, requestEntity, Object.class);
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
-        }
-
-        HttpStatus responseStatus = response.getStatusCode();
-        if (responseStatus.is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(responseStatus);
-        if (response.hasBody()) {
-            responseBuilder.body(response.getBody());
-        }
+        return post("/hit", endpointHitDto);
+    }
 
-        return responseBuilder.build();
+    public ResponseEntity<Object> saveHits(List<EndpointHitDto> endpointHitDtos) {
+        return post("/hits", endpointHitDtos);
     }
 
     public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
@@ -62,6 +59,80 @@ public class StatsClient {
                 new ParameterizedTypeReference<List<ViewStatsDto>>() {}, parameters).getBody();
     }
 
+    public Map<Long, Long> getViews(LocalDateTime start, LocalDateTime end, String route, List<Long> ids,
+                                    Boolean unique) {
+        Map<String, Object> parameters = Map.of(
+                "start", start.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
+                "end", end.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
+                "route", route,
+                "ids", ids.stream().map(String::valueOf).collect(Collectors.joining(",")),
+                "unique", unique
+        );
+        String url = "/stats/views?start={start}&end={end}&route={route}&ids={ids}&unique={unique}";
+        HttpEntity<?> requestEntity = new HttpEntity<>(makeHeaders());
+        return restTemplate.exchange(url, HttpMethod.GET, requestEntity,
+                new ParameterizedTypeReference<Map<Long, Long>>() {}, parameters).getBody();
+    }
+
+    public void subscribeViews(LocalDateTime start, String route, Boolean unique,
+                               Consumer<Map<Long, Long>> listener) {
+        Map<String, Object> parameters = Map.of(
+                "start", start.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")),
+                "route", route,
+                "unique", unique
+        );
+        String url = "/stats/views/stream?start={start}&route={route}&unique={unique}";
+        restTemplate.execute(url, HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM)),
+                response -> {
+                    readViewEvents(response.getBody(), listener);
+                    return null;
+                }, parameters);
+    }
+
+    static void readViewEvents(InputStream body, Consumer<Map<Long, Long>> listener) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        StringBuilder data = new StringBuilder();
+        String event = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                if (VIEWS_EVENT.equals(event) && data.length() > 0) {
+                    listener.accept(MAPPER.readValue(data.toString(), VIEWS_TYPE));
+                }
+                event = null;
+                data.setLength(0);
+            } else if (line.startsWith("event:")) {
+                event = line.substring("event:".length()).trim();
+            } else if (line.startsWith("data:")) {
+                data.append(line.substring("data:".length()).trim());
+            }
+        }
+    }
+
+    private <T> ResponseEntity<Object> post(String path, T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, makeHeaders());
+
+        ResponseEntity<Object> response;
+        try {
+            response = restTemplate.exchange(path, HttpMethod.POST, requestEntity, Object.class);
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        }
+
+        HttpStatus responseStatus = response.getStatusCode();
+        if (responseStatus.is2xxSuccessful()) {
+            return response;
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(responseStatus);
+        if (response.hasBody()) {
+            responseBuilder.body(response.getBody());
+        }
+
+        return responseBuilder.build();
+    }
+
     private HttpHeaders makeHeaders() {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -0,0 +1,72 @@
+package ru.practicum.ewm.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class ViewsSubscriber implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ViewsSubscriber.class);
+    private final StatsClient statsClient;
+    private final LocalDateTime start;
+    private final String route;
+    private final Boolean unique;
+    private final Duration retryDelay;
+    private final Consumer<Map<Long, Long>> listener;
+    private final Thread subscriber;
+    private final AtomicLong received = new AtomicLong();
+    private volatile boolean closed;
+
+    public ViewsSubscriber(StatsClient statsClient, LocalDateTime start, String route, Boolean unique,
+                           Duration retryDelay, Consumer<Map<Long, Long>> listener) {
+        this.statsClient = statsClient;
+        this.start = start;
+        this.route = route;
+        this.unique = unique;
+        this.retryDelay = retryDelay;
+        this.listener = listener;
+        this.subscriber = new Thread(this::run, "stats-views-subscriber");
+        this.subscriber.setDaemon(true);
+        this.subscriber.start();
+    }
+
+    public long getReceived() {
+        return received.get();
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("stats.views.push.received", received, AtomicLong::get).register(registry);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        subscriber.interrupt();
+    }
+
+    private void run() {
+        while (!closed) {
+            try {
+                statsClient.subscribeViews(start, route, unique, views -> {
+                    listener.accept(views);
+                    received.incrementAndGet();
+                });
+                log.debug("Поток просмотров {} закрыт сервером статистики", route);
+            } catch (RuntimeException e) {
+                log.debug("Не удалось получить поток просмотров {}: {}", route, e.getMessage());
+            }
+            try {
+                Thread.sleep(retryDelay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.ewm.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.ewm.dto.EndpointHitDto;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HitPublisherTest {
+    @Mock
+    private StatsClient statsClient;
+    private final EndpointHitDto endpointHitDto = EndpointHitDto.builder()
+            .app("ewm-main-service")
+            .uri("/events/1")
+            .ip("192.163.0.1")
+            .timestamp("2022-09-06 11:00:23").build();
+
+    @Test
+    void publishTest_whenBatchIsFull_thenSentInOneRequest() throws Exception {
+        when(statsClient.saveHits(anyList())).thenReturn(new ResponseEntity<>(HttpStatus.CREATED));
+        HitPublisher publisher = new HitPublisher(statsClient, 100, 3, Duration.ofMinutes(1),
+                OverflowPolicy.DROP, null);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(publisher.publish(endpointHitDto));
+        }
+
+        verify(statsClient, timeout(1000)).saveHits(List.of(endpointHitDto, endpointHitDto, endpointHitDto));
+        publisher.close();
+        assertEquals(3, publisher.getSent());
+        assertEquals(0, publisher.getDropped());
+    }
+
+    @Test
+    void publishTest_whenFlushIntervalPassed_thenPartialBatchSent() throws Exception {
+        when(statsClient.saveHits(anyList())).thenReturn(new ResponseEntity<>(HttpStatus.CREATED));
+        HitPublisher publisher = new HitPublisher(statsClient, 100, 10, Duration.ofMillis(50),
+                OverflowPolicy.DROP, null);
+
+        publisher.publish(endpointHitDto);
+
+        verify(statsClient, timeout(1000)).saveHits(List.of(endpointHitDto));
+        publisher.close();
+    }
+
+    @Test
+    void publishTest_whenQueueIsFullAndPolicyIsDrop_thenHitDropped() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(statsClient.saveHits(anyList())).thenAnswer(invocation -> {
+            sending.countDown();
+            release.await();
+            return new ResponseEntity<>(HttpStatus.CREATED);
+        });
+        HitPublisher publisher = new HitPublisher(statsClient, 1, 1, Duration.ofMinutes(1),
+                OverflowPolicy.DROP, null);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        publisher.bindTo(registry);
+
+        assertTrue(publisher.publish(endpointHitDto));
+        assertTrue(sending.await(1, TimeUnit.SECONDS));
+        assertTrue(publisher.publish(endpointHitDto));
+        assertFalse(publisher.publish(endpointHitDto));
+
+        assertEquals(1, publisher.getQueueDepth());
+        assertEquals(1.0, registry.get("stats.publisher.queue.depth").gauge().value());
+        assertEquals(1.0, registry.get("stats.publisher.dropped").functionCounter().count());
+        release.countDown();
+        publisher.close();
+        assertEquals(2, publisher.getSent());
+    }
+
+    @Test
+    void publishTest_whenServerFailsAndPolicyIsSpill_thenBatchSpilled() throws Exception {
+        List<EndpointHitDto> spilled = new ArrayList<>();
+        when(statsClient.saveHits(anyList())).thenReturn(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+        HitPublisher publisher = new HitPublisher(statsClient, 100, 2, Duration.ofMinutes(1),
+                OverflowPolicy.SPILL, endpointHitDtos -> spilled.addAll(endpointHitDtos));
+
+        publisher.publish(endpointHitDto);
+        publisher.publish(endpointHitDto);
+        publisher.close();
+
+        assertEquals(2, publisher.getFailed());
+        assertEquals(2, publisher.getSpilled());
+        assertEquals(List.of(endpointHitDto, endpointHitDto), spilled);
+    }
+
+    @Test
+    void publishTest_whenServerRejectsAndPolicyIsSpill_thenBatchNotSpilled() throws Exception {
+        List<EndpointHitDto> spilled = new ArrayList<>();
+        when(statsClient.saveHits(anyList())).thenReturn(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        HitPublisher publisher = new HitPublisher(statsClient, 100, 2, Duration.ofMinutes(1),
+                OverflowPolicy.SPILL, endpointHitDtos -> spilled.addAll(endpointHitDtos));
+
+        publisher.publish(endpointHitDto);
+        publisher.publish(endpointHitDto);
+        publisher.close();
+
+        assertEquals(2, publisher.getRejected());
+        assertEquals(0, publisher.getFailed());
+        assertEquals(0, publisher.getSpilled());
+        assertTrue(spilled.isEmpty());
+    }
+
+    @Test
+    void closeTest_whenHitsQueued_thenFlushedBeforeStop() throws Exception {
+        when(statsClient.saveHits(anyList())).thenReturn(new ResponseEntity<>(HttpStatus.CREATED));
+        HitPublisher publisher = new HitPublisher(statsClient, 100, 50, Duration.ofMinutes(1),
+                OverflowPolicy.BLOCK, null);
+
+        publisher.publish(endpointHitDto);
+        publisher.close();
+
+        verify(statsClient).saveHits(List.of(endpointHitDto));
+        assertEquals(1, publisher.getSent());
+    }
+
+    @Test
+    void createTest_whenSpillPolicyWithoutSpill_thenThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new HitPublisher(statsClient, 100, 50,
+                Duration.ofMinutes(1), OverflowPolicy.SPILL, null));
+    }
+}
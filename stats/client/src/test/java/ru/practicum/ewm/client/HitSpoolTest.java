@@ -0,0 +1,156 @@
+package ru.practicum.ewm.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.ewm.dto.EndpointHitDto;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class HitSpoolTest {
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .modulesToInstall(new ParameterNamesModule()).build();
+    @TempDir
+    Path directory;
+
+    @Test
+    void peekTest_whenHitsSpanSegments_thenReadInOrder() {
+        List<EndpointHitDto> endpointHitDtos = makeHits(30);
+        HitSpool spool = new HitSpool(directory, 512, mapper);
+
+        assertTrue(spool.spill(endpointHitDtos.subList(0, 10)));
+        assertTrue(spool.spill(endpointHitDtos.subList(10, 30)));
+        List<EndpointHitDto> first = spool.peek(20);
+        spool.commit();
+        List<EndpointHitDto> second = spool.peek(20);
+        spool.commit();
+
+        assertEquals(endpointHitDtos.subList(0, 20), first);
+        assertEquals(endpointHitDtos.subList(20, 30), second);
+        assertTrue(spool.isEmpty());
+    }
+
+    @Test
+    void peekTest_whenNotCommitted_thenSameHitsReturnedAgain() {
+        List<EndpointHitDto> endpointHitDtos = makeHits(3);
+        HitSpool spool = new HitSpool(directory, 4096, mapper);
+        spool.spill(endpointHitDtos);
+
+        assertEquals(endpointHitDtos, spool.peek(10));
+        assertEquals(endpointHitDtos, spool.peek(10));
+    }
+
+    @Test
+    void createTest_whenReopened_thenUncommittedHitsRecovered() throws Exception {
+        List<EndpointHitDto> endpointHitDtos = makeHits(20);
+        HitSpool spool = new HitSpool(directory, 512, mapper);
+        spool.spill(endpointHitDtos);
+        spool.peek(5);
+        spool.commit();
+        spool.close();
+
+        HitSpool reopened = new HitSpool(directory, 512, mapper);
+        reopened.spill(makeHits(21).subList(20, 21));
+
+        assertEquals(makeHits(21).subList(5, 21), reopened.peek(100));
+    }
+
+    @Test
+    void createTest_whenTailRecordTorn_thenPrecedingHitsRecovered() throws Exception {
+        List<EndpointHitDto> endpointHitDtos = makeHits(3);
+        HitSpool spool = new HitSpool(directory, 4096, mapper);
+        spool.spill(endpointHitDtos);
+        spool.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(file -> file.toString().endsWith(".spool")).findFirst().orElseThrow();
+        }
+        int lastRecord = 2 * (8 + mapper.writeValueAsBytes(endpointHitDtos.get(0)).length);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(lastRecord + 10);
+            file.write('#');
+        }
+
+        HitSpool reopened = new HitSpool(directory, 4096, mapper);
+        reopened.spill(makeHits(4).subList(3, 4));
+
+        assertEquals(List.of(endpointHitDtos.get(0), endpointHitDtos.get(1), makeHits(4).get(3)),
+                reopened.peek(10));
+    }
+
+    @Test
+    void drainTest_whenServerRecovers_thenHitsReplayedInOrder() throws Exception {
+        List<EndpointHitDto> endpointHitDtos = makeHits(7);
+        HitSpool spool = new HitSpool(directory, 512, mapper);
+        spool.spill(endpointHitDtos);
+        StatsClient statsClient = mock(StatsClient.class);
+        List<EndpointHitDto> delivered = new ArrayList<>();
+        when(statsClient.saveHits(anyList()))
+                .thenReturn(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE))
+                .thenAnswer(invocation -> {
+                    delivered.addAll(invocation.getArgument(0));
+                    return new ResponseEntity<>(HttpStatus.CREATED);
+                });
+        HitSpoolDrainer drainer = new HitSpoolDrainer(spool, statsClient, 3, Duration.ofDays(1));
+
+        drainer.drain();
+        assertTrue(delivered.isEmpty());
+        assertFalse(spool.isEmpty());
+        drainer.drain();
+        drainer.close();
+
+        assertEquals(endpointHitDtos, delivered);
+        assertEquals(7, drainer.getDrained());
+        assertTrue(spool.isEmpty());
+        verify(statsClient, times(4)).saveHits(anyList());
+    }
+
+    @Test
+    void drainTest_whenServerRejectsBatch_thenBatchSkippedAndRestDelivered() throws Exception {
+        List<EndpointHitDto> endpointHitDtos = makeHits(5);
+        HitSpool spool = new HitSpool(directory, 512, mapper);
+        spool.spill(endpointHitDtos);
+        StatsClient statsClient = mock(StatsClient.class);
+        List<EndpointHitDto> delivered = new ArrayList<>();
+        when(statsClient.saveHits(anyList()))
+                .thenReturn(new ResponseEntity<>(HttpStatus.BAD_REQUEST))
+                .thenAnswer(invocation -> {
+                    delivered.addAll(invocation.getArgument(0));
+                    return new ResponseEntity<>(HttpStatus.CREATED);
+                });
+        HitSpoolDrainer drainer = new HitSpoolDrainer(spool, statsClient, 3, Duration.ofDays(1));
+
+        drainer.drain();
+        drainer.close();
+
+        assertEquals(endpointHitDtos.subList(3, 5), delivered);
+        assertEquals(3, drainer.getRejected());
+        assertEquals(2, drainer.getDrained());
+        assertTrue(spool.isEmpty());
+    }
+
+    private List<EndpointHitDto> makeHits(int count) {
+        return IntStream.range(0, count).mapToObj(i -> EndpointHitDto.builder()
+                        .app("ewm-main-service")
+                        .uri("/events/" + i)
+                        .ip("192.163.0.1")
+                        .timestamp("2022-09-06 11:00:23").build())
+                .collect(Collectors.toList());
+    }
+}
@@ -12,8 +12,12 @@ import org.springframework.web.client.RestTemplate;
 import ru.practicum.ewm.dto.EndpointHitDto;
 import ru.practicum.ewm.dto.ViewStatsDto;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -75,4 +79,34 @@ class StatsClientTest {
                 eq(new ParameterizedTypeReference<List<ViewStatsDto>>() {}), anyMap());
         assertEquals(viewStatsDto, viewStatsDtos.get(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getViewsTest_whenIdsGiven_thenIdsJoinedIntoOneParameter() {
+        Mockito.when(restTemplate.exchange(anyString(), any(), any(),
+                        eq(new ParameterizedTypeReference<Map<Long, Long>>() {}), anyMap()))
+                .thenReturn(new ResponseEntity<>(Map.of(11L, 3L), HttpStatus.OK));
+
+        Map<Long, Long> views = client.getViews(LocalDateTime.now().minusDays(2), LocalDateTime.now(),
+                "/events/{id}", List.of(1L, 11L), true);
+
+        verify(restTemplate, times(1)).exchange(anyString(), any(), any(),
+                eq(new ParameterizedTypeReference<Map<Long, Long>>() {}),
+                argThat((Map<String, ?> parameters) -> "1,11".equals(parameters.get("ids"))
+                        && "/events/{id}".equals(parameters.get("route"))));
+        assertEquals(Map.of(11L, 3L), views);
+    }
+
+    @Test
+    void readViewEventsTest_whenStreamHasEvents_thenOnlyViewEventsDelivered() throws Exception {
+        String stream = ":ping\n\n"
+                + "event:views\ndata:{\"1\":3,\"11\":1}\n\n"
+                + "event:other\ndata:{\"2\":5}\n\n"
+                + "event:views\ndata:{\"2\":7}\n\n";
+        List<Map<Long, Long>> received = new ArrayList<>();
+
+        StatsClient.readViewEvents(new ByteArrayInputStream(stream.getBytes(StandardCharsets.UTF_8)),
+                received::add);
+
+        assertEquals(List.of(Map.of(1L, 3L, 11L, 1L), Map.of(2L, 7L)), received);
+    }
+}
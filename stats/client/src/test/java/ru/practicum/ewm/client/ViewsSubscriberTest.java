@@ -0,0 +1,46 @@
+package ru.practicum.ewm.client;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViewsSubscriberTest {
+    private static final LocalDateTime START = LocalDateTime.of(2020, 11, 11, 11, 11, 11);
+    @Mock
+    private StatsClient statsClient;
+
+    @Test
+    void subscriberTest_whenStreamFails_thenReconnectsAndDeliversViews() {
+        List<Map<Long, Long>> received = new CopyOnWriteArrayList<>();
+        doThrow(new IllegalStateException("connection refused"))
+                .doAnswer(invocation -> {
+                    Consumer<Map<Long, Long>> listener = invocation.getArgument(3);
+                    listener.accept(Map.of(1L, 5L));
+                    return null;
+                })
+                .doNothing()
+                .when(statsClient).subscribeViews(eq(START), eq("/events/{id}"), eq(true), any());
+
+        try (ViewsSubscriber subscriber = new ViewsSubscriber(statsClient, START, "/events/{id}", true,
+                Duration.ofMillis(10), received::add)) {
+            verify(statsClient, timeout(5000).atLeast(3)).subscribeViews(eq(START), eq("/events/{id}"), eq(true),
+                    any());
+            assertEquals(List.of(Map.of(1L, 5L)), received);
+            assertEquals(1L, subscriber.getReceived());
+        }
+    }
+}
@@ -3,12 +3,25 @@ package ru.practicum.ewm.dto;
 import lombok.Builder;
 import lombok.Data;
 
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+
 @Data
 @Builder
 public class EndpointHitDto {
     private Long id;
+    @NotBlank(message = "Название сервиса не может быть пустым.")
+    @Size(max = 50, message = "Название сервиса не соответствует размерам.")
     private String app;
+    @NotBlank(message = "URI не может быть пустым.")
+    @Size(max = 50, message = "URI не соответствует размерам.")
     private String uri;
+    @NotBlank(message = "IP-адрес не может быть пустым.")
+    @Size(max = 50, message = "IP-адрес не соответствует размерам.")
     private String ip;
+    @NotBlank(message = "Дата запроса не может быть пустой.")
+    @Pattern(regexp = "\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}",
+            message = "Дата запроса должна быть в формате yyyy-MM-dd HH:mm:ss.")
     private String timestamp;
 }
@@ -0,0 +1,106 @@
+package ru.practicum.ewm.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+import ru.practicum.ewm.StatsServerApp;
+import ru.practicum.ewm.dto.EndpointHitDto;
+import ru.practicum.ewm.dto.ViewStatsDto;
+import ru.practicum.ewm.service.StatsService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StatsStorageBenchmark {
+    private static final int BATCH_SIZE = 500;
+    private static final int URIS = 1000;
+    private static final int PERIOD_SECONDS = 30 * 24 * 60 * 60;
+    private static final LocalDateTime START = LocalDateTime.of(2022, 9, 1, 0, 0);
+    private static final LocalDateTime END = START.plusSeconds(PERIOD_SECONDS);
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    @Param({"jpa", "columnar"})
+    private String storage;
+    @Param("100000")
+    private int hits;
+    private ConfigurableApplicationContext context;
+    private StatsService statsService;
+    private Path directory;
+    private long nextHit;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("ewm-stats-benchmark");
+        context = new SpringApplicationBuilder(StatsServerApp.class)
+                .web(WebApplicationType.NONE)
+                .profiles("integrationtest")
+                .run("--stats.storage=" + storage,
+                        "--stats.columnar.dir=" + directory,
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        statsService = context.getBean(StatsService.class);
+        for (int i = 0; i < hits / BATCH_SIZE; i++) {
+            statsService.saveHits(makeBatch());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void saveHits() {
+        statsService.saveHits(makeBatch());
+    }
+
+    @Benchmark
+    public List<ViewStatsDto> getStats() {
+        return statsService.getStats(START, END, null, false);
+    }
+
+    @Benchmark
+    public List<ViewStatsDto> getUniqueStats() {
+        return statsService.getStats(START, END, null, true);
+    }
+
+    @Benchmark
+    public List<ViewStatsDto> getStatsByUris() {
+        return statsService.getStats(START, END, List.of("/events/1", "/events/2", "/events/3"), false);
+    }
+
+    private List<EndpointHitDto> makeBatch() {
+        List<EndpointHitDto> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++, nextHit++) {
+            batch.add(EndpointHitDto.builder()
+                    .app("ewm-main-service")
+                    .uri("/events/" + nextHit % URIS)
+                    .ip("10.0." + nextHit / 250 % 250 + "." + nextHit % 250)
+                    .timestamp(START.plusSeconds(nextHit * 13 % PERIOD_SECONDS).format(FORMATTER))
+                    .build());
+        }
+        return batch;
+    }
+}
@@ -1,34 +1,174 @@
 package ru.practicum.ewm.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.ewm.dto.EndpointHitDto;
 import ru.practicum.ewm.dto.ViewStatsDto;
+import ru.practicum.ewm.exception.model.DateRangeException;
+import ru.practicum.ewm.exception.model.LimitException;
+import ru.practicum.ewm.model.UniqueMode;
 import ru.practicum.ewm.service.StatsService;
+import ru.practicum.ewm.service.TopStatsService;
+import ru.practicum.ewm.service.ViewsPushService;
 
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Valid;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @RestController
 @RequiredArgsConstructor
 public class StatsController {
     private final StatsService service;
+    private final TopStatsService topStatsService;
+    private final ViewsPushService viewsPushService;
+    private final ObjectMapper mapper;
+    private final Validator validator;
 
     @PostMapping("/hit")
     @ResponseStatus(HttpStatus.CREATED)
-    public void saveHit(@RequestBody EndpointHitDto endpointHitDto) {
+    public void saveHit(@RequestBody @Valid EndpointHitDto endpointHitDto) {
         service.saveHit(endpointHitDto);
     }
 
+    @PostMapping(value = "/hits", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public void saveHits(@RequestBody List<EndpointHitDto> endpointHitDtos) {
+        endpointHitDtos.forEach(this::validate);
+        service.saveHits(endpointHitDtos);
+    }
+
+    @PostMapping(value = "/hits", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @ResponseStatus(HttpStatus.CREATED)
+    public void saveHits(InputStream body) throws IOException {
+        try (MappingIterator<EndpointHitDto> iterator = mapper.readerFor(EndpointHitDto.class).readValues(body)) {
+            service.saveHitStream(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    try {
+                        return iterator.hasNextValue();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public EndpointHitDto next() {
+                    try {
+                        return validate(iterator.nextValue());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
     @GetMapping("/stats")
     public List<ViewStatsDto> getStats(@RequestParam(value = "start")
             @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime start,
             @RequestParam(value = "end")
             @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime end,
             @RequestParam(value = "uris", required = false) List<String> uris,
+            @RequestParam(value = "unique", defaultValue = "false") UniqueMode unique) {
+        if (unique == UniqueMode.APPROX) {
+            return service.getApproxUniqueStats(start, end, uris);
+        }
+        return service.getStats(start, end, uris, unique == UniqueMode.TRUE);
+    }
+
+    @GetMapping(value = "/stats", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamStats(@RequestParam(value = "start")
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime start,
+            @RequestParam(value = "end")
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime end,
+            @RequestParam(value = "uris", required = false) List<String> uris,
+            @RequestParam(value = "unique", defaultValue = "false") UniqueMode unique,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            HttpServletResponse response) throws IOException {
+        if (start.isAfter(end)) {
+            throw new DateRangeException("start поле end");
+        }
+        if (limit != null && limit <= 0) {
+            throw new LimitException("limit должен быть больше 0");
+        }
+        SequenceWriter[] writer = new SequenceWriter[1];
+        Consumer<ViewStatsDto> action = viewStatsDto -> {
+            try {
+                if (writer[0] == null) {
+                    writer[0] = openNdjsonWriter(response);
+                }
+                writer[0].write(viewStatsDto);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        if (unique == UniqueMode.APPROX) {
+            service.streamApproxUniqueStats(start, end, uris, limit, action);
+        } else {
+            service.streamStats(start, end, uris, unique == UniqueMode.TRUE, limit, action);
+        }
+        if (writer[0] == null) {
+            writer[0] = openNdjsonWriter(response);
+        }
+        writer[0].close();
+    }
+
+    @GetMapping(value = "/stats/views/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeViews(@RequestParam(value = "start")
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime start,
+            @RequestParam(value = "route") String route,
+            @RequestParam(value = "unique", defaultValue = "false") Boolean unique) {
+        return viewsPushService.subscribe(start, route, unique);
+    }
+
+    @GetMapping("/stats/top")
+    public List<ViewStatsDto> getTop(@RequestParam(value = "limit", defaultValue = "10") Integer limit) {
+        return topStatsService.getTop(LocalDateTime.now(), limit);
+    }
+
+    @GetMapping("/stats/views")
+    public Map<Long, Long> getViews(@RequestParam(value = "start")
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime start,
+            @RequestParam(value = "end")
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime end,
+            @RequestParam(value = "route") String route,
+            @RequestParam(value = "ids") List<Long> ids,
             @RequestParam(value = "unique", defaultValue = "false") Boolean unique) {
-        return service.getStats(start, end, uris, unique);
+        return service.getViews(start, end, route, ids, unique);
+    }
+
+    private EndpointHitDto validate(EndpointHitDto endpointHitDto) {
+        Set<ConstraintViolation<EndpointHitDto>> violations = validator.validate(endpointHitDto);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return endpointHitDto;
+    }
+
+    private SequenceWriter openNdjsonWriter(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        return mapper.writer().withRootValueSeparator("\n").writeValues(response.getOutputStream());
     }
 }
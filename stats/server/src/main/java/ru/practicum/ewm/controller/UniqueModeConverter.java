@@ -0,0 +1,13 @@
+package ru.practicum.ewm.controller;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.model.UniqueMode;
+
+@Component
+public class UniqueModeConverter implements Converter<String, UniqueMode> {
+    @Override
+    public UniqueMode convert(String source) {
+        return UniqueMode.from(source.trim());
+    }
+}
@@ -1,36 +1,52 @@
 package ru.practicum.ewm.exception;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.convert.ConversionFailedException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import ru.practicum.ewm.exception.model.DateRangeException;
 import ru.practicum.ewm.exception.model.ErrorResponse;
+import ru.practicum.ewm.exception.model.LimitException;
+
+import javax.validation.ConstraintViolationException;
+import java.time.format.DateTimeParseException;
 
 @Slf4j
 @RestControllerAdvice
 public class ErrorHandler {
     @ExceptionHandler({MissingServletRequestParameterException.class, ConversionFailedException.class,
-            DateRangeException.class})
-    @ResponseStatus(HttpStatus.BAD_REQUEST)
-    public ErrorResponse handleAvailableException(final Exception e) {
+            DateRangeException.class, LimitException.class, HttpMessageNotReadableException.class,
+            JsonProcessingException.class, MethodArgumentTypeMismatchException.class,
+            MethodArgumentNotValidException.class, ConstraintViolationException.class,
+            DateTimeParseException.class})
+    public ResponseEntity<ErrorResponse> handleAvailableException(final Exception e) {
         log.error("Произошло исключение!" + e.getMessage());
-        return new ErrorResponse(
+        return toResponse(new ErrorResponse(
                 e.getMessage(),
                 HttpStatus.BAD_REQUEST
-        );
+        ));
     }
 
     @ExceptionHandler
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
-    public ErrorResponse handleThrowable(final Throwable e) {
+    public ResponseEntity<ErrorResponse> handleThrowable(final Throwable e) {
         log.error("Произошла непредвиденная ошибка.");
-        return new ErrorResponse(
+        return toResponse(new ErrorResponse(
                 "Произошла непредвиденная ошибка.",
                 HttpStatus.INTERNAL_SERVER_ERROR
-        );
+        ));
+    }
+
+    private ResponseEntity<ErrorResponse> toResponse(ErrorResponse errorResponse) {
+        return ResponseEntity.status(errorResponse.getHttpStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponse);
     }
 }
@@ -0,0 +1,7 @@
+package ru.practicum.ewm.exception.model;
+
+public class LimitException extends RuntimeException {
+    public LimitException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.ewm.mapper;
 
 import ru.practicum.ewm.dto.EndpointHitDto;
 import ru.practicum.ewm.model.EndpointHit;
+import ru.practicum.ewm.utils.UriRoute;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -10,12 +11,15 @@ public class EndpointHitMapper {
     public static EndpointHit toEndpointHit(EndpointHitDto endpointHitDto) {
         LocalDateTime timestamp = LocalDateTime.parse(endpointHitDto.getTimestamp(),
                 DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        UriRoute uriRoute = UriRoute.parse(endpointHitDto.getUri());
 
         return EndpointHit.builder()
                 .app(endpointHitDto.getApp())
                 .uri(endpointHitDto.getUri())
                 .ip(endpointHitDto.getIp())
                 .timestamp(timestamp)
+                .route(uriRoute.getRoute())
+                .resourceId(uriRoute.getResourceId())
                 .build();
     }
 }
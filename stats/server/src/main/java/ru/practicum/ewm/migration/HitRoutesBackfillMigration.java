@@ -0,0 +1,76 @@
+package ru.practicum.ewm.migration;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.utils.UriRoute;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+public class HitRoutesBackfillMigration implements JavaMigration {
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("5");
+    }
+
+    @Override
+    public String getDescription() {
+        return "backfill hit routes";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean isUndo() {
+        return false;
+    }
+
+    @Override
+    public boolean isBaselineMigration() {
+        return false;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        for (String table : List.of("endpoint_hit", "hit_rollup")) {
+            List<String> uris = new ArrayList<>();
+            try (Statement select = context.getConnection().createStatement();
+                 ResultSet resultSet = select.executeQuery("SELECT DISTINCT uri FROM " + table
+                         + " WHERE route IS NULL")) {
+                while (resultSet.next()) {
+                    uris.add(resultSet.getString(1));
+                }
+            }
+            try (PreparedStatement update = context.getConnection().prepareStatement("UPDATE " + table
+                    + " SET route = ?, resource_id = ? WHERE uri = ? AND route IS NULL")) {
+                for (String uri : uris) {
+                    UriRoute uriRoute = UriRoute.parse(uri);
+                    update.setString(1, uriRoute.getRoute());
+                    if (uriRoute.getResourceId() == null) {
+                        update.setNull(2, Types.BIGINT);
+                    } else {
+                        update.setLong(2, uriRoute.getResourceId());
+                    }
+                    update.setString(3, uri);
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+        }
+    }
+}
@@ -26,6 +26,10 @@ public class EndpointHit {
     private String ip;
     @Column(name = "endpoint_hit_timestamp", nullable = false)
     private LocalDateTime timestamp;
+    @Column(name = "route")
+    private String route;
+    @Column(name = "resource_id")
+    private Long resourceId;
 
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,29 @@
+package ru.practicum.ewm.model;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum Granularity {
+    MINUTE(ChronoUnit.MINUTES, false), HOUR(ChronoUnit.HOURS, true), DAY(ChronoUnit.DAYS, true);
+
+    private final ChronoUnit unit;
+    private final boolean sketched;
+
+    Granularity(ChronoUnit unit, boolean sketched) {
+        this.unit = unit;
+        this.sketched = sketched;
+    }
+
+    public boolean isSketched() {
+        return sketched;
+    }
+
+    public LocalDateTime truncate(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(unit);
+    }
+
+    public LocalDateTime ceil(LocalDateTime timestamp) {
+        LocalDateTime truncated = truncate(timestamp);
+        return truncated.equals(timestamp) ? truncated : truncated.plus(1, unit);
+    }
+}
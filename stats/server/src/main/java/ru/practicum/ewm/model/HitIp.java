@@ -0,0 +1,20 @@
+package ru.practicum.ewm.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+public class HitIp {
+    private final String app;
+    private final String uri;
+    private final String ip;
+
+    public HitIp(String app, String uri, String ip) {
+        this.app = app;
+        this.uri = uri;
+        this.ip = ip;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.ewm.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+public class HitPartition {
+    private final String name;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    public HitPartition(String name, LocalDateTime from, LocalDateTime to) {
+        this.name = name;
+        this.from = from;
+        this.to = to;
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.ewm.model;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+@EqualsAndHashCode
+@ToString
+@Entity
+@Table(name = "hit_rollup")
+public class HitRollup {
+    @EmbeddedId
+    private HitRollupId id;
+    @Column(name = "hits", nullable = false)
+    private Long hits;
+    @Column(name = "route")
+    private String route;
+    @Column(name = "resource_id")
+    private Long resourceId;
+    @ToString.Exclude
+    @Column(name = "sketch")
+    private byte[] sketch;
+}
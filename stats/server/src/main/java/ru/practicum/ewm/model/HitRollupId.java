@@ -0,0 +1,29 @@
+package ru.practicum.ewm.model;
+
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode
+@ToString
+@Embeddable
+public class HitRollupId implements Serializable {
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false)
+    private Granularity granularity;
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    @Column(name = "app", nullable = false)
+    private String app;
+    @Column(name = "uri", nullable = false)
+    private String uri;
+}
@@ -0,0 +1,12 @@
+package ru.practicum.ewm.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class HitsSavedEvent {
+    private final List<EndpointHit> endpointHits;
+}
@@ -0,0 +1,30 @@
+package ru.practicum.ewm.model;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+public enum PartitionInterval {
+    DAY(ChronoUnit.DAYS, "yyyyMMdd"), MONTH(ChronoUnit.MONTHS, "yyyyMM");
+
+    private final ChronoUnit unit;
+    private final DateTimeFormatter suffixFormatter;
+
+    PartitionInterval(ChronoUnit unit, String suffixPattern) {
+        this.unit = unit;
+        this.suffixFormatter = DateTimeFormatter.ofPattern(suffixPattern);
+    }
+
+    public LocalDateTime truncate(LocalDateTime timestamp) {
+        LocalDateTime day = timestamp.truncatedTo(ChronoUnit.DAYS);
+        return unit == ChronoUnit.MONTHS ? day.withDayOfMonth(1) : day;
+    }
+
+    public LocalDateTime next(LocalDateTime start) {
+        return start.plus(1, unit);
+    }
+
+    public String getPartitionName(LocalDateTime start) {
+        return "endpoint_hit_p" + start.format(suffixFormatter);
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.ewm.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+public class ResourceIp {
+    private final Long resourceId;
+    private final String ip;
+
+    public ResourceIp(Long resourceId, String ip) {
+        this.resourceId = resourceId;
+        this.ip = ip;
+    }
+}
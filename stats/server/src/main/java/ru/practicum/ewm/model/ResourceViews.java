@@ -0,0 +1,18 @@
+package ru.practicum.ewm.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+public class ResourceViews {
+    private final Long resourceId;
+    private final Long hits;
+
+    public ResourceViews(Long resourceId, Long hits) {
+        this.resourceId = resourceId;
+        this.hits = hits;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.ewm.model;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+public class StatsSegment {
+    private final Granularity granularity;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    public StatsSegment(Granularity granularity, LocalDateTime start, LocalDateTime end) {
+        this.granularity = granularity;
+        this.start = start;
+        this.end = end;
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.ewm.model;
+
+public enum UniqueMode {
+    FALSE, TRUE, APPROX;
+
+    public static UniqueMode from(String value) {
+        for (UniqueMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестное значение unique: " + value);
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.ewm.repository;
+
+import ru.practicum.ewm.model.EndpointHit;
+
+import java.util.List;
+
+public interface EndpointHitBatchRepository {
+    void batchInsert(List<EndpointHit> endpointHits);
+}
@@ -0,0 +1,30 @@
+package ru.practicum.ewm.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.model.EndpointHit;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class EndpointHitBatchRepositoryImpl implements EndpointHitBatchRepository {
+    private final JdbcTemplate jdbcTemplate;
+    @Value("${stats.hits.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void batchInsert(List<EndpointHit> endpointHits) {
+        jdbcTemplate.batchUpdate("INSERT INTO endpoint_hit (app, uri, ip, endpoint_hit_timestamp, route, resource_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", endpointHits, batchSize, (statement, endpointHit) -> {
+                    statement.setString(1, endpointHit.getApp());
+                    statement.setString(2, endpointHit.getUri());
+                    statement.setString(3, endpointHit.getIp());
+                    statement.setTimestamp(4, Timestamp.valueOf(endpointHit.getTimestamp()));
+                    statement.setString(5, endpointHit.getRoute());
+                    statement.setObject(6, endpointHit.getResourceId(), Types.BIGINT);
+                });
+    }
+}
@@ -3,17 +3,20 @@ package ru.practicum.ewm.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.ewm.model.EndpointHit;
+import ru.practicum.ewm.model.HitIp;
+import ru.practicum.ewm.model.ResourceIp;
+import ru.practicum.ewm.model.ResourceViews;
 import ru.practicum.ewm.model.ViewStats;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
-public interface EndpointHitRepository extends JpaRepository<EndpointHit, Long> {
+public interface EndpointHitRepository extends JpaRepository<EndpointHit, Long>, EndpointHitBatchRepository,
+        EndpointHitStreamRepository {
     @Query("SELECT new ru.practicum.ewm.model.ViewStats(eh.app, eh.uri, COUNT(*)) "
             + "FROM EndpointHit eh "
-            + "WHERE (eh.timestamp BETWEEN ?1 AND ?2) AND ((eh.uri IN ?3) OR ?3 IS NULL) "
-            + "GROUP BY eh.app, eh.uri "
-            + "ORDER BY COUNT(*) DESC")
+            + "WHERE eh.timestamp >= ?1 AND eh.timestamp < ?2 AND ((eh.uri IN ?3) OR ?3 IS NULL) "
+            + "GROUP BY eh.app, eh.uri")
     List<ViewStats> getStats(LocalDateTime start, LocalDateTime end, List<String> uris);
 
     @Query("SELECT new ru.practicum.ewm.model.ViewStats(eh.app, eh.uri, COUNT(DISTINCT eh.ip)) "
@@ -22,4 +25,27 @@ public interface EndpointHitRepository extends JpaRepository<EndpointHit, Long>
             + "GROUP BY eh.app, eh.uri "
             + "ORDER BY COUNT(DISTINCT eh.ip) DESC")
     List<ViewStats> getUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris);
+
+    @Query("SELECT DISTINCT new ru.practicum.ewm.model.HitIp(eh.app, eh.uri, eh.ip) "
+            + "FROM EndpointHit eh "
+            + "WHERE eh.timestamp >= ?1 AND eh.timestamp < ?2 AND ((eh.uri IN ?3) OR ?3 IS NULL)")
+    List<HitIp> getHitIps(LocalDateTime start, LocalDateTime end, List<String> uris);
+
+    @Query("SELECT new ru.practicum.ewm.model.ResourceViews(eh.resourceId, COUNT(*)) "
+            + "FROM EndpointHit eh "
+            + "WHERE eh.route = ?1 AND eh.resourceId IN ?2 AND eh.timestamp >= ?3 AND eh.timestamp < ?4 "
+            + "GROUP BY eh.resourceId")
+    List<ResourceViews> getResourceViews(String route, List<Long> ids, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT new ru.practicum.ewm.model.ResourceViews(eh.resourceId, COUNT(DISTINCT eh.ip)) "
+            + "FROM EndpointHit eh "
+            + "WHERE eh.route = ?1 AND eh.resourceId IN ?2 AND (eh.timestamp BETWEEN ?3 AND ?4) "
+            + "GROUP BY eh.resourceId")
+    List<ResourceViews> getUniqueResourceViews(String route, List<Long> ids, LocalDateTime start,
+                                               LocalDateTime end);
+
+    @Query("SELECT DISTINCT new ru.practicum.ewm.model.ResourceIp(eh.resourceId, eh.ip) "
+            + "FROM EndpointHit eh "
+            + "WHERE eh.route = ?1 AND eh.resourceId IN ?2 AND eh.timestamp >= ?3 AND eh.timestamp < ?4")
+    List<ResourceIp> getResourceIps(String route, List<Long> ids, LocalDateTime start, LocalDateTime end);
 }
@@ -0,0 +1,15 @@
+package ru.practicum.ewm.repository;
+
+import ru.practicum.ewm.model.StatsSegment;
+import ru.practicum.ewm.model.ViewStats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface EndpointHitStreamRepository {
+    void streamStats(List<StatsSegment> segments, List<String> uris, Integer limit, Consumer<ViewStats> action);
+
+    void streamUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris, Integer limit,
+                           Consumer<ViewStats> action);
+}
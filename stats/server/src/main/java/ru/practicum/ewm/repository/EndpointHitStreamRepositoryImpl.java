@@ -0,0 +1,94 @@
+package ru.practicum.ewm.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.model.StatsSegment;
+import ru.practicum.ewm.model.ViewStats;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class EndpointHitStreamRepositoryImpl implements EndpointHitStreamRepository {
+    private final JdbcTemplate jdbcTemplate;
+    @Value("${stats.stream.fetch-size:1000}")
+    private int fetchSize;
+
+    @Override
+    public void streamStats(List<StatsSegment> segments, List<String> uris, Integer limit,
+                            Consumer<ViewStats> action) {
+        List<String> parts = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        for (StatsSegment segment : segments) {
+            if (segment.getGranularity() == null) {
+                parts.add("SELECT app, uri, COUNT(*) AS hits FROM endpoint_hit "
+                        + "WHERE endpoint_hit_timestamp >= ? AND endpoint_hit_timestamp < ?" + toUriFilter(uris)
+                        + " GROUP BY app, uri");
+            } else {
+                parts.add("SELECT app, uri, SUM(hits) AS hits FROM hit_rollup "
+                        + "WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ?" + toUriFilter(uris)
+                        + " GROUP BY app, uri");
+                params.add(segment.getGranularity().name());
+            }
+            params.add(Timestamp.valueOf(segment.getStart()));
+            params.add(Timestamp.valueOf(segment.getEnd()));
+            if (uris != null) {
+                params.addAll(uris);
+            }
+        }
+        if (parts.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("SELECT app, uri, SUM(hits) AS hits FROM (")
+                .append(String.join(" UNION ALL ", parts))
+                .append(") AS segment_stats GROUP BY app, uri ORDER BY SUM(hits) DESC");
+        query(sql, params, limit, action);
+    }
+
+    @Override
+    public void streamUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris, Integer limit,
+                                  Consumer<ViewStats> action) {
+        StringBuilder sql = new StringBuilder("SELECT app, uri, COUNT(DISTINCT ip) AS hits FROM endpoint_hit "
+                + "WHERE endpoint_hit_timestamp BETWEEN ? AND ?")
+                .append(toUriFilter(uris))
+                .append(" GROUP BY app, uri ORDER BY hits DESC");
+        List<Object> params = new ArrayList<>();
+        params.add(Timestamp.valueOf(start));
+        params.add(Timestamp.valueOf(end));
+        if (uris != null) {
+            params.addAll(uris);
+        }
+        query(sql, params, limit, action);
+    }
+
+    private String toUriFilter(List<String> uris) {
+        if (uris == null) {
+            return "";
+        }
+        return " AND uri IN (" + String.join(", ", Collections.nCopies(uris.size(), "?")) + ")";
+    }
+
+    private void query(StringBuilder sql, List<Object> params, Integer limit, Consumer<ViewStats> action) {
+        if (limit != null) {
+            sql.append(" LIMIT ?");
+            params.add(limit);
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString());
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            return statement;
+        }, resultSet -> {
+            action.accept(new ViewStats(resultSet.getString("app"), resultSet.getString("uri"),
+                    resultSet.getLong("hits")));
+        });
+    }
+}
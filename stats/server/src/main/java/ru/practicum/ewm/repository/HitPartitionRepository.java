@@ -0,0 +1,16 @@
+package ru.practicum.ewm.repository;
+
+import ru.practicum.ewm.model.HitPartition;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface HitPartitionRepository {
+    List<HitPartition> getPartitions();
+
+    void createPartition(String name, LocalDateTime from, LocalDateTime to);
+
+    void dropPartition(String name);
+
+    int deleteDefaultRowsBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,77 @@
+package ru.practicum.ewm.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.model.HitPartition;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class HitPartitionRepositoryImpl implements HitPartitionRepository {
+    private static final Pattern BOUNDS = Pattern.compile("FROM \\('([^']+)'\\) TO \\('([^']+)'\\)");
+    private static final String DEFAULT_PARTITION = "endpoint_hit_default";
+    private static final String COLUMNS = "endpoint_hit_id, app, uri, ip, endpoint_hit_timestamp, route, resource_id";
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<HitPartition> getPartitions() {
+        return jdbcTemplate.query("SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) "
+                + "FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "WHERE i.inhparent = 'endpoint_hit'::regclass", (resultSet, rowNum) -> {
+                    Matcher matcher = BOUNDS.matcher(resultSet.getString(2));
+                    if (!matcher.find()) {
+                        return null;
+                    }
+                    return new HitPartition(resultSet.getString(1), LocalDateTime.parse(matcher.group(1), FORMATTER),
+                            LocalDateTime.parse(matcher.group(2), FORMATTER));
+                }).stream().filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public void createPartition(String name, LocalDateTime from, LocalDateTime to) {
+        Boolean conflicts = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION
+                + " WHERE endpoint_hit_timestamp >= ? AND endpoint_hit_timestamp < ?)", Boolean.class,
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+        if (!Boolean.TRUE.equals(conflicts)) {
+            jdbcTemplate.execute(String.format("CREATE TABLE IF NOT EXISTS %s PARTITION OF endpoint_hit "
+                    + "FOR VALUES FROM ('%s') TO ('%s')", name, from.format(FORMATTER), to.format(FORMATTER)));
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE endpoint_hit DETACH PARTITION " + DEFAULT_PARTITION);
+        jdbcTemplate.execute(String.format("CREATE TABLE %s PARTITION OF endpoint_hit FOR VALUES FROM ('%s') TO ('%s')",
+                name, from.format(FORMATTER), to.format(FORMATTER)));
+        int moved = jdbcTemplate.update("INSERT INTO " + name + " (" + COLUMNS + ") SELECT " + COLUMNS + " FROM "
+                + DEFAULT_PARTITION + " WHERE endpoint_hit_timestamp >= ? AND endpoint_hit_timestamp < ?",
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+        jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE endpoint_hit_timestamp >= ? AND endpoint_hit_timestamp < ?",
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+        jdbcTemplate.execute("ALTER TABLE endpoint_hit ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+        log.info("В секцию {} перенесено {} строк из {}", name, moved, DEFAULT_PARTITION);
+    }
+
+    @Override
+    public int deleteDefaultRowsBefore(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE endpoint_hit_timestamp < ?",
+                Timestamp.valueOf(cutoff));
+    }
+
+    @Override
+    public void dropPartition(String name) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.ewm.repository;
+
+import ru.practicum.ewm.model.HitRollup;
+import ru.practicum.ewm.model.HitRollupId;
+
+import java.util.List;
+
+public interface HitRollupBatchRepository {
+    void batchAddHits(List<HitRollup> rollups);
+
+    List<HitRollup> getRollupsByIds(List<HitRollupId> ids);
+
+    void batchUpdateSketches(List<HitRollup> rollups);
+}
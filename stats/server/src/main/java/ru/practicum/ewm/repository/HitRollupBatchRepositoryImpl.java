@@ -0,0 +1,97 @@
+package ru.practicum.ewm.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.ewm.model.Granularity;
+import ru.practicum.ewm.model.HitRollup;
+import ru.practicum.ewm.model.HitRollupId;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class HitRollupBatchRepositoryImpl implements HitRollupBatchRepository {
+    private static final String ID_FILTER = "granularity = ? AND bucket_start = ? AND app = ? AND uri = ?";
+    private final JdbcTemplate jdbcTemplate;
+    @Value("${stats.hits.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public void batchAddHits(List<HitRollup> rollups) {
+        jdbcTemplate.batchUpdate("INSERT INTO hit_rollup (granularity, bucket_start, app, uri, hits, route, "
+                + "resource_id) VALUES (?, ?, ?, ?, 0, ?, ?) ON CONFLICT DO NOTHING", rollups, batchSize,
+                (statement, rollup) -> {
+                    setId(statement, 1, rollup.getId());
+                    statement.setString(5, rollup.getRoute());
+                    statement.setObject(6, rollup.getResourceId(), Types.BIGINT);
+                });
+        jdbcTemplate.batchUpdate("UPDATE hit_rollup SET hits = hits + ? WHERE " + ID_FILTER, rollups, batchSize,
+                (statement, rollup) -> {
+                    statement.setLong(1, rollup.getHits());
+                    setId(statement, 2, rollup.getId());
+                });
+    }
+
+    @Override
+    public List<HitRollup> getRollupsByIds(List<HitRollupId> ids) {
+        Map<List<Object>, List<HitRollupId>> groups = ids.stream()
+                .collect(Collectors.groupingBy(id -> List.of(id.getGranularity(), id.getApp())));
+        List<HitRollup> rollups = new ArrayList<>();
+        for (List<HitRollupId> group : groups.values()) {
+            for (int from = 0; from < group.size(); from += batchSize) {
+                Set<HitRollupId> chunk = new HashSet<>(group.subList(from, Math.min(from + batchSize, group.size())));
+                List<Timestamp> bucketStarts = chunk.stream().map(id -> Timestamp.valueOf(id.getBucketStart()))
+                        .distinct().collect(Collectors.toList());
+                List<String> uris = chunk.stream().map(HitRollupId::getUri).distinct().collect(Collectors.toList());
+                List<Object> params = new ArrayList<>();
+                params.add(group.get(0).getGranularity().name());
+                params.add(group.get(0).getApp());
+                params.addAll(bucketStarts);
+                params.addAll(uris);
+                jdbcTemplate.query("SELECT granularity, bucket_start, app, uri, hits, sketch FROM hit_rollup "
+                        + "WHERE granularity = ? AND app = ? "
+                        + "AND bucket_start IN (" + String.join(", ", Collections.nCopies(bucketStarts.size(), "?"))
+                        + ") AND uri IN (" + String.join(", ", Collections.nCopies(uris.size(), "?")) + ")",
+                        resultSet -> {
+                            HitRollup rollup = HitRollup.builder()
+                                    .id(new HitRollupId(Granularity.valueOf(resultSet.getString("granularity")),
+                                            resultSet.getTimestamp("bucket_start").toLocalDateTime(),
+                                            resultSet.getString("app"), resultSet.getString("uri")))
+                                    .hits(resultSet.getLong("hits"))
+                                    .sketch(resultSet.getBytes("sketch"))
+                                    .build();
+                            if (chunk.contains(rollup.getId())) {
+                                rollups.add(rollup);
+                            }
+                        }, params.toArray());
+            }
+        }
+        return rollups;
+    }
+
+    @Override
+    public void batchUpdateSketches(List<HitRollup> rollups) {
+        jdbcTemplate.batchUpdate("UPDATE hit_rollup SET sketch = ? WHERE " + ID_FILTER, rollups, batchSize,
+                (statement, rollup) -> {
+                    statement.setBytes(1, rollup.getSketch());
+                    setId(statement, 2, rollup.getId());
+                });
+    }
+
+    private void setId(PreparedStatement statement, int index, HitRollupId id) throws SQLException {
+        statement.setString(index, id.getGranularity().name());
+        statement.setTimestamp(index + 1, Timestamp.valueOf(id.getBucketStart()));
+        statement.setString(index + 2, id.getApp());
+        statement.setString(index + 3, id.getUri());
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.ewm.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.ewm.model.Granularity;
+import ru.practicum.ewm.model.HitRollup;
+import ru.practicum.ewm.model.HitRollupId;
+import ru.practicum.ewm.model.ResourceViews;
+import ru.practicum.ewm.model.ViewStats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface HitRollupRepository extends JpaRepository<HitRollup, HitRollupId>, HitRollupBatchRepository {
+    @Query("SELECT r FROM HitRollup r "
+            + "WHERE r.id.granularity = ?1 AND r.id.bucketStart >= ?2 AND r.id.bucketStart < ?3 "
+            + "AND ((r.id.uri IN ?4) OR ?4 IS NULL)")
+    List<HitRollup> getRollups(Granularity granularity, LocalDateTime start, LocalDateTime end, List<String> uris);
+
+    @Query("SELECT new ru.practicum.ewm.model.ViewStats(r.id.app, r.id.uri, SUM(r.hits)) "
+            + "FROM HitRollup r "
+            + "WHERE r.id.granularity = ?1 AND r.id.bucketStart >= ?2 AND r.id.bucketStart < ?3 "
+            + "AND ((r.id.uri IN ?4) OR ?4 IS NULL) "
+            + "GROUP BY r.id.app, r.id.uri")
+    List<ViewStats> getStats(Granularity granularity, LocalDateTime start, LocalDateTime end, List<String> uris);
+
+    @Query("SELECT new ru.practicum.ewm.model.ResourceViews(r.resourceId, SUM(r.hits)) "
+            + "FROM HitRollup r "
+            + "WHERE r.id.granularity = ?1 AND r.route = ?2 AND r.resourceId IN ?3 "
+            + "AND r.id.bucketStart >= ?4 AND r.id.bucketStart < ?5 "
+            + "GROUP BY r.resourceId")
+    List<ResourceViews> getResourceViews(Granularity granularity, String route, List<Long> ids, LocalDateTime start,
+                                         LocalDateTime end);
+
+    @Query("SELECT r FROM HitRollup r "
+            + "WHERE r.id.granularity = ?1 AND r.route = ?2 AND r.resourceId IN ?3 "
+            + "AND r.id.bucketStart >= ?4 AND r.id.bucketStart < ?5")
+    List<HitRollup> getResourceRollups(Granularity granularity, String route, List<Long> ids, LocalDateTime start,
+                                       LocalDateTime end);
+}
@@ -0,0 +1,24 @@
+package ru.practicum.ewm.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.service.PartitionService;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "stats.partitions.enabled")
+public class HitPartitionScheduler {
+    private final PartitionService partitionService;
+
+    @Scheduled(initialDelayString = "${stats.partitions.initial-delay:PT10S}",
+            fixedDelayString = "${stats.partitions.delay:PT1H}")
+    public void maintain() {
+        LocalDateTime now = LocalDateTime.now();
+        partitionService.createPartitions(now);
+        partitionService.dropExpiredPartitions(now);
+    }
+}
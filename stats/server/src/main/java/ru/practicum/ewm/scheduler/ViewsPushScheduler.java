@@ -0,0 +1,19 @@
+package ru.practicum.ewm.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.service.ViewsPushService;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class ViewsPushScheduler {
+    private final ViewsPushService viewsPushService;
+
+    @Scheduled(fixedDelayString = "${stats.push.interval:PT1S}")
+    public void push() {
+        viewsPushService.push(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.ewm.service;
+
+import java.time.LocalDateTime;
+
+public interface PartitionService {
+    void createPartitions(LocalDateTime now);
+
+    void dropExpiredPartitions(LocalDateTime now);
+}
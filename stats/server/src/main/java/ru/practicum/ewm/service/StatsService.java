@@ -4,10 +4,28 @@ import ru.practicum.ewm.dto.EndpointHitDto;
 import ru.practicum.ewm.dto.ViewStatsDto;
 
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface StatsService {
     void saveHit(EndpointHitDto endpointHitDto);
 
+    void saveHits(List<EndpointHitDto> endpointHitDtos);
+
+    void saveHitStream(Iterator<EndpointHitDto> endpointHitDtos);
+
     List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique);
+
+    void streamStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique, Integer limit,
+                     Consumer<ViewStatsDto> action);
+
+    List<ViewStatsDto> getApproxUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris);
+
+    void streamApproxUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris, Integer limit,
+                                 Consumer<ViewStatsDto> action);
+
+    Map<Long, Long> getViews(LocalDateTime start, LocalDateTime end, String route, List<Long> ids,
+                             Boolean unique);
 }
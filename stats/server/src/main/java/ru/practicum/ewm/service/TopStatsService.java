@@ -0,0 +1,15 @@
+package ru.practicum.ewm.service;
+
+import ru.practicum.ewm.dto.ViewStatsDto;
+import ru.practicum.ewm.model.EndpointHit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TopStatsService {
+    void addHits(List<EndpointHit> endpointHits);
+
+    List<ViewStatsDto> getTop(LocalDateTime now, Integer limit);
+
+    void rebuild(LocalDateTime now);
+}
@@ -0,0 +1,11 @@
+package ru.practicum.ewm.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+
+public interface ViewsPushService {
+    SseEmitter subscribe(LocalDateTime start, String route, Boolean unique);
+
+    void push(LocalDateTime now);
+}
@@ -0,0 +1,219 @@
+package ru.practicum.ewm.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import ru.practicum.ewm.dto.EndpointHitDto;
+import ru.practicum.ewm.dto.ViewStatsDto;
+import ru.practicum.ewm.exception.model.DateRangeException;
+import ru.practicum.ewm.exception.model.LimitException;
+import ru.practicum.ewm.mapper.EndpointHitMapper;
+import ru.practicum.ewm.mapper.ViewStatsMapper;
+import ru.practicum.ewm.model.EndpointHit;
+import ru.practicum.ewm.model.HitsSavedEvent;
+import ru.practicum.ewm.model.ViewStats;
+import ru.practicum.ewm.service.StatsService;
+import ru.practicum.ewm.storage.ColumnarHitStore;
+import ru.practicum.ewm.utils.HyperLogLog;
+import ru.practicum.ewm.utils.UriRoute;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(value = "stats.storage", havingValue = "columnar")
+public class ColumnarStatsServiceImpl implements StatsService {
+    private final ColumnarHitStore store;
+    private final double approxError;
+    private final int batchSize;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ColumnarStatsServiceImpl(ApplicationEventPublisher eventPublisher,
+                                    @Value("${stats.columnar.dir}") Path directory,
+                                    @Value("${stats.columnar.segment-rows:65536}") int segmentRows,
+                                    @Value("${stats.unique.approx.error:0.02}") double approxError,
+                                    @Value("${stats.hits.batch-size:500}") int batchSize) {
+        this.store = new ColumnarHitStore(directory, segmentRows);
+        this.approxError = approxError;
+        this.batchSize = batchSize;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void saveHit(EndpointHitDto endpointHitDto) {
+        log.debug("Save: " + endpointHitDto);
+        List<EndpointHit> endpointHits = List.of(EndpointHitMapper.toEndpointHit(endpointHitDto));
+        store.append(endpointHits);
+        eventPublisher.publishEvent(new HitsSavedEvent(endpointHits));
+    }
+
+    @Override
+    public void saveHits(List<EndpointHitDto> endpointHitDtos) {
+        log.debug("Save batch of " + endpointHitDtos.size() + " hits");
+        List<EndpointHit> endpointHits = endpointHitDtos.stream().map(EndpointHitMapper::toEndpointHit)
+                .collect(Collectors.toList());
+        store.append(endpointHits);
+        eventPublisher.publishEvent(new HitsSavedEvent(endpointHits));
+    }
+
+    @Override
+    public void saveHitStream(Iterator<EndpointHitDto> endpointHitDtos) {
+        log.debug("Save stream of hits");
+        List<EndpointHitDto> batch = new ArrayList<>(batchSize);
+        while (endpointHitDtos.hasNext()) {
+            batch.add(endpointHitDtos.next());
+            if (batch.size() == batchSize) {
+                saveHits(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            saveHits(batch);
+        }
+    }
+
+    @Override
+    public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
+        log.debug("Return stats with param: " + start + ", " + end + ", " + uris + ", " + unique);
+        List<ViewStats> viewStats = new ArrayList<>();
+        aggregateStats(start, end, uris, unique, viewStats::add);
+        return toViewStatsDtos(viewStats);
+    }
+
+    @Override
+    public void streamStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique, Integer limit,
+                            Consumer<ViewStatsDto> action) {
+        if (limit != null && limit <= 0) {
+            throw new LimitException("limit должен быть больше 0");
+        }
+        log.debug("Stream stats with param: " + start + ", " + end + ", " + uris + ", " + unique + ", " + limit);
+        streamTop(limit, consumer -> aggregateStats(start, end, uris, unique, consumer), action);
+    }
+
+    @Override
+    public List<ViewStatsDto> getApproxUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        log.debug("Return approximate unique stats with param: " + start + ", " + end + ", " + uris);
+        List<ViewStats> viewStats = new ArrayList<>();
+        aggregateApproxUniqueStats(start, end, uris, viewStats::add);
+        return toViewStatsDtos(viewStats);
+    }
+
+    @Override
+    public void streamApproxUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris, Integer limit,
+                                        Consumer<ViewStatsDto> action) {
+        if (limit != null && limit <= 0) {
+            throw new LimitException("limit должен быть больше 0");
+        }
+        log.debug("Stream approximate unique stats with param: " + start + ", " + end + ", " + uris + ", " + limit);
+        streamTop(limit, consumer -> aggregateApproxUniqueStats(start, end, uris, consumer), action);
+    }
+
+    @Override
+    public Map<Long, Long> getViews(LocalDateTime start, LocalDateTime end, String route, List<Long> ids,
+                                    Boolean unique) {
+        if (start.isAfter(end)) {
+            throw new DateRangeException("start поле end");
+        }
+        log.debug("Return views with param: " + start + ", " + end + ", " + route + ", " + ids + ", " + unique);
+        Set<Long> idSet = new HashSet<>(ids);
+        Map<String, Long> idsByUri = new HashMap<>();
+        Map<Long, Set<String>> ips = new HashMap<>();
+        Map<Long, Long> views = new HashMap<>();
+        store.scan(start, end, uri -> {
+            UriRoute uriRoute = UriRoute.parse(uri);
+            if (route.equals(uriRoute.getRoute()) && idSet.contains(uriRoute.getResourceId())) {
+                idsByUri.put(uri, uriRoute.getResourceId());
+                return true;
+            }
+            return false;
+        }, (app, uri, ip) -> {
+            if (unique) {
+                ips.computeIfAbsent(idsByUri.get(uri), key -> new HashSet<>()).add(ip);
+            } else {
+                views.merge(idsByUri.get(uri), 1L, Long::sum);
+            }
+        });
+        ips.forEach((id, set) -> views.put(id, (long) set.size()));
+        return views;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        store.close();
+    }
+
+    private void aggregateStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique,
+                                Consumer<ViewStats> action) {
+        if (start.isAfter(end)) {
+            throw new DateRangeException("start поле end");
+        }
+        Map<String, Map<String, Set<String>>> ips = new HashMap<>();
+        Map<String, Map<String, long[]>> hits = new HashMap<>();
+        store.scan(start, end, toUriFilter(uris), (app, uri, ip) -> {
+            if (unique) {
+                ips.computeIfAbsent(app, key -> new HashMap<>()).computeIfAbsent(uri, key -> new HashSet<>()).add(ip);
+            } else {
+                hits.computeIfAbsent(app, key -> new HashMap<>()).computeIfAbsent(uri, key -> new long[1])[0]++;
+            }
+        });
+        ips.forEach((app, byUri) -> byUri.forEach((uri, set) -> action.accept(new ViewStats(app, uri,
+                (long) set.size()))));
+        hits.forEach((app, byUri) -> byUri.forEach((uri, count) -> action.accept(new ViewStats(app, uri,
+                count[0]))));
+    }
+
+    private void aggregateApproxUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris,
+                                            Consumer<ViewStats> action) {
+        if (start.isAfter(end)) {
+            throw new DateRangeException("start поле end");
+        }
+        Map<String, Map<String, HyperLogLog>> sketches = new HashMap<>();
+        store.scan(start, end, toUriFilter(uris), (app, uri, ip) -> sketches.computeIfAbsent(app,
+                key -> new HashMap<>()).computeIfAbsent(uri, key -> HyperLogLog.forError(approxError)).add(ip));
+        sketches.forEach((app, byUri) -> byUri.forEach((uri, sketch) -> action.accept(new ViewStats(app, uri,
+                sketch.estimate()))));
+    }
+
+    private void streamTop(Integer limit, Consumer<Consumer<ViewStats>> aggregation, Consumer<ViewStatsDto> action) {
+        if (limit == null) {
+            List<ViewStats> viewStats = new ArrayList<>();
+            aggregation.accept(viewStats::add);
+            toViewStatsDtos(viewStats).forEach(action);
+            return;
+        }
+        PriorityQueue<ViewStats> top = new PriorityQueue<>(Comparator.comparing(ViewStats::getHits));
+        aggregation.accept(viewStats -> {
+            if (top.size() < limit) {
+                top.add(viewStats);
+            } else if (top.peek().getHits() < viewStats.getHits()) {
+                top.poll();
+                top.add(viewStats);
+            }
+        });
+        toViewStatsDtos(new ArrayList<>(top)).forEach(action);
+    }
+
+    private Predicate<String> toUriFilter(List<String> uris) {
+        if (uris == null) {
+            return uri -> true;
+        }
+        Set<String> uriSet = new HashSet<>(uris);
+        return uriSet::contains;
+    }
+
+    private List<ViewStatsDto> toViewStatsDtos(List<ViewStats> viewStats) {
+        return viewStats.stream()
+                .sorted(Comparator.comparing(ViewStats::getHits).reversed())
+                .map(ViewStatsMapper::toViewStatsDto)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.ewm.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import ru.practicum.ewm.model.HitPartition;
+import ru.practicum.ewm.model.PartitionInterval;
+import ru.practicum.ewm.repository.HitPartitionRepository;
+import ru.practicum.ewm.service.PartitionService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+public class PartitionServiceImpl implements PartitionService {
+    private final HitPartitionRepository hitPartitionRepository;
+    private final PartitionInterval interval;
+    private final int ahead;
+    private final Duration retention;
+
+    public PartitionServiceImpl(HitPartitionRepository hitPartitionRepository,
+                                @Value("${stats.partitions.interval:MONTH}") PartitionInterval interval,
+                                @Value("${stats.partitions.ahead:3}") int ahead,
+                                @Value("${stats.partitions.retention:P365D}") Duration retention) {
+        this.hitPartitionRepository = hitPartitionRepository;
+        this.interval = interval;
+        this.ahead = ahead;
+        this.retention = retention;
+    }
+
+    @Override
+    public void createPartitions(LocalDateTime now) {
+        List<HitPartition> partitions = hitPartitionRepository.getPartitions();
+        LocalDateTime start = interval.truncate(now);
+        for (int i = 0; i <= ahead; i++) {
+            LocalDateTime end = interval.next(start);
+            if (!overlaps(partitions, start, end)) {
+                try {
+                    hitPartitionRepository.createPartition(interval.getPartitionName(start), start, end);
+                    log.debug("Создана секция endpoint_hit: {} - {}", start, end);
+                } catch (DataAccessException e) {
+                    log.warn("Не удалось создать секцию endpoint_hit {} - {}: {}", start, end, e.getMessage());
+                }
+            }
+            start = end;
+        }
+    }
+
+    @Override
+    public void dropExpiredPartitions(LocalDateTime now) {
+        LocalDateTime cutoff = now.minus(retention);
+        for (HitPartition partition : hitPartitionRepository.getPartitions()) {
+            if (!partition.getTo().isAfter(cutoff)) {
+                hitPartitionRepository.dropPartition(partition.getName());
+                log.debug("Удалена секция endpoint_hit {} по сроку хранения", partition.getName());
+            }
+        }
+        int deleted = hitPartitionRepository.deleteDefaultRowsBefore(cutoff);
+        if (deleted > 0) {
+            log.debug("Из секции по умолчанию удалено {} строк по сроку хранения", deleted);
+        }
+    }
+
+    private boolean overlaps(List<HitPartition> partitions, LocalDateTime start, LocalDateTime end) {
+        return partitions.stream().anyMatch(partition -> partition.getFrom().isBefore(end)
+                && partition.getTo().isAfter(start));
+    }
+}
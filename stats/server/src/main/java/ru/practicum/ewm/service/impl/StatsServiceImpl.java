@@ -2,31 +2,84 @@ package ru.practicum.ewm.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.dto.EndpointHitDto;
 import ru.practicum.ewm.dto.ViewStatsDto;
 import ru.practicum.ewm.exception.model.DateRangeException;
+import ru.practicum.ewm.exception.model.LimitException;
 import ru.practicum.ewm.mapper.EndpointHitMapper;
 import ru.practicum.ewm.mapper.ViewStatsMapper;
+import ru.practicum.ewm.model.*;
 import ru.practicum.ewm.repository.EndpointHitRepository;
+import ru.practicum.ewm.repository.HitRollupRepository;
 import ru.practicum.ewm.service.StatsService;
+import ru.practicum.ewm.utils.HyperLogLog;
+import ru.practicum.ewm.utils.UriRoute;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(value = "stats.storage", havingValue = "jpa", matchIfMissing = true)
 public class StatsServiceImpl implements StatsService {
+    private static final Granularity[] GRANULARITIES = Granularity.values();
+    private static final Comparator<HitRollupId> ROLLUP_ORDER = Comparator.comparing(HitRollupId::getGranularity)
+            .thenComparing(HitRollupId::getBucketStart)
+            .thenComparing(HitRollupId::getApp)
+            .thenComparing(HitRollupId::getUri);
     private final EndpointHitRepository endpointHitRepository;
+    private final HitRollupRepository hitRollupRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    @Value("${stats.unique.approx.error:0.02}")
+    private double approxError;
+    @Value("${stats.hits.batch-size:500}")
+    private int batchSize;
+    @Value("${stats.partitions.enabled:false}")
+    private boolean partitioned;
+    @Value("${stats.partitions.retention:P365D}")
+    private Duration retention;
 
     @Override
     @Transactional
     public void saveHit(EndpointHitDto endpointHitDto) {
         log.debug("Save: " + endpointHitDto);
-        endpointHitRepository.save(EndpointHitMapper.toEndpointHit(endpointHitDto));
+        List<EndpointHit> endpointHits = List.of(endpointHitRepository.save(
+                EndpointHitMapper.toEndpointHit(endpointHitDto)));
+        addToRollups(endpointHits);
+        eventPublisher.publishEvent(new HitsSavedEvent(endpointHits));
+    }
+
+    @Override
+    @Transactional
+    public void saveHits(List<EndpointHitDto> endpointHitDtos) {
+        log.debug("Save batch of " + endpointHitDtos.size() + " hits");
+        saveBatch(endpointHitDtos);
+    }
+
+    @Override
+    @Transactional
+    public void saveHitStream(Iterator<EndpointHitDto> endpointHitDtos) {
+        log.debug("Save stream of hits");
+        List<EndpointHitDto> batch = new ArrayList<>(batchSize);
+        while (endpointHitDtos.hasNext()) {
+            batch.add(endpointHitDtos.next());
+            if (batch.size() == batchSize) {
+                saveBatch(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            saveBatch(batch);
+        }
     }
 
     @Override
@@ -41,8 +94,233 @@ public class StatsServiceImpl implements StatsService {
                     ViewStatsMapper::toViewStatsDto).collect(Collectors.toList());
         } else {
             log.debug("Return stats with param: " + start + ", " + end + ", " + uris);
-            return endpointHitRepository.getStats(start, end, uris).stream().map(
-                    ViewStatsMapper::toViewStatsDto).collect(Collectors.toList());
+            Map<List<String>, Long> hits = new HashMap<>();
+            for (StatsSegment segment : getSegments(start, end.plusNanos(1), Granularity.MINUTE)) {
+                List<ViewStats> stats = segment.getGranularity() == null
+                        ? endpointHitRepository.getStats(segment.getStart(), segment.getEnd(), uris)
+                        : hitRollupRepository.getStats(segment.getGranularity(), segment.getStart(),
+                                segment.getEnd(), uris);
+                for (ViewStats viewStats : stats) {
+                    hits.merge(List.of(viewStats.getApp(), viewStats.getUri()), viewStats.getHits(), Long::sum);
+                }
+            }
+            return toViewStatsDtos(hits);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique, Integer limit,
+                            Consumer<ViewStatsDto> action) {
+        if (start.isAfter(end)) {
+            throw new DateRangeException("start поле end");
+        }
+        if (limit != null && limit <= 0) {
+            throw new LimitException("limit должен быть больше 0");
+        }
+        log.debug("Stream stats with param: " + start + ", " + end + ", " + uris + ", " + unique + ", " + limit);
+        Consumer<ViewStats> mapped = viewStats -> action.accept(ViewStatsMapper.toViewStatsDto(viewStats));
+        if (unique) {
+            endpointHitRepository.streamUniqueStats(start, end, uris, limit, mapped);
+        } else {
+            endpointHitRepository.streamStats(getSegments(start, end.plusNanos(1), Granularity.MINUTE), uris, limit,
+                    mapped);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ViewStatsDto> getApproxUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris) {
+        if (start.isAfter(end)) {
+            throw new DateRangeException("start поле end");
+        }
+        log.debug("Return approximate unique stats with param: " + start + ", " + end + ", " + uris);
+        Map<List<String>, HyperLogLog> sketches = new HashMap<>();
+        for (StatsSegment segment : getSegments(start, end.plusNanos(1), Granularity.HOUR)) {
+            List<HitRollup> rollups = segment.getGranularity() == null ? Collections.emptyList()
+                    : hitRollupRepository.getRollups(segment.getGranularity(), segment.getStart(), segment.getEnd(),
+                            uris);
+            if (segment.getGranularity() == null || rollups.stream().anyMatch(rollup -> rollup.getSketch() == null)) {
+                for (HitIp hitIp : endpointHitRepository.getHitIps(segment.getStart(), segment.getEnd(), uris)) {
+                    sketches.computeIfAbsent(List.of(hitIp.getApp(), hitIp.getUri()),
+                            key -> HyperLogLog.forError(approxError)).add(hitIp.getIp());
+                }
+            } else {
+                for (HitRollup rollup : rollups) {
+                    sketches.merge(List.of(rollup.getId().getApp(), rollup.getId().getUri()),
+                            HyperLogLog.fromBytes(rollup.getSketch()), HyperLogLog::merge);
+                }
+            }
+        }
+        Map<List<String>, Long> hits = new HashMap<>();
+        sketches.forEach((key, sketch) -> hits.put(key, sketch.estimate()));
+        return toViewStatsDtos(hits);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamApproxUniqueStats(LocalDateTime start, LocalDateTime end, List<String> uris, Integer limit,
+                                        Consumer<ViewStatsDto> action) {
+        if (limit != null && limit <= 0) {
+            throw new LimitException("limit должен быть больше 0");
+        }
+        getApproxUniqueStats(start, end, uris).stream()
+                .limit(limit == null ? Long.MAX_VALUE : limit)
+                .forEach(action);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Long> getViews(LocalDateTime start, LocalDateTime end, String route, List<Long> ids,
+                                    Boolean unique) {
+        if (start.isAfter(end)) {
+            throw new DateRangeException("start поле end");
+        }
+        log.debug("Return views with param: " + start + ", " + end + ", " + route + ", " + ids + ", " + unique);
+        Map<Long, Long> views = new HashMap<>();
+        if (unique && partitioned && start.isBefore(LocalDateTime.now().minus(retention))) {
+            return getApproxUniqueViews(start, end, route, ids);
+        }
+        if (unique) {
+            for (ResourceViews resourceViews : endpointHitRepository.getUniqueResourceViews(route, ids, start, end)) {
+                views.put(resourceViews.getResourceId(), resourceViews.getHits());
+            }
+            return views;
+        }
+        for (StatsSegment segment : getSegments(start, end.plusNanos(1), Granularity.MINUTE)) {
+            List<ResourceViews> segmentViews = segment.getGranularity() == null
+                    ? endpointHitRepository.getResourceViews(route, ids, segment.getStart(), segment.getEnd())
+                    : hitRollupRepository.getResourceViews(segment.getGranularity(), route, ids, segment.getStart(),
+                            segment.getEnd());
+            for (ResourceViews resourceViews : segmentViews) {
+                views.merge(resourceViews.getResourceId(), resourceViews.getHits(), Long::sum);
+            }
+        }
+        return views;
+    }
+
+    private Map<Long, Long> getApproxUniqueViews(LocalDateTime start, LocalDateTime end, String route,
+                                                 List<Long> ids) {
+        Map<Long, HyperLogLog> sketches = new HashMap<>();
+        for (StatsSegment segment : getSegments(start, end.plusNanos(1), Granularity.HOUR)) {
+            List<HitRollup> rollups = segment.getGranularity() == null ? Collections.emptyList()
+                    : hitRollupRepository.getResourceRollups(segment.getGranularity(), route, ids,
+                            segment.getStart(), segment.getEnd());
+            if (segment.getGranularity() == null || rollups.stream().anyMatch(rollup -> rollup.getSketch() == null)) {
+                for (ResourceIp resourceIp : endpointHitRepository.getResourceIps(route, ids, segment.getStart(),
+                        segment.getEnd())) {
+                    sketches.computeIfAbsent(resourceIp.getResourceId(), key -> HyperLogLog.forError(approxError))
+                            .add(resourceIp.getIp());
+                }
+            } else {
+                for (HitRollup rollup : rollups) {
+                    sketches.merge(rollup.getResourceId(), HyperLogLog.fromBytes(rollup.getSketch()),
+                            HyperLogLog::merge);
+                }
+            }
+        }
+        Map<Long, Long> views = new HashMap<>();
+        sketches.forEach((resourceId, sketch) -> views.put(resourceId, sketch.estimate()));
+        return views;
+    }
+
+    private void saveBatch(List<EndpointHitDto> endpointHitDtos) {
+        List<EndpointHit> endpointHits = endpointHitDtos.stream().map(EndpointHitMapper::toEndpointHit)
+                .collect(Collectors.toList());
+        endpointHitRepository.batchInsert(endpointHits);
+        addToRollups(endpointHits);
+        eventPublisher.publishEvent(new HitsSavedEvent(endpointHits));
+    }
+
+    private void addToRollups(List<EndpointHit> endpointHits) {
+        Map<HitRollupId, Long> hits = new TreeMap<>(ROLLUP_ORDER);
+        Map<HitRollupId, Set<String>> ips = new HashMap<>();
+        for (EndpointHit endpointHit : endpointHits) {
+            for (Granularity granularity : GRANULARITIES) {
+                HitRollupId id = new HitRollupId(granularity, granularity.truncate(endpointHit.getTimestamp()),
+                        endpointHit.getApp(), endpointHit.getUri());
+                hits.merge(id, 1L, Long::sum);
+                if (granularity.isSketched()) {
+                    ips.computeIfAbsent(id, key -> new HashSet<>()).add(endpointHit.getIp());
+                }
+            }
         }
+        List<HitRollup> rollups = new ArrayList<>();
+        hits.forEach((id, count) -> {
+            UriRoute uriRoute = UriRoute.parse(id.getUri());
+            rollups.add(HitRollup.builder()
+                    .id(id)
+                    .hits(count)
+                    .route(uriRoute.getRoute())
+                    .resourceId(uriRoute.getResourceId())
+                    .build());
+        });
+        hitRollupRepository.batchAddHits(rollups);
+        List<HitRollup> sketched = new ArrayList<>();
+        for (HitRollup rollup : hitRollupRepository.getRollupsByIds(new ArrayList<>(ips.keySet()))) {
+            if (addToSketch(rollup, ips.get(rollup.getId()), hits.get(rollup.getId()))) {
+                sketched.add(rollup);
+            }
+        }
+        hitRollupRepository.batchUpdateSketches(sketched);
+    }
+
+    private boolean addToSketch(HitRollup rollup, Set<String> ips, Long count) {
+        if (rollup.getSketch() == null && rollup.getHits() > count) {
+            return false;
+        }
+        HyperLogLog sketch = rollup.getSketch() == null ? HyperLogLog.forError(approxError)
+                : HyperLogLog.fromBytes(rollup.getSketch());
+        boolean changed = rollup.getSketch() == null;
+        for (String ip : ips) {
+            changed |= sketch.add(ip);
+        }
+        if (changed) {
+            rollup.setSketch(sketch.toBytes());
+        }
+        return changed;
+    }
+
+    private List<StatsSegment> getSegments(LocalDateTime start, LocalDateTime end, Granularity finest) {
+        List<StatsSegment> segments = new ArrayList<>();
+        LocalDateTime alignedStart = finest.ceil(start);
+        LocalDateTime alignedEnd = finest.truncate(end);
+        if (alignedStart.isBefore(alignedEnd)) {
+            addSegment(segments, null, start, alignedStart);
+            addRolledUpSegments(segments, alignedStart, alignedEnd, finest.ordinal());
+            addSegment(segments, null, alignedEnd, end);
+        } else {
+            addSegment(segments, null, start, end);
+        }
+        return segments;
+    }
+
+    private void addRolledUpSegments(List<StatsSegment> segments, LocalDateTime start, LocalDateTime end, int level) {
+        if (level + 1 < GRANULARITIES.length) {
+            LocalDateTime coarserStart = GRANULARITIES[level + 1].ceil(start);
+            LocalDateTime coarserEnd = GRANULARITIES[level + 1].truncate(end);
+            if (coarserStart.isBefore(coarserEnd)) {
+                addSegment(segments, GRANULARITIES[level], start, coarserStart);
+                addRolledUpSegments(segments, coarserStart, coarserEnd, level + 1);
+                addSegment(segments, GRANULARITIES[level], coarserEnd, end);
+                return;
+            }
+        }
+        addSegment(segments, GRANULARITIES[level], start, end);
+    }
+
+    private void addSegment(List<StatsSegment> segments, Granularity granularity, LocalDateTime start,
+            LocalDateTime end) {
+        if (start.isBefore(end)) {
+            segments.add(new StatsSegment(granularity, start, end));
+        }
+    }
+
+    private List<ViewStatsDto> toViewStatsDtos(Map<List<String>, Long> hits) {
+        return hits.entrySet().stream()
+                .sorted(Map.Entry.<List<String>, Long>comparingByValue(Comparator.reverseOrder()))
+                .map(entry -> ViewStatsMapper.toViewStatsDto(new ViewStats(entry.getKey().get(0),
+                        entry.getKey().get(1), entry.getValue())))
+                .collect(Collectors.toList());
     }
 }
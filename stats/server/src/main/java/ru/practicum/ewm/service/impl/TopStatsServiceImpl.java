@@ -0,0 +1,178 @@
+package ru.practicum.ewm.service.impl;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.ewm.dto.ViewStatsDto;
+import ru.practicum.ewm.exception.model.LimitException;
+import ru.practicum.ewm.mapper.ViewStatsMapper;
+import ru.practicum.ewm.model.EndpointHit;
+import ru.practicum.ewm.model.Granularity;
+import ru.practicum.ewm.model.HitRollup;
+import ru.practicum.ewm.model.HitsSavedEvent;
+import ru.practicum.ewm.model.ViewStats;
+import ru.practicum.ewm.repository.HitRollupRepository;
+import ru.practicum.ewm.service.TopStatsService;
+import ru.practicum.ewm.utils.SpaceSaving;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Supplier;
+
+@Slf4j
+@Service
+public class TopStatsServiceImpl implements TopStatsService {
+    private static final Comparator<RankedHits> RANKING_ORDER = Comparator.comparingLong(RankedHits::getHits)
+            .reversed()
+            .thenComparing(rankedHits -> rankedHits.getKey().get(0))
+            .thenComparing(rankedHits -> rankedHits.getKey().get(1));
+    private final HitRollupRepository hitRollupRepository;
+    private final Duration window;
+    private final Duration maxSkew;
+    private final int capacity;
+    private final Supplier<LocalDateTime> clock;
+    private final TreeMap<LocalDateTime, SpaceSaving<List<String>>> buckets = new TreeMap<>();
+    private final Map<List<String>, RankedHits> windowHits = new HashMap<>();
+    private final TreeSet<RankedHits> ranking = new TreeSet<>(RANKING_ORDER);
+    private LocalDateTime windowEnd;
+
+    @Autowired
+    public TopStatsServiceImpl(HitRollupRepository hitRollupRepository,
+                               @Value("${stats.top.window:PT1H}") Duration window,
+                               @Value("${stats.top.max-skew:PT1M}") Duration maxSkew,
+                               @Value("${stats.top.capacity:1000}") int capacity) {
+        this(hitRollupRepository, window, maxSkew, capacity, LocalDateTime::now);
+    }
+
+    TopStatsServiceImpl(HitRollupRepository hitRollupRepository, Duration window, Duration maxSkew, int capacity,
+                        Supplier<LocalDateTime> clock) {
+        this.hitRollupRepository = hitRollupRepository;
+        this.window = window;
+        this.maxSkew = maxSkew;
+        this.capacity = capacity;
+        this.clock = clock;
+        this.windowEnd = Granularity.MINUTE.truncate(clock.get());
+    }
+
+    @Override
+    public synchronized void addHits(List<EndpointHit> endpointHits) {
+        LocalDateTime now = clock.get();
+        expire(now);
+        LocalDateTime latest = now.plus(maxSkew);
+        int rejected = 0;
+        for (EndpointHit endpointHit : endpointHits) {
+            if (endpointHit.getTimestamp().isAfter(latest)) {
+                rejected++;
+            } else if (!add(Granularity.MINUTE.truncate(endpointHit.getTimestamp()), endpointHit.getApp(),
+                    endpointHit.getUri(), 1L)) {
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            log.debug("В топ не учтено {} просмотров вне окна", rejected);
+        }
+    }
+
+    @Override
+    public synchronized List<ViewStatsDto> getTop(LocalDateTime now, Integer limit) {
+        if (limit <= 0 || limit > capacity) {
+            throw new LimitException("limit должен быть от 1 до " + capacity);
+        }
+        log.debug("Return top " + limit + " at " + now);
+        expire(now);
+        List<ViewStatsDto> top = new ArrayList<>(Math.min(limit, ranking.size()));
+        for (RankedHits rankedHits : ranking) {
+            if (top.size() == limit) {
+                break;
+            }
+            top.add(ViewStatsMapper.toViewStatsDto(new ViewStats(rankedHits.getKey().get(0),
+                    rankedHits.getKey().get(1), rankedHits.getHits())));
+        }
+        return top;
+    }
+
+    @Override
+    public synchronized void rebuild(LocalDateTime now) {
+        LocalDateTime end = Granularity.MINUTE.truncate(now).plusMinutes(1);
+        List<HitRollup> rollups = hitRollupRepository.getRollups(Granularity.MINUTE, end.minus(window), end, null);
+        buckets.clear();
+        windowHits.clear();
+        ranking.clear();
+        windowEnd = Granularity.MINUTE.truncate(now);
+        for (HitRollup rollup : rollups) {
+            add(rollup.getId().getBucketStart(), rollup.getId().getApp(), rollup.getId().getUri(), rollup.getHits());
+        }
+        log.info("Топ просмотров восстановлен из {} агрегатов", rollups.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHitsSaved(HitsSavedEvent event) {
+        addHits(event.getEndpointHits());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        rebuild(LocalDateTime.now());
+    }
+
+    private boolean add(LocalDateTime bucketStart, String app, String uri, Long hits) {
+        if (!bucketStart.isAfter(windowEnd.minus(window))) {
+            return false;
+        }
+        SpaceSaving<List<String>> bucket = buckets.computeIfAbsent(bucketStart, key -> new SpaceSaving<>(capacity));
+        List<String> key = List.of(app, uri);
+        long before = bucket.getCount(key);
+        SpaceSaving.Counter<List<String>> evicted = bucket.add(key, hits);
+        if (evicted != null) {
+            addToWindow(evicted.getKey(), -evicted.getCount());
+        }
+        addToWindow(key, bucket.getCount(key) - before);
+        return true;
+    }
+
+    private void expire(LocalDateTime now) {
+        LocalDateTime minute = Granularity.MINUTE.truncate(now);
+        if (minute.isAfter(windowEnd)) {
+            windowEnd = minute;
+            NavigableMap<LocalDateTime, SpaceSaving<List<String>>> expired = buckets.headMap(windowEnd.minus(window),
+                    true);
+            for (SpaceSaving<List<String>> bucket : expired.values()) {
+                for (SpaceSaving.Counter<List<String>> counter : bucket.getCounters()) {
+                    addToWindow(counter.getKey(), -counter.getCount());
+                }
+            }
+            expired.clear();
+        }
+    }
+
+    private void addToWindow(List<String> key, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        RankedHits current = windowHits.remove(key);
+        long hits = delta;
+        if (current != null) {
+            ranking.remove(current);
+            hits += current.getHits();
+        }
+        if (hits > 0) {
+            RankedHits updated = new RankedHits(key, hits);
+            windowHits.put(key, updated);
+            ranking.add(updated);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class RankedHits {
+        private final List<String> key;
+        private final long hits;
+    }
+}
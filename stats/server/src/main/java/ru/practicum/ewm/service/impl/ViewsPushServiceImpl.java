@@ -0,0 +1,126 @@
+package ru.practicum.ewm.service.impl;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.ewm.model.EndpointHit;
+import ru.practicum.ewm.model.HitsSavedEvent;
+import ru.practicum.ewm.service.StatsService;
+import ru.practicum.ewm.service.ViewsPushService;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ViewsPushServiceImpl implements ViewsPushService {
+    private static final String VIEWS_EVENT = "views";
+    private final StatsService statsService;
+    private final long timeout;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Map<String, Set<Long>> changedIds = new ConcurrentHashMap<>();
+
+    public ViewsPushServiceImpl(StatsService statsService,
+                                @Value("${stats.push.timeout:PT30M}") Duration timeout) {
+        this.statsService = statsService;
+        this.timeout = timeout.toMillis();
+    }
+
+    @Override
+    public SseEmitter subscribe(LocalDateTime start, String route, Boolean unique) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        Subscription subscription = new Subscription(start, route, unique, emitter);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(e -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        log.debug("Подписка на просмотры: {}, {}, {}", start, route, unique);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onHitsSaved(HitsSavedEvent event) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        Set<String> routes = subscriptions.stream().map(Subscription::getRoute).collect(Collectors.toSet());
+        Map<String, Set<Long>> hitIds = new HashMap<>();
+        for (EndpointHit endpointHit : event.getEndpointHits()) {
+            if (endpointHit.getResourceId() != null && routes.contains(endpointHit.getRoute())) {
+                hitIds.computeIfAbsent(endpointHit.getRoute(), key -> new HashSet<>())
+                        .add(endpointHit.getResourceId());
+            }
+        }
+        hitIds.forEach(this::addChangedIds);
+    }
+
+    @Override
+    public void push(LocalDateTime now) {
+        for (String route : new ArrayList<>(changedIds.keySet())) {
+            Set<Long> ids = changedIds.remove(route);
+            if (ids == null) {
+                continue;
+            }
+            Map<List<Object>, List<Subscription>> groups = subscriptions.stream()
+                    .filter(subscription -> subscription.getRoute().equals(route))
+                    .collect(Collectors.groupingBy(subscription -> List.of(subscription.getStart(),
+                            subscription.getUnique())));
+            boolean failed = false;
+            for (List<Subscription> group : groups.values()) {
+                Map<Long, Long> views;
+                try {
+                    views = statsService.getViews(group.get(0).getStart(), now, route,
+                            new ArrayList<>(ids), group.get(0).getUnique());
+                } catch (RuntimeException e) {
+                    log.warn("Не удалось получить просмотры для {}: {}", route, e.getMessage());
+                    failed = true;
+                    continue;
+                }
+                if (!views.isEmpty()) {
+                    group.forEach(subscription -> send(subscription, views));
+                }
+            }
+            if (failed) {
+                addChangedIds(route, ids);
+            }
+        }
+    }
+
+    private void addChangedIds(String route, Set<Long> ids) {
+        changedIds.compute(route, (key, pending) -> {
+            Set<Long> merged = pending == null ? new HashSet<>() : pending;
+            merged.addAll(ids);
+            return merged;
+        });
+    }
+
+    private void send(Subscription subscription, Map<Long, Long> views) {
+        try {
+            subscription.getEmitter().send(SseEmitter.event().name(VIEWS_EVENT).data(views,
+                    MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Подписчик на просмотры отключен: {}", e.getMessage());
+            subscriptions.remove(subscription);
+            subscription.getEmitter().completeWithError(e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Subscription {
+        private final LocalDateTime start;
+        private final String route;
+        private final Boolean unique;
+        private final SseEmitter emitter;
+    }
+}
@@ -0,0 +1,204 @@
+package ru.practicum.ewm.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.ewm.model.EndpointHit;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+@Slf4j
+public class ColumnarHitStore implements AutoCloseable {
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String JOURNAL_FILE = "active.journal";
+    private static final int HEADER_SIZE = 8;
+    private static final int JOURNAL_HEADER_SIZE = Long.BYTES;
+    private final Path directory;
+    private final int segmentRows;
+    private final FileChannel journal;
+    private final List<EndpointHit> active = new ArrayList<>();
+    private volatile List<HitSegment> segments;
+    private long nextSegmentId;
+
+    public ColumnarHitStore(Path directory, int segmentRows) {
+        this.directory = directory;
+        this.segmentRows = segmentRows;
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> list = Files.list(directory)) {
+                files = list.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                        .sorted().collect(Collectors.toList());
+            }
+            List<HitSegment> opened = new ArrayList<>();
+            for (Path file : files) {
+                opened.add(HitSegment.open(file));
+                String name = file.getFileName().toString();
+                nextSegmentId = Math.max(nextSegmentId,
+                        Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())) + 1);
+            }
+            segments = List.copyOf(opened);
+            journal = FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            replayJournal();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось открыть хранилище просмотров " + directory, e);
+        }
+    }
+
+    public synchronized void append(List<EndpointHit> endpointHits) {
+        try {
+            ByteArrayOutputStream records = new ByteArrayOutputStream();
+            for (EndpointHit endpointHit : endpointHits) {
+                byte[] payload = encode(endpointHit);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                records.write(ByteBuffer.allocate(HEADER_SIZE).putInt(payload.length).putInt((int) crc.getValue())
+                        .array());
+                records.write(payload);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(records.toByteArray());
+            while (buffer.hasRemaining()) {
+                journal.write(buffer, journal.size());
+            }
+            journal.force(false);
+            active.addAll(endpointHits);
+            if (active.size() >= segmentRows) {
+                seal();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось записать просмотры в хранилище " + directory, e);
+        }
+    }
+
+    public void scan(LocalDateTime start, LocalDateTime end, Predicate<String> uriFilter, HitVisitor visitor) {
+        long startSecond = start.toEpochSecond(ZoneOffset.UTC);
+        long endSecond = end.toEpochSecond(ZoneOffset.UTC);
+        List<HitSegment> sealed;
+        List<EndpointHit> unsealed;
+        synchronized (this) {
+            sealed = segments;
+            unsealed = new ArrayList<>(active);
+        }
+        for (HitSegment segment : sealed) {
+            segment.scan(startSecond, endSecond, uriFilter, visitor);
+        }
+        for (EndpointHit endpointHit : unsealed) {
+            long timestamp = HitSegment.toEpochSecond(endpointHit);
+            if (timestamp >= startSecond && timestamp <= endSecond && uriFilter.test(endpointHit.getUri())) {
+                visitor.visit(endpointHit.getApp(), endpointHit.getUri(), endpointHit.getIp());
+            }
+        }
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        journal.close();
+    }
+
+    private void seal() throws IOException {
+        Path temp = directory.resolve(nextSegmentId + SEGMENT_SUFFIX + ".tmp");
+        Path file = directory.resolve(String.format("%020d%s", nextSegmentId, SEGMENT_SUFFIX));
+        Files.deleteIfExists(temp);
+        HitSegment.write(temp, new ArrayList<>(active));
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        List<HitSegment> sealed = new ArrayList<>(segments);
+        sealed.add(HitSegment.open(file));
+        segments = List.copyOf(sealed);
+        nextSegmentId++;
+        active.clear();
+        resetJournal();
+        log.debug("Сегмент {} записан", file);
+    }
+
+    private void resetJournal() throws IOException {
+        journal.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(JOURNAL_HEADER_SIZE).putLong(nextSegmentId).flip();
+        while (header.hasRemaining()) {
+            journal.write(header, header.position());
+        }
+        journal.force(true);
+    }
+
+    private void replayJournal() throws IOException {
+        if (journal.size() < JOURNAL_HEADER_SIZE) {
+            resetJournal();
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) journal.size());
+        while (buffer.hasRemaining()) {
+            if (journal.read(buffer, buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        long journalSegmentId = buffer.getLong();
+        if (journalSegmentId < nextSegmentId) {
+            log.warn("Журнал хранилища просмотров уже записан в сегмент {}, записи пропущены", journalSegmentId);
+            resetJournal();
+            return;
+        }
+        nextSegmentId = journalSegmentId;
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int length = buffer.getInt(buffer.position());
+            if (length <= 0 || buffer.remaining() < HEADER_SIZE + length) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.position(buffer.position() + HEADER_SIZE).get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(buffer.position() - length - 4)) {
+                buffer.position(buffer.position() - length - HEADER_SIZE);
+                break;
+            }
+            active.add(decode(payload));
+        }
+        if (buffer.position() < journal.size()) {
+            log.warn("Журнал хранилища просмотров обрезан до {} байт", buffer.position());
+            journal.truncate(buffer.position());
+            journal.force(true);
+        }
+    }
+
+    private byte[] encode(EndpointHit endpointHit) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeUTF(endpointHit.getApp());
+        output.writeUTF(endpointHit.getUri());
+        output.writeUTF(endpointHit.getIp());
+        output.writeLong(HitSegment.toEpochSecond(endpointHit));
+        return bytes.toByteArray();
+    }
+
+    private EndpointHit decode(byte[] payload) throws IOException {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+        return EndpointHit.builder()
+                .app(input.readUTF())
+                .uri(input.readUTF())
+                .ip(input.readUTF())
+                .timestamp(LocalDateTime.ofEpochSecond(input.readLong(), 0, ZoneOffset.UTC))
+                .build();
+    }
+}
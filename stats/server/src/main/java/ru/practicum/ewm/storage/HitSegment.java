@@ -0,0 +1,166 @@
+package ru.practicum.ewm.storage;
+
+import ru.practicum.ewm.model.EndpointHit;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+public class HitSegment {
+    private static final int MAGIC = 0x45574D43;
+    private final MappedByteBuffer buffer;
+    private final int rowCount;
+    private final long minTimestamp;
+    private final long maxTimestamp;
+    private final String[] apps;
+    private final String[] uris;
+    private final String[] ips;
+    private final int appOffset;
+    private final int uriOffset;
+    private final int ipOffset;
+    private final int timestampOffset;
+
+    private HitSegment(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Неизвестный формат сегмента");
+        }
+        rowCount = buffer.getInt();
+        minTimestamp = buffer.getLong();
+        maxTimestamp = buffer.getLong();
+        apps = readDictionary(buffer);
+        uris = readDictionary(buffer);
+        ips = readDictionary(buffer);
+        appOffset = buffer.position();
+        uriOffset = appOffset + Integer.BYTES * rowCount;
+        ipOffset = uriOffset + Integer.BYTES * rowCount;
+        timestampOffset = ipOffset + Integer.BYTES * rowCount;
+    }
+
+    public static HitSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new HitSegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static void write(Path file, List<EndpointHit> endpointHits) throws IOException {
+        endpointHits.sort(Comparator.comparing(EndpointHit::getTimestamp));
+        Map<String, Integer> apps = new LinkedHashMap<>();
+        Map<String, Integer> uris = new LinkedHashMap<>();
+        Map<String, Integer> ips = new LinkedHashMap<>();
+        for (EndpointHit endpointHit : endpointHits) {
+            apps.putIfAbsent(endpointHit.getApp(), apps.size());
+            uris.putIfAbsent(endpointHit.getUri(), uris.size());
+            ips.putIfAbsent(endpointHit.getIp(), ips.size());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    Channels.newOutputStream(channel)));
+            long minTimestamp = toEpochSecond(endpointHits.get(0));
+            output.writeInt(MAGIC);
+            output.writeInt(endpointHits.size());
+            output.writeLong(minTimestamp);
+            output.writeLong(toEpochSecond(endpointHits.get(endpointHits.size() - 1)));
+            writeDictionary(output, apps);
+            writeDictionary(output, uris);
+            writeDictionary(output, ips);
+            for (EndpointHit endpointHit : endpointHits) {
+                output.writeInt(apps.get(endpointHit.getApp()));
+            }
+            for (EndpointHit endpointHit : endpointHits) {
+                output.writeInt(uris.get(endpointHit.getUri()));
+            }
+            for (EndpointHit endpointHit : endpointHits) {
+                output.writeInt(ips.get(endpointHit.getIp()));
+            }
+            long previous = minTimestamp;
+            for (EndpointHit endpointHit : endpointHits) {
+                long timestamp = toEpochSecond(endpointHit);
+                writeVarLong(output, timestamp - previous);
+                previous = timestamp;
+            }
+            output.flush();
+            channel.force(true);
+        }
+    }
+
+    public void scan(long start, long end, Predicate<String> uriFilter, HitVisitor visitor) {
+        if (maxTimestamp < start || minTimestamp > end) {
+            return;
+        }
+        boolean[] uriMask = new boolean[uris.length];
+        boolean anyUri = false;
+        for (int i = 0; i < uris.length; i++) {
+            uriMask[i] = uriFilter.test(uris[i]);
+            anyUri |= uriMask[i];
+        }
+        if (!anyUri) {
+            return;
+        }
+        int position = timestampOffset;
+        long timestamp = minTimestamp;
+        for (int row = 0; row < rowCount; row++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            timestamp += delta;
+            if (timestamp > end) {
+                return;
+            }
+            int uri = buffer.getInt(uriOffset + Integer.BYTES * row);
+            if (timestamp >= start && uriMask[uri]) {
+                visitor.visit(apps[buffer.getInt(appOffset + Integer.BYTES * row)], uris[uri],
+                        ips[buffer.getInt(ipOffset + Integer.BYTES * row)]);
+            }
+        }
+    }
+
+    static long toEpochSecond(EndpointHit endpointHit) {
+        return endpointHit.getTimestamp().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static String[] readDictionary(MappedByteBuffer buffer) {
+        String[] values = new String[buffer.getInt()];
+        for (int i = 0; i < values.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            values[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    private static void writeDictionary(DataOutputStream output, Map<String, Integer> dictionary) throws IOException {
+        output.writeInt(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static void writeVarLong(OutputStream output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+}
@@ -0,0 +1,5 @@
+package ru.practicum.ewm.storage;
+
+public interface HitVisitor {
+    void visit(String app, String uri, String ip);
+}
@@ -0,0 +1,133 @@
+package ru.practicum.ewm.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class HyperLogLog {
+    public static final int MIN_PRECISION = 4;
+    public static final int MAX_PRECISION = 16;
+    private final int precision;
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Точность должна быть в диапазоне от " + MIN_PRECISION + " до "
+                    + MAX_PRECISION + ".");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    private HyperLogLog(int precision, byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    public static HyperLogLog forError(double error) {
+        int precision = (int) Math.ceil(2 * Math.log(1.04 / error) / Math.log(2));
+        return new HyperLogLog(Math.max(MIN_PRECISION, Math.min(MAX_PRECISION, precision)));
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        int precision = bytes[0];
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION || bytes.length != (1 << precision) + 1) {
+            throw new IllegalArgumentException("Некорректный формат скетча.");
+        }
+        return new HyperLogLog(precision, Arrays.copyOfRange(bytes, 1, bytes.length));
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[registers.length + 1];
+        bytes[0] = (byte) precision;
+        System.arraycopy(registers, 0, bytes, 1, registers.length);
+        return bytes;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public boolean add(String value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (Long.SIZE - precision));
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+            return true;
+        }
+        return false;
+    }
+
+    public HyperLogLog merge(HyperLogLog other) {
+        int mergedPrecision = Math.min(precision, other.precision);
+        HyperLogLog merged = fold(mergedPrecision);
+        HyperLogLog folded = other.fold(mergedPrecision);
+        for (int i = 0; i < merged.registers.length; i++) {
+            merged.registers[i] = (byte) Math.max(merged.registers[i], folded.registers[i]);
+        }
+        return merged;
+    }
+
+    public HyperLogLog fold(int targetPrecision) {
+        if (targetPrecision > precision) {
+            throw new IllegalArgumentException("Нельзя увеличить точность скетча.");
+        }
+        HyperLogLog folded = new HyperLogLog(targetPrecision);
+        int shift = precision - targetPrecision;
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] == 0) {
+                continue;
+            }
+            int dropped = i & ((1 << shift) - 1);
+            int rank = dropped == 0 ? registers[i] + shift
+                    : Integer.numberOfLeadingZeros(dropped) - (Integer.SIZE - shift) + 1;
+            int index = i >>> shift;
+            folded.registers[index] = (byte) Math.max(folded.registers[index], rank);
+        }
+        return folded;
+    }
+
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.ewm.utils;
+
+import java.util.*;
+
+public class SpaceSaving<K> {
+    private final int capacity;
+    private final Map<K, Counter<K>> counters = new HashMap<>();
+    private final TreeSet<Counter<K>> ordered = new TreeSet<>(Comparator.<Counter<K>>comparingLong(Counter::getCount)
+            .thenComparingLong(counter -> counter.sequence));
+    private long sequence;
+
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Емкость должна быть больше 0: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    public Counter<K> add(K key, long count) {
+        Counter<K> counter = counters.get(key);
+        Counter<K> evicted = null;
+        if (counter != null) {
+            ordered.remove(counter);
+        } else if (counters.size() < capacity) {
+            counter = new Counter<>(key, 0, 0);
+            counters.put(key, counter);
+        } else {
+            evicted = ordered.pollFirst();
+            counters.remove(evicted.key);
+            counter = new Counter<>(key, evicted.count, evicted.count);
+            counters.put(key, counter);
+        }
+        counter.count += count;
+        counter.sequence = sequence++;
+        ordered.add(counter);
+        return evicted;
+    }
+
+    public long getCount(K key) {
+        Counter<K> counter = counters.get(key);
+        return counter == null ? 0 : counter.count;
+    }
+
+    public long getMinCount() {
+        return counters.size() < capacity ? 0 : ordered.first().count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Collection<Counter<K>> getCounters() {
+        return Collections.unmodifiableCollection(counters.values());
+    }
+
+    public static class Counter<K> {
+        private final K key;
+        private final long error;
+        private long count;
+        private long sequence;
+
+        private Counter(K key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        public K getKey() {
+            return key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.ewm.utils;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+public class UriRoute {
+    public static final String ID_PLACEHOLDER = "{id}";
+    private static final int MAX_ID_DIGITS = 18;
+    private final String route;
+    private final Long resourceId;
+
+    private UriRoute(String route, Long resourceId) {
+        this.route = route;
+        this.resourceId = resourceId;
+    }
+
+    public static UriRoute parse(String uri) {
+        int end = uri.length();
+        for (int i = 0; i < uri.length(); i++) {
+            if (uri.charAt(i) == '?' || uri.charAt(i) == '#') {
+                end = i;
+                break;
+            }
+        }
+        StringBuilder route = new StringBuilder(end + 8);
+        Long resourceId = null;
+        int segmentStart = 0;
+        while (segmentStart <= end) {
+            int segmentEnd = uri.indexOf('/', segmentStart);
+            if (segmentEnd < 0 || segmentEnd > end) {
+                segmentEnd = end;
+            }
+            if (isId(uri, segmentStart, segmentEnd)) {
+                route.append(ID_PLACEHOLDER);
+                resourceId = Long.parseLong(uri.substring(segmentStart, segmentEnd));
+            } else {
+                route.append(uri, segmentStart, segmentEnd);
+            }
+            if (segmentEnd < end) {
+                route.append('/');
+            }
+            segmentStart = segmentEnd + 1;
+        }
+        return new UriRoute(route.toString(), resourceId);
+    }
+
+    private static boolean isId(String uri, int start, int end) {
+        if (start == end || end - start > MAX_ID_DIGITS) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (uri.charAt(i) < '0' || uri.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
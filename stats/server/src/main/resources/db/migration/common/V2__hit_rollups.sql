@@ -0,0 +1,28 @@
+CREATE INDEX IF NOT EXISTS ix_endpoint_hit_timestamp ON endpoint_hit (endpoint_hit_timestamp);
+
+CREATE INDEX IF NOT EXISTS ix_endpoint_hit_uri_timestamp ON endpoint_hit (uri, endpoint_hit_timestamp);
+
+CREATE TABLE IF NOT EXISTS hit_rollup
+(
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    app VARCHAR(50) NOT NULL,
+    uri VARCHAR(50) NOT NULL,
+    hits BIGINT NOT NULL,
+    CONSTRAINT pk_hit_rollup PRIMARY KEY (granularity, bucket_start, app, uri)
+);
+
+INSERT INTO hit_rollup (granularity, bucket_start, app, uri, hits)
+SELECT 'MINUTE', DATE_TRUNC('MINUTE', endpoint_hit_timestamp), app, uri, COUNT(*)
+FROM endpoint_hit
+GROUP BY DATE_TRUNC('MINUTE', endpoint_hit_timestamp), app, uri;
+
+INSERT INTO hit_rollup (granularity, bucket_start, app, uri, hits)
+SELECT 'HOUR', DATE_TRUNC('HOUR', endpoint_hit_timestamp), app, uri, COUNT(*)
+FROM endpoint_hit
+GROUP BY DATE_TRUNC('HOUR', endpoint_hit_timestamp), app, uri;
+
+INSERT INTO hit_rollup (granularity, bucket_start, app, uri, hits)
+SELECT 'DAY', DATE_TRUNC('DAY', endpoint_hit_timestamp), app, uri, COUNT(*)
+FROM endpoint_hit
+GROUP BY DATE_TRUNC('DAY', endpoint_hit_timestamp), app, uri;
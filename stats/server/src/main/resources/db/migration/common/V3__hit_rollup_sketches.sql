@@ -0,0 +1 @@
+ALTER TABLE hit_rollup ADD COLUMN IF NOT EXISTS sketch BYTEA;
@@ -0,0 +1,13 @@
+ALTER TABLE endpoint_hit ADD COLUMN IF NOT EXISTS route VARCHAR(100);
+
+ALTER TABLE endpoint_hit ADD COLUMN IF NOT EXISTS resource_id BIGINT;
+
+ALTER TABLE hit_rollup ADD COLUMN IF NOT EXISTS route VARCHAR(100);
+
+ALTER TABLE hit_rollup ADD COLUMN IF NOT EXISTS resource_id BIGINT;
+
+CREATE INDEX IF NOT EXISTS ix_endpoint_hit_route_resource_timestamp
+    ON endpoint_hit (route, resource_id, endpoint_hit_timestamp);
+
+CREATE INDEX IF NOT EXISTS ix_hit_rollup_route_resource_bucket
+    ON hit_rollup (granularity, route, resource_id, bucket_start);
@@ -0,0 +1 @@
+-- H2 has no declarative partitioning, endpoint_hit stays a single table here.
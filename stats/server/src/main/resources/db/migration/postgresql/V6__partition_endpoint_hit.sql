@@ -0,0 +1,57 @@
+ALTER TABLE endpoint_hit RENAME TO endpoint_hit_unpartitioned;
+
+ALTER TABLE endpoint_hit_unpartitioned RENAME CONSTRAINT pk_endpoint_hit TO pk_endpoint_hit_unpartitioned;
+
+DROP INDEX IF EXISTS ix_endpoint_hit_timestamp;
+
+DROP INDEX IF EXISTS ix_endpoint_hit_uri_timestamp;
+
+DROP INDEX IF EXISTS ix_endpoint_hit_route_resource_timestamp;
+
+CREATE SEQUENCE IF NOT EXISTS endpoint_hit_id_seq;
+
+CREATE TABLE endpoint_hit
+(
+    endpoint_hit_id BIGINT DEFAULT NEXTVAL('endpoint_hit_id_seq') NOT NULL,
+    app VARCHAR(50) NOT NULL,
+    uri VARCHAR(50) NOT NULL,
+    ip VARCHAR(50) NOT NULL,
+    endpoint_hit_timestamp TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    route VARCHAR(100),
+    resource_id BIGINT,
+    CONSTRAINT pk_endpoint_hit PRIMARY KEY (endpoint_hit_id, endpoint_hit_timestamp)
+) PARTITION BY RANGE (endpoint_hit_timestamp);
+
+CREATE TABLE endpoint_hit_default PARTITION OF endpoint_hit DEFAULT;
+
+DO
+$$
+    DECLARE
+        month_start TIMESTAMP := DATE_TRUNC('MONTH', COALESCE(
+                (SELECT MIN(endpoint_hit_timestamp) FROM endpoint_hit_unpartitioned), LOCALTIMESTAMP));
+    BEGIN
+        WHILE month_start <= DATE_TRUNC('MONTH', LOCALTIMESTAMP) + INTERVAL '1 MONTH'
+            LOOP
+                EXECUTE FORMAT('CREATE TABLE endpoint_hit_p%s PARTITION OF endpoint_hit FOR VALUES FROM (%L) TO (%L)',
+                               TO_CHAR(month_start, 'YYYYMM'), month_start, month_start + INTERVAL '1 MONTH');
+                month_start := month_start + INTERVAL '1 MONTH';
+            END LOOP;
+    END
+$$;
+
+INSERT INTO endpoint_hit (endpoint_hit_id, app, uri, ip, endpoint_hit_timestamp, route, resource_id)
+SELECT endpoint_hit_id, app, uri, ip, endpoint_hit_timestamp, route, resource_id
+FROM endpoint_hit_unpartitioned;
+
+SELECT SETVAL('endpoint_hit_id_seq', (SELECT COALESCE(MAX(endpoint_hit_id), 0) + 1 FROM endpoint_hit), false);
+
+DROP TABLE endpoint_hit_unpartitioned;
+
+ALTER SEQUENCE endpoint_hit_id_seq OWNED BY endpoint_hit.endpoint_hit_id;
+
+CREATE INDEX IF NOT EXISTS ix_endpoint_hit_timestamp ON endpoint_hit (endpoint_hit_timestamp);
+
+CREATE INDEX IF NOT EXISTS ix_endpoint_hit_uri_timestamp ON endpoint_hit (uri, endpoint_hit_timestamp);
+
+CREATE INDEX IF NOT EXISTS ix_endpoint_hit_route_resource_timestamp
+    ON endpoint_hit (route, resource_id, endpoint_hit_timestamp);
@@ -0,0 +1,70 @@
+package ru.practicum.ewm.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.ewm.dto.EndpointHitDto;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("integrationtest")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class StatsControllerServerTest {
+    private final TestRestTemplate restTemplate;
+
+    @Test
+    void streamStatsTest_whenLimitNotPositive_thenReturnBadRequest() {
+        ResponseEntity<String> response = streamStats("2022-07-06 11:00:23", "2023-07-06 11:00:23", "&limit=0");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().contains("limit"), response.getBody());
+    }
+
+    @Test
+    void streamStatsTest_whenStartAfterEnd_thenReturnBadRequest() {
+        ResponseEntity<String> response = streamStats("2023-07-06 11:00:23", "2022-07-06 11:00:23", "");
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertNotNull(response.getBody());
+    }
+
+    @Test
+    void streamStatsTest_whenHitsSaved_thenNdjsonStreamed() {
+        restTemplate.postForEntity("/hits", List.of(EndpointHitDto.builder()
+                .app("ewm-main-service")
+                .uri("/events/server")
+                .ip("192.163.0.1")
+                .timestamp("2022-09-06 11:00:23")
+                .build()), Void.class);
+
+        ResponseEntity<String> response = streamStats("2022-07-06 11:00:23", "2023-07-06 11:00:23",
+                "&uris=/events/server");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(response.getHeaders().getContentType()));
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().contains("\"uri\":\"/events/server\""), response.getBody());
+    }
+
+    private ResponseEntity<String> streamStats(String start, String end, String params) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_NDJSON));
+        return restTemplate.exchange("/stats?start={start}&end={end}" + params, HttpMethod.GET,
+                new HttpEntity<>(headers), String.class, start, end);
+    }
+}
@@ -7,21 +7,40 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.ewm.dto.EndpointHitDto;
 import ru.practicum.ewm.dto.ViewStatsDto;
+import ru.practicum.ewm.exception.model.LimitException;
 import ru.practicum.ewm.service.StatsService;
+import ru.practicum.ewm.service.TopStatsService;
+import ru.practicum.ewm.service.ViewsPushService;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = StatsController.class)
@@ -32,6 +51,10 @@ class StatsControllerTest {
     private MockMvc mockMvc;
     @MockBean
     private StatsService service;
+    @MockBean
+    private TopStatsService topStatsService;
+    @MockBean
+    private ViewsPushService viewsPushService;
     private final EndpointHitDto endpointHitDto = EndpointHitDto.builder()
             .app("ewm-main-service")
             .uri("/events/1")
@@ -54,6 +77,103 @@ class StatsControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    @Test
+    void saveHitsTest_whenJsonArray_thenBatchSaved() throws Exception {
+        mockMvc.perform(post("/hits")
+                        .content(mapper.writeValueAsString(List.of(endpointHitDto, endpointHitDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+
+        verify(service).saveHits(List.of(endpointHitDto, endpointHitDto));
+    }
+
+    @Test
+    void saveHitTest_whenIpBlank_thenReturnBadRequest() throws Exception {
+        endpointHitDto.setIp(" ");
+
+        mockMvc.perform(post("/hit")
+                        .content(mapper.writeValueAsString(endpointHitDto))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).saveHit(any());
+    }
+
+    @Test
+    void saveHitsTest_whenJsonArrayTimestampInvalid_thenReturnBadRequest() throws Exception {
+        EndpointHitDto invalid = EndpointHitDto.builder()
+                .app("ewm-main-service")
+                .uri("/events/1")
+                .ip("192.163.0.1")
+                .timestamp("06.09.2022 11:00:23")
+                .build();
+
+        mockMvc.perform(post("/hits")
+                        .content(mapper.writeValueAsString(List.of(endpointHitDto, invalid)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).saveHits(anyList());
+    }
+
+    @Test
+    void saveHitsTest_whenNdjson_thenStreamSavedInOneCall() throws Exception {
+        List<EndpointHitDto> saved = new ArrayList<>();
+        doAnswer(invocation -> {
+            invocation.<Iterator<EndpointHitDto>>getArgument(0).forEachRemaining(saved::add);
+            return null;
+        }).when(service).saveHitStream(any());
+
+        mockMvc.perform(post("/hits")
+                        .content(mapper.writeValueAsString(endpointHitDto) + "\n"
+                                + mapper.writeValueAsString(endpointHitDto) + "\n")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isCreated());
+
+        verify(service).saveHitStream(any());
+        assertEquals(List.of(endpointHitDto, endpointHitDto), saved);
+    }
+
+    @Test
+    void saveHitsTest_whenNdjsonMalformed_thenReturnBadRequest() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<Iterator<EndpointHitDto>>getArgument(0).forEachRemaining(endpointHitDto -> { });
+            return null;
+        }).when(service).saveHitStream(any());
+
+        mockMvc.perform(post("/hits")
+                        .content(mapper.writeValueAsString(endpointHitDto) + "\n{\"app\":")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void saveHitsTest_whenNdjsonUriMissing_thenReturnBadRequest() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<Iterator<EndpointHitDto>>getArgument(0).forEachRemaining(endpointHitDto -> { });
+            return null;
+        }).when(service).saveHitStream(any());
+
+        mockMvc.perform(post("/hits")
+                        .content(mapper.writeValueAsString(endpointHitDto) + "\n"
+                                + "{\"app\":\"ewm-main-service\",\"ip\":\"192.163.0.1\","
+                                + "\"timestamp\":\"2022-09-06 11:00:23\"}\n")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getStatsTest() throws Exception {
         LocalDateTime start = LocalDateTime.parse("2022-07-06 11:00:23",
@@ -75,6 +195,131 @@ class StatsControllerTest {
                 .andExpect(jsonPath("$[0].hits", is(viewStatsDto.getHits()), Long.class));
     }
 
+    @Test
+    void getStatsTest_whenUniqueIsApprox_thenApproxUniqueStatsReturned() throws Exception {
+        LocalDateTime start = LocalDateTime.parse("2022-07-06 11:00:23",
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        LocalDateTime end = LocalDateTime.parse("2023-07-06 11:00:23",
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+
+        when(service.getApproxUniqueStats(start, end, null)).thenReturn(List.of(viewStatsDto));
+
+        mockMvc.perform(get("/stats")
+                        .param("start", "2022-07-06 11:00:23")
+                        .param("end", "2023-07-06 11:00:23")
+                        .param("unique", "approx")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].hits", is(viewStatsDto.getHits()), Long.class));
+    }
+
+    @Test
+    void getStatsTest_whenUniqueUnknown_thenReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/stats")
+                        .param("start", "2022-07-06 11:00:23")
+                        .param("end", "2023-07-06 11:00:23")
+                        .param("unique", "yes")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).getStats(any(), any(), any(), any());
+    }
+
+    @Test
+    void streamStatsTest_whenAcceptNdjson_thenRowsWrittenPerLine() throws Exception {
+        LocalDateTime start = LocalDateTime.parse("2022-07-06 11:00:23",
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        LocalDateTime end = LocalDateTime.parse("2023-07-06 11:00:23",
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+
+        doAnswer(invocation -> {
+            Consumer<ViewStatsDto> action = invocation.getArgument(5);
+            action.accept(viewStatsDto);
+            action.accept(viewStatsDto);
+            return null;
+        }).when(service).streamStats(eq(start), eq(end), isNull(), eq(false), eq(2), any());
+
+        mockMvc.perform(get("/stats")
+                        .param("start", "2022-07-06 11:00:23")
+                        .param("end", "2023-07-06 11:00:23")
+                        .param("limit", "2")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(mapper.writeValueAsString(viewStatsDto) + "\n"
+                        + mapper.writeValueAsString(viewStatsDto)));
+    }
+
+    @Test
+    void streamStatsTest_whenLimitNotPositive_thenReturnBadRequest() throws Exception {
+        doThrow(new LimitException("limit должен быть больше 0")).when(service)
+                .streamStats(any(), any(), isNull(), eq(false), eq(0), any());
+
+        mockMvc.perform(get("/stats")
+                        .param("start", "2022-07-06 11:00:23")
+                        .param("end", "2023-07-06 11:00:23")
+                        .param("limit", "0")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTopTest() throws Exception {
+        when(topStatsService.getTop(any(), eq(5))).thenReturn(List.of(viewStatsDto));
+
+        mockMvc.perform(get("/stats/top")
+                        .param("limit", "5")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].uri", is(viewStatsDto.getUri()), String.class))
+                .andExpect(jsonPath("$[0].hits", is(viewStatsDto.getHits()), Long.class));
+    }
+
+    @Test
+    void subscribeViewsTest_whenSubscribed_thenEventStreamStarted() throws Exception {
+        LocalDateTime start = LocalDateTime.parse("2022-07-06 11:00:23",
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        when(viewsPushService.subscribe(start, "/events/{id}", true)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/stats/views/stream")
+                        .param("start", "2022-07-06 11:00:23")
+                        .param("route", "/events/{id}")
+                        .param("unique", "true")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(viewsPushService).subscribe(start, "/events/{id}", true);
+    }
+
+    @Test
+    void getViewsTest() throws Exception {
+        LocalDateTime start = LocalDateTime.parse("2022-07-06 11:00:23",
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        LocalDateTime end = LocalDateTime.parse("2023-07-06 11:00:23",
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+
+        when(service.getViews(start, end, "/events/{id}", List.of(1L, 11L), true)).thenReturn(Map.of(11L, 3L));
+
+        mockMvc.perform(get("/stats/views")
+                        .param("start", "2022-07-06 11:00:23")
+                        .param("end", "2023-07-06 11:00:23")
+                        .param("route", "/events/{id}")
+                        .param("ids", "1,11")
+                        .param("unique", "true")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.11", is(3L), Long.class))
+                .andExpect(jsonPath("$.1").doesNotExist());
+    }
+
     @Test
     void getStatsTest_whenWithoutDate_thenReturnBadRequest() throws Exception {
         mockMvc.perform(get("/stats")
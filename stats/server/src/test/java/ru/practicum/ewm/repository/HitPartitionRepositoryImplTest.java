@@ -0,0 +1,105 @@
+package ru.practicum.ewm.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.ewm.model.HitPartition;
+import ru.practicum.ewm.model.PartitionInterval;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+class HitPartitionRepositoryImplTest {
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+    private static final PartitionInterval INTERVAL = PartitionInterval.MONTH;
+    private final LocalDateTime month = INTERVAL.truncate(LocalDateTime.now());
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private HitPartitionRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(),
+                POSTGRES.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP SCHEMA public CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA public");
+        repository = new HitPartitionRepositoryImpl(jdbcTemplate);
+    }
+
+    @Test
+    void migrateTest_whenUnpartitionedHitsExist_thenHitsMovedIntoMonthlyPartitions() {
+        flyway().target("4").load().migrate();
+        insertHit(month.minusMonths(2).plusDays(3));
+        insertHit(month.plusDays(1));
+        insertHit(month.plusMonths(6));
+
+        flyway().load().migrate();
+
+        List<String> partitions = repository.getPartitions().stream().map(HitPartition::getName)
+                .collect(Collectors.toList());
+        assertTrue(partitions.containsAll(List.of(INTERVAL.getPartitionName(month.minusMonths(2)),
+                INTERVAL.getPartitionName(month.minusMonths(1)), INTERVAL.getPartitionName(month),
+                INTERVAL.getPartitionName(month.plusMonths(1)))));
+        assertEquals(3, count("endpoint_hit"));
+        assertEquals(1, count(INTERVAL.getPartitionName(month.minusMonths(2))));
+        assertEquals(1, count("endpoint_hit_default"));
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(endpoint_hit_id) FROM endpoint_hit", Long.class);
+        assertTrue(jdbcTemplate.queryForObject("SELECT NEXTVAL('endpoint_hit_id_seq')", Long.class) > maxId);
+    }
+
+    @Test
+    void createPartitionTest_whenDefaultHasRowsInRange_thenRowsMovedIntoNewPartition() {
+        flyway().load().migrate();
+        LocalDateTime from = month.plusMonths(6);
+        insertHit(from.plusDays(2));
+        insertHit(from.plusMonths(1).plusDays(2));
+
+        repository.createPartition(INTERVAL.getPartitionName(from), from, INTERVAL.next(from));
+
+        assertTrue(repository.getPartitions().stream()
+                .anyMatch(partition -> partition.getName().equals(INTERVAL.getPartitionName(from))));
+        assertEquals(1, count(INTERVAL.getPartitionName(from)));
+        assertEquals(1, count("endpoint_hit_default"));
+        assertEquals(2, count("endpoint_hit"));
+    }
+
+    @Test
+    void deleteDefaultRowsBeforeTest_whenDefaultHasExpiredRows_thenOnlyExpiredRowsDeleted() {
+        flyway().load().migrate();
+        insertHit(month.minusYears(3));
+        insertHit(month.plusMonths(6));
+
+        int deleted = repository.deleteDefaultRowsBefore(month.minusYears(1));
+
+        assertEquals(1, deleted);
+        assertEquals(1, count("endpoint_hit_default"));
+    }
+
+    private FluentConfiguration flyway() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/postgresql");
+    }
+
+    private void insertHit(LocalDateTime timestamp) {
+        jdbcTemplate.update("INSERT INTO endpoint_hit (app, uri, ip, endpoint_hit_timestamp) VALUES (?, ?, ?, ?)",
+                "ewm-main-service", "/events/1", "192.163.0.1", Timestamp.valueOf(timestamp));
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.ewm.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import ru.practicum.ewm.dto.EndpointHitDto;
+import ru.practicum.ewm.dto.ViewStatsDto;
+import ru.practicum.ewm.exception.model.DateRangeException;
+import ru.practicum.ewm.model.HitsSavedEvent;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ColumnarStatsServiceImplTest {
+    private static final LocalDateTime START = LocalDateTime.of(2022, 9, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2022, 9, 30, 0, 0);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    @TempDir
+    private Path directory;
+
+    @Test
+    void getStatsTest_whenHitsSpanSegments_thenCountedOnce() throws Exception {
+        ColumnarStatsServiceImpl service = new ColumnarStatsServiceImpl(eventPublisher, directory, 2, 0.02, 500);
+        service.saveHits(List.of(
+                makeHit("/events/1", "192.168.0.1", "2022-09-06 11:00:23"),
+                makeHit("/events/1", "192.168.0.1", "2022-09-06 12:00:23"),
+                makeHit("/events/1", "192.168.0.2", "2022-09-07 11:00:23"),
+                makeHit("/events/2", "192.168.0.1", "2022-09-08 11:00:23"),
+                makeHit("/events/1", "192.168.0.3", "2022-10-08 11:00:23")));
+
+        List<ViewStatsDto> stats = service.getStats(START, END, null, false);
+        List<ViewStatsDto> uniqueStats = service.getStats(START, END, List.of("/events/1"), true);
+        service.close();
+
+        assertEquals(2, stats.size());
+        assertEquals("/events/1", stats.get(0).getUri());
+        assertEquals(3L, stats.get(0).getHits());
+        assertEquals(1L, stats.get(1).getHits());
+        assertEquals(1, uniqueStats.size());
+        assertEquals(2L, uniqueStats.get(0).getHits());
+    }
+
+    @Test
+    void getStatsTest_whenReopened_thenSegmentsAndJournalRecovered() throws Exception {
+        ColumnarStatsServiceImpl service = new ColumnarStatsServiceImpl(eventPublisher, directory, 2, 0.02, 500);
+        service.saveHits(List.of(
+                makeHit("/events/1", "192.168.0.1", "2022-09-06 11:00:23"),
+                makeHit("/events/1", "192.168.0.2", "2022-09-06 12:00:23"),
+                makeHit("/events/1", "192.168.0.3", "2022-09-07 11:00:23")));
+        service.saveHit(makeHit("/events", "192.168.0.1", "2022-09-08 11:00:23"));
+        service.close();
+
+        ColumnarStatsServiceImpl reopened = new ColumnarStatsServiceImpl(eventPublisher, directory, 2, 0.02, 500);
+        List<ViewStatsDto> stats = reopened.getStats(START, END, null, false);
+        reopened.close();
+
+        assertEquals(2, stats.size());
+        assertEquals("/events/1", stats.get(0).getUri());
+        assertEquals(3L, stats.get(0).getHits());
+        assertEquals("/events", stats.get(1).getUri());
+        assertEquals(1L, stats.get(1).getHits());
+    }
+
+    @Test
+    void getStatsTest_whenCrashedBeforeJournalTruncated_thenSealedHitsCountedOnce() throws Exception {
+        Path sealedDirectory = directory.resolve("sealed");
+        Path unsealedDirectory = directory.resolve("unsealed");
+        List<EndpointHitDto> hits = List.of(
+                makeHit("/events/1", "192.168.0.1", "2022-09-06 11:00:23"),
+                makeHit("/events/1", "192.168.0.2", "2022-09-06 12:00:23"));
+        ColumnarStatsServiceImpl sealed = new ColumnarStatsServiceImpl(eventPublisher, sealedDirectory, 2, 0.02, 500);
+        sealed.saveHits(hits);
+        sealed.close();
+        ColumnarStatsServiceImpl unsealed = new ColumnarStatsServiceImpl(eventPublisher, unsealedDirectory, 10, 0.02, 500);
+        unsealed.saveHits(hits);
+        unsealed.close();
+        Files.copy(unsealedDirectory.resolve("active.journal"), sealedDirectory.resolve("active.journal"),
+                StandardCopyOption.REPLACE_EXISTING);
+
+        ColumnarStatsServiceImpl reopened = new ColumnarStatsServiceImpl(eventPublisher, sealedDirectory, 2, 0.02, 500);
+        reopened.saveHit(makeHit("/events/1", "192.168.0.3", "2022-09-07 11:00:23"));
+        List<ViewStatsDto> stats = reopened.getStats(START, END, null, false);
+        reopened.close();
+
+        assertEquals(1, stats.size());
+        assertEquals(3L, stats.get(0).getHits());
+    }
+
+    @Test
+    void streamStatsTest_whenLimitGiven_thenTopRowsStreamedInOrder() throws Exception {
+        ColumnarStatsServiceImpl service = new ColumnarStatsServiceImpl(eventPublisher, directory, 4, 0.02, 500);
+        service.saveHits(List.of(
+                makeHit("/events/1", "192.168.0.1", "2022-09-06 11:00:23"),
+                makeHit("/events/2", "192.168.0.1", "2022-09-06 12:00:23"),
+                makeHit("/events/2", "192.168.0.2", "2022-09-07 11:00:23"),
+                makeHit("/events/3", "192.168.0.1", "2022-09-08 11:00:23"),
+                makeHit("/events/3", "192.168.0.2", "2022-09-08 11:00:23"),
+                makeHit("/events/3", "192.168.0.3", "2022-09-08 12:00:23")));
+        List<ViewStatsDto> viewStatsDtos = new ArrayList<>();
+
+        service.streamStats(START, END, null, false, 2, viewStatsDtos::add);
+        service.close();
+
+        assertEquals(2, viewStatsDtos.size());
+        assertEquals("/events/3", viewStatsDtos.get(0).getUri());
+        assertEquals(3L, viewStatsDtos.get(0).getHits());
+        assertEquals("/events/2", viewStatsDtos.get(1).getUri());
+        assertEquals(2L, viewStatsDtos.get(1).getHits());
+    }
+
+    @Test
+    void getViewsTest_whenRouteAndIds_thenViewsByResourceId() throws Exception {
+        ColumnarStatsServiceImpl service = new ColumnarStatsServiceImpl(eventPublisher, directory, 3, 0.02, 500);
+        service.saveHits(List.of(
+                makeHit("/events/1", "192.168.0.1", "2022-09-06 11:00:23"),
+                makeHit("/events/1", "192.168.0.1", "2022-09-06 12:00:23"),
+                makeHit("/events/2", "192.168.0.2", "2022-09-07 11:00:23"),
+                makeHit("/events/3", "192.168.0.2", "2022-09-07 11:00:23"),
+                makeHit("/compilations/1", "192.168.0.2", "2022-09-08 11:00:23")));
+
+        Map<Long, Long> views = service.getViews(START, END, "/events/{id}", List.of(1L, 2L), false);
+        Map<Long, Long> uniqueViews = service.getViews(START, END, "/events/{id}", List.of(1L, 2L), true);
+        service.close();
+
+        assertEquals(Map.of(1L, 2L, 2L, 1L), views);
+        assertEquals(Map.of(1L, 1L, 2L, 1L), uniqueViews);
+    }
+
+    @Test
+    void saveHitStreamTest_whenStreamLongerThanBatch_thenAppendedInBatches() throws Exception {
+        ColumnarStatsServiceImpl service = new ColumnarStatsServiceImpl(eventPublisher, directory, 4, 0.02, 2);
+
+        service.saveHitStream(List.of(
+                makeHit("/events/1", "192.168.0.1", "2022-09-06 11:00:23"),
+                makeHit("/events/1", "192.168.0.2", "2022-09-06 12:00:23"),
+                makeHit("/events/2", "192.168.0.1", "2022-09-07 11:00:23"),
+                makeHit("/events/2", "192.168.0.2", "2022-09-07 12:00:23"),
+                makeHit("/events/3", "192.168.0.1", "2022-09-08 11:00:23")).iterator());
+        List<ViewStatsDto> stats = service.getStats(START, END, null, false);
+        service.close();
+
+        verify(eventPublisher, times(3)).publishEvent(any(HitsSavedEvent.class));
+        assertEquals(3, stats.size());
+        assertEquals(5L, stats.stream().mapToLong(ViewStatsDto::getHits).sum());
+    }
+
+    @Test
+    void getStatsTest_whenStartAfterEnd_thenDateRangeExceptionThrown() throws Exception {
+        ColumnarStatsServiceImpl service = new ColumnarStatsServiceImpl(eventPublisher, directory, 2, 0.02, 500);
+
+        assertThrows(DateRangeException.class, () -> service.getStats(END, START, null, false));
+        service.close();
+    }
+
+    private EndpointHitDto makeHit(String uri, String ip, String timestamp) {
+        return EndpointHitDto.builder()
+                .app("ewm-main-service")
+                .uri(uri)
+                .ip(ip)
+                .timestamp(timestamp)
+                .build();
+    }
+}
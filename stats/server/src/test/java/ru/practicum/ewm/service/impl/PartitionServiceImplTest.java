@@ -0,0 +1,84 @@
+package ru.practicum.ewm.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.ewm.model.HitPartition;
+import ru.practicum.ewm.model.PartitionInterval;
+import ru.practicum.ewm.repository.HitPartitionRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionServiceImplTest {
+    @Mock
+    private HitPartitionRepository hitPartitionRepository;
+
+    @Test
+    void createPartitionsTest_whenSomeMonthsExist_thenOnlyMissingMonthsCreated() {
+        PartitionServiceImpl service = new PartitionServiceImpl(hitPartitionRepository, PartitionInterval.MONTH, 2,
+                Duration.ofDays(365));
+        when(hitPartitionRepository.getPartitions()).thenReturn(List.of(new HitPartition("endpoint_hit_p202209",
+                LocalDateTime.of(2022, 9, 1, 0, 0), LocalDateTime.of(2022, 10, 1, 0, 0))));
+
+        service.createPartitions(LocalDateTime.of(2022, 9, 15, 12, 30));
+
+        verify(hitPartitionRepository).createPartition("endpoint_hit_p202210", LocalDateTime.of(2022, 10, 1, 0, 0),
+                LocalDateTime.of(2022, 11, 1, 0, 0));
+        verify(hitPartitionRepository).createPartition("endpoint_hit_p202211", LocalDateTime.of(2022, 11, 1, 0, 0),
+                LocalDateTime.of(2022, 12, 1, 0, 0));
+        verifyNoMoreInteractions(hitPartitionRepository);
+    }
+
+    @Test
+    void createPartitionsTest_whenDailyInsideExistingMonth_thenNothingCreatedForThatMonth() {
+        PartitionServiceImpl service = new PartitionServiceImpl(hitPartitionRepository, PartitionInterval.DAY, 1,
+                Duration.ofDays(365));
+        when(hitPartitionRepository.getPartitions()).thenReturn(List.of(new HitPartition("endpoint_hit_p202209",
+                LocalDateTime.of(2022, 9, 1, 0, 0), LocalDateTime.of(2022, 10, 1, 0, 0))));
+
+        service.createPartitions(LocalDateTime.of(2022, 9, 30, 12, 30));
+
+        verify(hitPartitionRepository).createPartition("endpoint_hit_p20221001", LocalDateTime.of(2022, 10, 1, 0, 0),
+                LocalDateTime.of(2022, 10, 2, 0, 0));
+        verify(hitPartitionRepository, times(1)).createPartition(anyString(), any(), any());
+    }
+
+    @Test
+    void createPartitionsTest_whenCreateFails_thenNextPartitionsStillCreated() {
+        PartitionServiceImpl service = new PartitionServiceImpl(hitPartitionRepository, PartitionInterval.MONTH, 1,
+                Duration.ofDays(365));
+        when(hitPartitionRepository.getPartitions()).thenReturn(List.of());
+        doThrow(new DataIntegrityViolationException("default partition has rows")).when(hitPartitionRepository)
+                .createPartition(eq("endpoint_hit_p202209"), any(), any());
+
+        service.createPartitions(LocalDateTime.of(2022, 9, 15, 12, 30));
+
+        verify(hitPartitionRepository).createPartition(eq("endpoint_hit_p202210"), any(), any());
+    }
+
+    @Test
+    void dropExpiredPartitionsTest_whenPartitionEndsBeforeRetention_thenDropped() {
+        PartitionServiceImpl service = new PartitionServiceImpl(hitPartitionRepository, PartitionInterval.MONTH, 1,
+                Duration.ofDays(30));
+        when(hitPartitionRepository.getPartitions()).thenReturn(List.of(
+                new HitPartition("endpoint_hit_p202207", LocalDateTime.of(2022, 7, 1, 0, 0),
+                        LocalDateTime.of(2022, 8, 1, 0, 0)),
+                new HitPartition("endpoint_hit_p202208", LocalDateTime.of(2022, 8, 1, 0, 0),
+                        LocalDateTime.of(2022, 9, 1, 0, 0))));
+
+        service.dropExpiredPartitions(LocalDateTime.of(2022, 9, 15, 12, 30));
+
+        verify(hitPartitionRepository).dropPartition("endpoint_hit_p202207");
+        verify(hitPartitionRepository, never()).dropPartition("endpoint_hit_p202208");
+        verify(hitPartitionRepository).deleteDefaultRowsBefore(LocalDateTime.of(2022, 8, 16, 12, 30));
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.ewm.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.dto.EndpointHitDto;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Transactional
+@SpringBootTest(properties = {"stats.partitions.enabled=true", "stats.partitions.retention=P30D",
+        "stats.partitions.initial-delay=P1D"})
+@ActiveProfiles("integrationtest")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class StatsServiceImplRetentionTest {
+    private final EntityManager entityManager;
+    private final StatsServiceImpl service;
+
+    @Test
+    void getViewsTest_whenRawHitsPastRetentionDropped_thenUniqueViewsKeptFromSketches() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime old = now.minusDays(60);
+        service.saveHits(List.of(
+                makeHit("192.163.0.1", old),
+                makeHit("192.163.0.2", old.plusHours(3)),
+                makeHit("192.163.0.1", now.minusDays(1))));
+        entityManager.flush();
+        entityManager.createQuery("DELETE FROM EndpointHit eh WHERE eh.timestamp < :cutoff")
+                .setParameter("cutoff", now.minusDays(30))
+                .executeUpdate();
+
+        Map<Long, Long> uniqueViews = service.getViews(now.minusDays(90), now, "/events/{id}", List.of(1L), true);
+        Map<Long, Long> recentUniqueViews = service.getViews(now.minusDays(10), now, "/events/{id}", List.of(1L),
+                true);
+
+        assertEquals(Map.of(1L, 2L), uniqueViews);
+        assertEquals(Map.of(1L, 1L), recentUniqueViews);
+    }
+
+    private EndpointHitDto makeHit(String ip, LocalDateTime timestamp) {
+        return EndpointHitDto.builder()
+                .app("ewm-main-service")
+                .uri("/events/1")
+                .ip(ip)
+                .timestamp(timestamp.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
+                .build();
+    }
+}
@@ -5,18 +5,23 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.dto.EndpointHitDto;
 import ru.practicum.ewm.dto.ViewStatsDto;
 import ru.practicum.ewm.mapper.EndpointHitMapper;
 import ru.practicum.ewm.model.EndpointHit;
+import ru.practicum.ewm.service.TopStatsService;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -27,6 +32,7 @@ import static org.junit.jupiter.api.Assertions.*;
 class StatsServiceImplTest {
     private final EntityManager entityManager;
     private final StatsServiceImpl service;
+    private final TopStatsService topStatsService;
 
     @Test
     void saveHitTest() {
@@ -52,6 +58,21 @@ class StatsServiceImplTest {
                 .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
     }
 
+    @Test
+    void saveHitTest_whenTransactionNotCommitted_thenTopNotUpdated() {
+        LocalDateTime now = LocalDateTime.now();
+        service.saveHit(EndpointHitDto.builder()
+                .app("ewm-main-service")
+                .uri("/events/uncommitted")
+                .ip("192.163.0.1")
+                .timestamp(now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
+                .build());
+
+        List<ViewStatsDto> top = topStatsService.getTop(now, 1000);
+
+        assertTrue(top.stream().noneMatch(viewStatsDto -> viewStatsDto.getUri().equals("/events/uncommitted")));
+    }
+
     @Test
     void getStatsTest() {
         EndpointHitDto endpointHitDto = EndpointHitDto.builder()
@@ -60,7 +81,7 @@ class StatsServiceImplTest {
                 .ip("192.163.0.1")
                 .timestamp("2022-09-06 11:00:23")
                 .build();
-        entityManager.persist(EndpointHitMapper.toEndpointHit(endpointHitDto));
+        service.saveHit(endpointHitDto);
         LocalDateTime start = LocalDateTime.parse("2020-09-06 11:00:23",
                 DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
         LocalDateTime end = LocalDateTime.parse("2023-09-06 11:00:23",
@@ -73,6 +94,61 @@ class StatsServiceImplTest {
         assertEquals(1L, viewStatsDtos.get(0).getHits());
     }
 
+    @Test
+    void streamStatsTest_whenLimitGiven_thenTopRowsStreamedInOrder() {
+        List<EndpointHitDto> endpointHitDtos = new ArrayList<>();
+        for (String uri : List.of("/events/1", "/events/2", "/events/2", "/events/3", "/events/3", "/events/3")) {
+            endpointHitDtos.add(EndpointHitDto.builder()
+                    .app("ewm-main-service")
+                    .uri(uri)
+                    .ip("192.163.0.1")
+                    .timestamp("2022-09-06 11:00:23")
+                    .build());
+        }
+        service.saveHits(endpointHitDtos);
+        entityManager.flush();
+        LocalDateTime start = LocalDateTime.of(2022, 9, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2022, 10, 1, 0, 0);
+        List<ViewStatsDto> viewStatsDtos = new ArrayList<>();
+
+        service.streamStats(start, end, null, false, 2, viewStatsDtos::add);
+
+        assertEquals(2, viewStatsDtos.size());
+        assertEquals("/events/3", viewStatsDtos.get(0).getUri());
+        assertEquals(3L, viewStatsDtos.get(0).getHits());
+        assertEquals("/events/2", viewStatsDtos.get(1).getUri());
+        assertEquals(2L, viewStatsDtos.get(1).getHits());
+    }
+
+    @Test
+    void streamStatsTest_whenRawHitsDropped_thenStreamMatchesStats() {
+        List<EndpointHitDto> endpointHitDtos = new ArrayList<>();
+        for (String timestamp : List.of("2022-09-01 00:00:10", "2022-09-01 00:05:10", "2022-09-03 11:00:23",
+                "2022-09-03 12:00:23", "2022-09-06 11:00:23", "2022-09-30 23:59:50")) {
+            endpointHitDtos.add(EndpointHitDto.builder()
+                    .app("ewm-main-service")
+                    .uri("/events/1")
+                    .ip("192.163.0.1")
+                    .timestamp(timestamp)
+                    .build());
+        }
+        service.saveHits(endpointHitDtos);
+        entityManager.createQuery("DELETE FROM EndpointHit eh WHERE eh.timestamp < :before")
+                .setParameter("before", LocalDateTime.of(2022, 9, 10, 0, 0))
+                .executeUpdate();
+        entityManager.flush();
+        LocalDateTime start = LocalDateTime.of(2022, 9, 1, 0, 0, 30);
+        LocalDateTime end = LocalDateTime.of(2022, 9, 30, 23, 59, 55);
+        List<ViewStatsDto> streamed = new ArrayList<>();
+
+        List<ViewStatsDto> viewStatsDtos = service.getStats(start, end, List.of("/events/1"), false);
+        service.streamStats(start, end, List.of("/events/1"), false, null, streamed::add);
+
+        assertEquals(1, viewStatsDtos.size());
+        assertEquals(5L, viewStatsDtos.get(0).getHits());
+        assertEquals(viewStatsDtos, streamed);
+    }
+
     @Test
     void getStatsUniqueTest() {
         EndpointHitDto endpointHitDto1 = EndpointHitDto.builder()
@@ -100,4 +176,171 @@ class StatsServiceImplTest {
         assertEquals(endpointHitDto1.getUri(), viewStatsDtos.get(0).getUri());
         assertEquals(1L, viewStatsDtos.get(0).getHits());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getStatsTest_whenWindowHasPartialBuckets_thenRollupsAreStitchedWithRawEdges() {
+        String[] timestamps = {"2022-09-06 10:59:59", "2022-09-06 11:00:23", "2022-09-06 11:30:00",
+                "2022-09-06 13:00:00", "2022-09-07 05:00:00", "2022-09-08 00:00:00", "2022-09-08 12:15:10",
+                "2022-09-08 12:15:11", "2022-09-08 12:16:00"};
+        for (String timestamp : timestamps) {
+            service.saveHit(EndpointHitDto.builder()
+                    .app("ewm-main-service")
+                    .uri("/events/4")
+                    .ip("192.163.0.1")
+                    .timestamp(timestamp)
+                    .build());
+        }
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        List<ViewStatsDto> all = service.getStats(LocalDateTime.parse("2022-09-06 11:00:23", formatter),
+                LocalDateTime.parse("2022-09-08 12:15:10", formatter), List.of("/events/4"), false);
+        List<ViewStatsDto> minute = service.getStats(LocalDateTime.parse("2022-09-08 12:15:05", formatter),
+                LocalDateTime.parse("2022-09-08 12:15:30", formatter), List.of("/events/4"), false);
+
+        assertEquals(1, all.size());
+        assertEquals(6L, all.get(0).getHits());
+        assertEquals(1, minute.size());
+        assertEquals(2L, minute.get(0).getHits());
+    }
+
+    @Test
+    void getApproxUniqueStatsTest_whenHitsSpanSketchedBuckets_thenEstimateMatchesExact() {
+        for (int i = 0; i < 300; i++) {
+            service.saveHit(EndpointHitDto.builder()
+                    .app("ewm-main-service")
+                    .uri("/events/5")
+                    .ip("10.0." + (i % 120) / 256 + "." + (i % 120))
+                    .timestamp(LocalDateTime.parse("2022-09-06 10:30:00",
+                                    DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))
+                            .plusMinutes(i * 7L)
+                            .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
+                    .build());
+        }
+        LocalDateTime start = LocalDateTime.parse("2022-09-06 10:45:00",
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        LocalDateTime end = LocalDateTime.parse("2022-09-07 23:10:00",
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+
+        List<ViewStatsDto> exact = service.getStats(start, end, List.of("/events/5"), true);
+        List<ViewStatsDto> approx = service.getApproxUniqueStats(start, end, List.of("/events/5"));
+
+        assertEquals(1, approx.size());
+        assertEquals(exact.get(0).getHits(), approx.get(0).getHits());
+    }
+
+    @Test
+    void saveHitsTest_whenBatchSaved_thenRawHitsAndRollupsMatchSingleSaves() {
+        List<EndpointHitDto> endpointHitDtos = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            endpointHitDtos.add(EndpointHitDto.builder()
+                    .app("ewm-main-service")
+                    .uri("/events/" + (6 + i % 2))
+                    .ip("192.163.0." + (i % 5))
+                    .timestamp(LocalDateTime.parse("2022-09-06 10:50:00",
+                                    DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))
+                            .plusMinutes(i * 3L)
+                            .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
+                    .build());
+        }
+        service.saveHits(endpointHitDtos.subList(0, 25));
+        service.saveHits(endpointHitDtos.subList(25, 50));
+        LocalDateTime start = LocalDateTime.parse("2022-09-06 10:00:00",
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        LocalDateTime end = LocalDateTime.parse("2022-09-06 14:00:00",
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+
+        Long saved = entityManager
+                .createQuery("Select count(eh) from EndpointHit eh where eh.uri in :uris", Long.class)
+                .setParameter("uris", List.of("/events/6", "/events/7"))
+                .getSingleResult();
+        List<ViewStatsDto> viewStatsDtos = service.getStats(start, end, List.of("/events/6", "/events/7"), false);
+        List<ViewStatsDto> approx = service.getApproxUniqueStats(start, end, List.of("/events/6", "/events/7"));
+
+        assertEquals(50L, saved);
+        assertEquals(2, viewStatsDtos.size());
+        assertEquals(25L, viewStatsDtos.get(0).getHits());
+        assertEquals(25L, viewStatsDtos.get(1).getHits());
+        assertEquals(2, approx.size());
+        assertEquals(5L, approx.get(0).getHits());
+    }
+
+    @Test
+    void saveHitsTest_whenRollupHasNoSketch_thenApproxUniqueFallsBackToRawHits() {
+        entityManager.persist(EndpointHitMapper.toEndpointHit(EndpointHitDto.builder()
+                .app("ewm-main-service")
+                .uri("/events/8")
+                .ip("192.163.0.1")
+                .timestamp("2022-09-06 11:00:23")
+                .build()));
+        for (String rollup : List.of("'MINUTE', TIMESTAMP '2022-09-06 11:00:00'",
+                "'HOUR', TIMESTAMP '2022-09-06 11:00:00'", "'DAY', TIMESTAMP '2022-09-06 00:00:00'")) {
+            entityManager.createNativeQuery("INSERT INTO hit_rollup (granularity, bucket_start, app, uri, hits) "
+                    + "VALUES (" + rollup + ", 'ewm-main-service', '/events/8', 1)").executeUpdate();
+        }
+        service.saveHits(List.of(
+                EndpointHitDto.builder()
+                        .app("ewm-main-service")
+                        .uri("/events/8")
+                        .ip("192.163.0.2")
+                        .timestamp("2022-09-06 11:10:23")
+                        .build(),
+                EndpointHitDto.builder()
+                        .app("ewm-main-service")
+                        .uri("/events/8")
+                        .ip("192.163.0.3")
+                        .timestamp("2022-09-06 11:20:23")
+                        .build()));
+        LocalDateTime start = LocalDateTime.of(2022, 9, 6, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2022, 9, 6, 12, 0);
+
+        List<ViewStatsDto> viewStatsDtos = service.getStats(start, end, List.of("/events/8"), false);
+        List<ViewStatsDto> approx = service.getApproxUniqueStats(start, end, List.of("/events/8"));
+
+        assertEquals(3L, viewStatsDtos.get(0).getHits());
+        assertEquals(3L, approx.get(0).getHits());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void saveHitStreamTest_whenLaterBatchFails_thenEarlierBatchesRolledBack() {
+        List<EndpointHitDto> endpointHitDtos = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            endpointHitDtos.add(EndpointHitDto.builder()
+                    .app("ewm-main-service")
+                    .uri("/events/stream")
+                    .ip("192.163.0.1")
+                    .timestamp(i == 599 ? "2022-13-06 11:00:23" : "2022-09-06 11:00:23")
+                    .build());
+        }
+
+        assertThrows(DateTimeParseException.class, () -> service.saveHitStream(endpointHitDtos.iterator()));
+        Long saved = entityManager
+                .createQuery("Select count(eh) from EndpointHit eh where eh.uri = :uri", Long.class)
+                .setParameter("uri", "/events/stream")
+                .getSingleResult();
+
+        assertEquals(0L, saved);
+    }
+
+    @Test
+    void getViewsTest_whenIdsShareLastDigit_thenViewsKeptApart() {
+        for (String uri : List.of("/events/1", "/events/11", "/events/11", "/events/21")) {
+            service.saveHit(EndpointHitDto.builder()
+                    .app("ewm-main-service")
+                    .uri(uri)
+                    .ip("192.163.0.1")
+                    .timestamp("2022-09-06 11:00:23")
+                    .build());
+        }
+        LocalDateTime start = LocalDateTime.parse("2020-09-06 11:00:23",
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        LocalDateTime end = LocalDateTime.parse("2023-09-06 11:00:23",
+                DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+
+        Map<Long, Long> views = service.getViews(start, end, "/events/{id}", List.of(1L, 11L, 31L), false);
+        Map<Long, Long> uniqueViews = service.getViews(start, end, "/events/{id}", List.of(1L, 11L, 31L), true);
+
+        assertEquals(Map.of(1L, 1L, 11L, 2L), views);
+        assertEquals(Map.of(1L, 1L, 11L, 1L), uniqueViews);
+    }
+}
@@ -0,0 +1,147 @@
+package ru.practicum.ewm.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.ewm.dto.ViewStatsDto;
+import ru.practicum.ewm.exception.model.LimitException;
+import ru.practicum.ewm.model.EndpointHit;
+import ru.practicum.ewm.model.Granularity;
+import ru.practicum.ewm.model.HitRollup;
+import ru.practicum.ewm.model.HitRollupId;
+import ru.practicum.ewm.repository.HitRollupRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TopStatsServiceImplTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2022, 9, 6, 12, 30, 15);
+    @Mock
+    private HitRollupRepository hitRollupRepository;
+
+    @Test
+    void getTopTest_whenHitsAdded_thenOrderedByHitsWithinLimit() {
+        TopStatsServiceImpl service = new TopStatsServiceImpl(hitRollupRepository, Duration.ofHours(1),
+                Duration.ofMinutes(1), 10, () -> NOW);
+        service.addHits(List.of(makeHit("/events/1", NOW.minusMinutes(5)), makeHit("/events/2", NOW.minusMinutes(5)),
+                makeHit("/events/2", NOW.minusMinutes(1)), makeHit("/events/3", NOW)));
+
+        List<ViewStatsDto> top = service.getTop(NOW, 1);
+
+        assertEquals(1, top.size());
+        assertEquals("/events/2", top.get(0).getUri());
+        assertEquals(2L, top.get(0).getHits());
+    }
+
+    @Test
+    void getTopTest_whenBucketsLeaveWindow_thenTheirHitsDropped() {
+        TopStatsServiceImpl service = new TopStatsServiceImpl(hitRollupRepository, Duration.ofHours(1),
+                Duration.ofMinutes(1), 10, () -> NOW);
+        service.addHits(List.of(makeHit("/events/1", NOW.minusMinutes(70)), makeHit("/events/1", NOW.minusMinutes(50)),
+                makeHit("/events/2", NOW.minusMinutes(50)), makeHit("/events/2", NOW.minusMinutes(10))));
+
+        List<ViewStatsDto> top = service.getTop(NOW.plusMinutes(15), 10);
+
+        assertEquals(1, top.size());
+        assertEquals("/events/2", top.get(0).getUri());
+        assertEquals(1L, top.get(0).getHits());
+    }
+
+    @Test
+    void addHitsTest_whenHitIsFromFuture_thenRejectedAndCurrentBucketsKept() {
+        TopStatsServiceImpl service = new TopStatsServiceImpl(hitRollupRepository, Duration.ofHours(1),
+                Duration.ofMinutes(1), 10, () -> NOW);
+        service.addHits(List.of(makeHit("/events/1", NOW.minusMinutes(5))));
+
+        service.addHits(List.of(makeHit("/events/2", NOW.plusDays(1)), makeHit("/events/3", NOW.plusSeconds(30))));
+        service.addHits(List.of(makeHit("/events/1", NOW)));
+        List<ViewStatsDto> top = service.getTop(NOW.plusMinutes(1), 10);
+
+        assertEquals(2, top.size());
+        assertEquals("/events/1", top.get(0).getUri());
+        assertEquals(2L, top.get(0).getHits());
+        assertEquals("/events/3", top.get(1).getUri());
+    }
+
+    @Test
+    void addHitsTest_whenHitIsOlderThanWindow_thenRejected() {
+        TopStatsServiceImpl service = new TopStatsServiceImpl(hitRollupRepository, Duration.ofHours(1),
+                Duration.ofMinutes(1), 10, () -> NOW);
+
+        service.addHits(List.of(makeHit("/events/1", NOW.minusHours(2)), makeHit("/events/2", NOW.minusMinutes(1))));
+        List<ViewStatsDto> top = service.getTop(NOW, 10);
+
+        assertEquals(1, top.size());
+        assertEquals("/events/2", top.get(0).getUri());
+    }
+
+    @Test
+    void getTopTest_whenBucketSummaryEvictsKeys_thenWindowMatchesBucketCounters() {
+        TopStatsServiceImpl service = new TopStatsServiceImpl(hitRollupRepository, Duration.ofHours(1),
+                Duration.ofMinutes(1), 2, () -> NOW);
+        service.addHits(List.of(makeHit("/events/1", NOW.minusMinutes(50)), makeHit("/events/1", NOW.minusMinutes(50)),
+                makeHit("/events/2", NOW.minusMinutes(50)), makeHit("/events/3", NOW.minusMinutes(50)),
+                makeHit("/events/3", NOW)));
+
+        List<ViewStatsDto> top = service.getTop(NOW, 2);
+        List<ViewStatsDto> afterExpiry = service.getTop(NOW.plusMinutes(15), 2);
+
+        assertEquals("/events/3", top.get(0).getUri());
+        assertEquals(3L, top.get(0).getHits());
+        assertEquals("/events/1", top.get(1).getUri());
+        assertEquals(2L, top.get(1).getHits());
+        assertEquals(1, afterExpiry.size());
+        assertEquals("/events/3", afterExpiry.get(0).getUri());
+        assertEquals(1L, afterExpiry.get(0).getHits());
+    }
+
+    @Test
+    void rebuildTest_whenMinuteRollupsExist_thenTopRestored() {
+        TopStatsServiceImpl service = new TopStatsServiceImpl(hitRollupRepository, Duration.ofHours(1),
+                Duration.ofMinutes(1), 10, () -> NOW);
+        LocalDateTime end = LocalDateTime.of(2022, 9, 6, 12, 31);
+        when(hitRollupRepository.getRollups(Granularity.MINUTE, end.minusHours(1), end, null)).thenReturn(List.of(
+                makeRollup("/events/1", end.minusMinutes(30), 4L),
+                makeRollup("/events/2", end.minusMinutes(30), 3L),
+                makeRollup("/events/2", end.minusMinutes(2), 3L)));
+
+        service.rebuild(NOW);
+        List<ViewStatsDto> top = service.getTop(NOW, 2);
+
+        assertEquals("/events/2", top.get(0).getUri());
+        assertEquals(6L, top.get(0).getHits());
+        assertEquals("/events/1", top.get(1).getUri());
+        assertEquals(4L, top.get(1).getHits());
+    }
+
+    @Test
+    void getTopTest_whenLimitAboveCapacity_thenLimitExceptionThrown() {
+        TopStatsServiceImpl service = new TopStatsServiceImpl(hitRollupRepository, Duration.ofHours(1),
+                Duration.ofMinutes(1), 10, () -> NOW);
+
+        assertThrows(LimitException.class, () -> service.getTop(NOW, 11));
+    }
+
+    private EndpointHit makeHit(String uri, LocalDateTime timestamp) {
+        return EndpointHit.builder()
+                .app("ewm-main-service")
+                .uri(uri)
+                .ip("192.168.0.1")
+                .timestamp(timestamp)
+                .build();
+    }
+
+    private HitRollup makeRollup(String uri, LocalDateTime bucketStart, Long hits) {
+        return HitRollup.builder()
+                .id(new HitRollupId(Granularity.MINUTE, bucketStart, "ewm-main-service", uri))
+                .hits(hits)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.ewm.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.ewm.model.EndpointHit;
+import ru.practicum.ewm.model.HitsSavedEvent;
+import ru.practicum.ewm.service.StatsService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViewsPushServiceImplTest {
+    private static final LocalDateTime START = LocalDateTime.of(2020, 11, 11, 11, 11, 11);
+    private static final LocalDateTime NOW = LocalDateTime.of(2022, 9, 6, 12, 0);
+    @Mock
+    private StatsService statsService;
+
+    @Test
+    void pushTest_whenSubscribedRouteHit_thenChangedIdsQueriedOnce() {
+        ViewsPushServiceImpl service = new ViewsPushServiceImpl(statsService, Duration.ofMinutes(1));
+        service.subscribe(START, "/events/{id}", true);
+        when(statsService.getViews(eq(START), eq(NOW), eq("/events/{id}"), any(), eq(true)))
+                .thenReturn(Map.of(1L, 3L, 2L, 1L));
+
+        service.onHitsSaved(new HitsSavedEvent(List.of(makeHit("/events/{id}", 1L), makeHit("/events/{id}", 2L),
+                makeHit("/events/{id}", 1L), makeHit("/compilations/{id}", 1L), makeHit("/events", null))));
+        service.push(NOW);
+        service.push(NOW);
+
+        verify(statsService, times(1)).getViews(eq(START), eq(NOW), eq("/events/{id}"),
+                argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1L, 2L))), eq(true));
+        verifyNoMoreInteractions(statsService);
+    }
+
+    @Test
+    void pushTest_whenHitsSavedDuringPush_thenIdsPushedInNextCycle() {
+        ViewsPushServiceImpl service = new ViewsPushServiceImpl(statsService, Duration.ofMinutes(1));
+        service.subscribe(START, "/events/{id}", false);
+        when(statsService.getViews(eq(START), eq(NOW), eq("/events/{id}"), eq(List.of(1L)), eq(false)))
+                .thenAnswer(invocation -> {
+                    service.onHitsSaved(new HitsSavedEvent(List.of(makeHit("/events/{id}", 2L))));
+                    return Map.of(1L, 1L);
+                });
+        when(statsService.getViews(eq(START), eq(NOW), eq("/events/{id}"), eq(List.of(2L)), eq(false)))
+                .thenReturn(Map.of(2L, 1L));
+
+        service.onHitsSaved(new HitsSavedEvent(List.of(makeHit("/events/{id}", 1L))));
+        service.push(NOW);
+        service.push(NOW);
+
+        verify(statsService).getViews(START, NOW, "/events/{id}", List.of(1L), false);
+        verify(statsService).getViews(START, NOW, "/events/{id}", List.of(2L), false);
+    }
+
+    @Test
+    void pushTest_whenViewsLookupFails_thenIdsPushedInNextCycle() {
+        ViewsPushServiceImpl service = new ViewsPushServiceImpl(statsService, Duration.ofMinutes(1));
+        service.subscribe(START, "/events/{id}", false);
+        when(statsService.getViews(eq(START), eq(NOW), eq("/events/{id}"), eq(List.of(1L)), eq(false)))
+                .thenThrow(new IllegalStateException("Ошибка подключения"))
+                .thenReturn(Map.of(1L, 1L));
+
+        service.onHitsSaved(new HitsSavedEvent(List.of(makeHit("/events/{id}", 1L))));
+        service.push(NOW);
+        service.push(NOW);
+        service.push(NOW);
+
+        verify(statsService, times(2)).getViews(START, NOW, "/events/{id}", List.of(1L), false);
+        verifyNoMoreInteractions(statsService);
+    }
+
+    @Test
+    void pushTest_whenNoSubscribers_thenNothingQueried() {
+        ViewsPushServiceImpl service = new ViewsPushServiceImpl(statsService, Duration.ofMinutes(1));
+
+        service.onHitsSaved(new HitsSavedEvent(List.of(makeHit("/events/{id}", 1L))));
+        service.push(NOW);
+
+        verifyNoInteractions(statsService);
+    }
+
+    private EndpointHit makeHit(String route, Long resourceId) {
+        return EndpointHit.builder()
+                .app("ewm-main-service")
+                .uri(resourceId == null ? "/events" : route.replace("{id}", resourceId.toString()))
+                .ip("192.168.0.1")
+                .timestamp(NOW.minusMinutes(1))
+                .route(route)
+                .resourceId(resourceId)
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.ewm.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+    @Test
+    void estimateTest_whenManyDistinctValues_thenWithinErrorBound() {
+        HyperLogLog sketch = HyperLogLog.forError(0.02);
+        for (int i = 0; i < 100000; i++) {
+            sketch.add("192.168." + (i / 256) + "." + (i % 256));
+            sketch.add("192.168." + (i / 256) + "." + (i % 256));
+        }
+
+        assertEquals(100000, sketch.estimate(), 100000 * 0.02 * 3);
+    }
+
+    @Test
+    void estimateTest_whenFewDistinctValues_thenExact() {
+        HyperLogLog sketch = HyperLogLog.forError(0.02);
+        sketch.add("192.163.0.1");
+        sketch.add("192.163.0.2");
+        sketch.add("192.163.0.1");
+
+        assertEquals(2, sketch.estimate());
+    }
+
+    @Test
+    void mergeTest_whenPrecisionsDiffer_thenFoldedToLowerPrecision() {
+        HyperLogLog first = new HyperLogLog(14);
+        HyperLogLog second = new HyperLogLog(10);
+        HyperLogLog union = new HyperLogLog(10);
+        for (int i = 0; i < 20000; i++) {
+            String value = "10.0." + (i / 256) + "." + (i % 256);
+            if (i % 2 == 0) {
+                first.add(value);
+            } else {
+                second.add(value);
+            }
+            union.add(value);
+        }
+
+        HyperLogLog merged = first.merge(second);
+
+        assertEquals(10, merged.getPrecision());
+        assertArrayEquals(union.toBytes(), merged.toBytes());
+    }
+
+    @Test
+    void fromBytesTest_whenRoundTrip_thenSameSketch() {
+        HyperLogLog sketch = new HyperLogLog(8);
+        sketch.add("192.163.0.1");
+
+        assertArrayEquals(sketch.toBytes(), HyperLogLog.fromBytes(sketch.toBytes()).toBytes());
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[] {8, 0}));
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.ewm.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+    @Test
+    void addTest_whenKeysFitCapacity_thenCountsExact() {
+        SpaceSaving<String> summary = new SpaceSaving<>(3);
+
+        summary.add("a", 1);
+        summary.add("b", 2);
+        summary.add("a", 4);
+
+        Map<String, Long> counts = summary.getCounters().stream()
+                .collect(Collectors.toMap(SpaceSaving.Counter::getKey, SpaceSaving.Counter::getCount));
+        assertEquals(Map.of("a", 5L, "b", 2L), counts);
+        assertEquals(0, summary.getMinCount());
+    }
+
+    @Test
+    void addTest_whenFull_thenMinimumReplacedWithError() {
+        SpaceSaving<String> summary = new SpaceSaving<>(2);
+        summary.add("a", 5);
+        summary.add("b", 2);
+
+        SpaceSaving.Counter<String> evicted = summary.add("c", 1);
+
+        SpaceSaving.Counter<String> counter = summary.getCounters().stream()
+                .filter(c -> c.getKey().equals("c")).findFirst().orElseThrow();
+        assertEquals(3L, counter.getCount());
+        assertEquals(2L, counter.getError());
+        assertEquals(2, summary.getCounters().size());
+        assertTrue(summary.getCounters().stream().noneMatch(c -> c.getKey().equals("b")));
+        assertEquals("b", evicted.getKey());
+        assertEquals(2L, evicted.getCount());
+        assertEquals(3L, summary.getCount("c"));
+        assertEquals(0L, summary.getCount("b"));
+    }
+
+    @Test
+    void addTest_whenSkewedStream_thenHeavyHittersKept() {
+        SpaceSaving<Integer> summary = new SpaceSaving<>(20);
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            summary.add(i % 4 == 0 ? i % 12 : 100 + random.nextInt(5_000), 1);
+        }
+
+        Map<Integer, Long> counts = summary.getCounters().stream()
+                .collect(Collectors.toMap(SpaceSaving.Counter::getKey, SpaceSaving.Counter::getCount));
+        for (int key : new int[]{0, 4, 8}) {
+            assertTrue(counts.containsKey(key));
+            assertTrue(counts.get(key) >= 5_000 / 3);
+        }
+    }
+
+    @Test
+    void constructorTest_whenCapacityNotPositive_thenThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSaving<>(0));
+    }
+}
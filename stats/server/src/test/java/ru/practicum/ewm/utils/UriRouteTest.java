@@ -0,0 +1,41 @@
+package ru.practicum.ewm.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UriRouteTest {
+    @Test
+    void parseTest_whenUriEndsWithId_thenRouteAndResourceIdExtracted() {
+        UriRoute uriRoute = UriRoute.parse("/events/1024");
+
+        assertEquals("/events/{id}", uriRoute.getRoute());
+        assertEquals(1024L, uriRoute.getResourceId());
+    }
+
+    @Test
+    void parseTest_whenUriHasSeveralIds_thenLastIdIsResourceId() {
+        UriRoute uriRoute = UriRoute.parse("/users/7/events/12?from=0");
+
+        assertEquals("/users/{id}/events/{id}", uriRoute.getRoute());
+        assertEquals(12L, uriRoute.getResourceId());
+    }
+
+    @Test
+    void parseTest_whenUriHasNoId_thenResourceIdIsNull() {
+        UriRoute uriRoute = UriRoute.parse("/events");
+
+        assertEquals("/events", uriRoute.getRoute());
+        assertNull(uriRoute.getResourceId());
+        assertEquals("/events/", UriRoute.parse("/events/").getRoute());
+        assertEquals("/events/1a", UriRoute.parse("/events/1a").getRoute());
+    }
+
+    @Test
+    void parseTest_whenIdIsTooLong_thenKeptInRoute() {
+        UriRoute uriRoute = UriRoute.parse("/events/12345678901234567890");
+
+        assertEquals("/events/12345678901234567890", uriRoute.getRoute());
+        assertNull(uriRoute.getResourceId());
+    }
+}